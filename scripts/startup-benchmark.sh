@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request and resident memory for the packaged application in three modes:
+#   baseline  plain `java -jar` on the fat jar, as the image ran before
+#   aot       Spring AOT-generated context (-Dspring.aot.enabled=true)
+#   aot-cds   AOT plus an AppCDS archive produced by a training run
+#
+# Usage: ./mvnw -Paot -DskipTests package && scripts/startup-benchmark.sh [runs]
+#
+# The probe hits /actuator/info, which needs no database, so MongoDB does not have to be running.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${BENCHMARK_PORT:-18080}"
+JAR="$(ls target/*.jar | grep -v original | head -n 1)"
+WORK_DIR="target/startup-benchmark"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+COMMON_OPTS="-Dserver.port=$PORT -Dspring.docker.compose.enabled=false"
+
+rm -rf "$WORK_DIR"
+mkdir -p "$WORK_DIR"
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$WORK_DIR/application" > /dev/null
+APP_JAR="$WORK_DIR/application/$(basename "$JAR")"
+
+echo "Training run for the CDS archive..."
+"$JAVA" -XX:ArchiveClassesAtExit="$WORK_DIR/app.jsa" -Xlog:cds=off -Xlog:cds+dynamic=off \
+	-Dspring.aot.enabled=true -Dspring.context.exit=onRefresh $COMMON_OPTS -jar "$APP_JAR" > /dev/null 2>&1
+
+measure() {
+	local jar="$1" opts="$2"
+	local start pid elapsed rss
+	start=$(date +%s%N)
+	"$JAVA" $opts $COMMON_OPTS -jar "$jar" > "$WORK_DIR/app.log" 2>&1 &
+	pid=$!
+	until curl -s -o /dev/null "http://localhost:$PORT/actuator/info"; do
+		if ! kill -0 "$pid" 2> /dev/null; then
+			echo "Application exited; see $WORK_DIR/app.log" >&2
+			exit 1
+		fi
+		sleep 0.05
+	done
+	elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+	rss=$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/$pid/status" 2> /dev/null || echo "n/a")
+	kill "$pid"
+	wait "$pid" 2> /dev/null || true
+	echo "$elapsed $rss"
+}
+
+report() {
+	local mode="$1" jar="$2" opts="$3"
+	local total_ms=0 total_rss=0 best_ms=""
+	for _ in $(seq "$RUNS"); do
+		read -r ms rss < <(measure "$jar" "$opts")
+		total_ms=$((total_ms + ms))
+		total_rss=$((total_rss + rss))
+		if [ -z "$best_ms" ] || [ "$ms" -lt "$best_ms" ]; then
+			best_ms=$ms
+		fi
+	done
+	printf "%-10s %12d %12d %12d\n" "$mode" $((total_ms / RUNS)) "$best_ms" $((total_rss / RUNS))
+}
+
+printf "%-10s %12s %12s %12s\n" "mode" "avg ms" "best ms" "avg RSS MB"
+report baseline "$JAR" ""
+report aot "$APP_JAR" "-Dspring.aot.enabled=true"
+report aot-cds "$APP_JAR" "-Dspring.aot.enabled=true -XX:SharedArchiveFile=$WORK_DIR/app.jsa -Xlog:cds=off"
@@ -0,0 +1,23 @@
+package io.bharat.mongo.config;
+
+import org.springframework.data.mapping.model.FieldNamingStrategy;
+import org.springframework.data.mapping.model.PropertyNameFieldNamingStrategy;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mapping.PersistentProperty;
+
+import io.bharat.mongo.employee.model.CompactName;
+
+/**
+ * Maps properties annotated with {@link CompactName} to their short key and everything else to the property name.
+ * Explicit {@link Field} names still win, because the mapping layer only consults the strategy when no name is set.
+ */
+public class CompactFieldNamingStrategy implements FieldNamingStrategy {
+
+	@Override
+	public String getFieldName(PersistentProperty<?> property) {
+		CompactName compactName = property.findAnnotation(CompactName.class);
+		return compactName != null
+				? compactName.value()
+				: PropertyNameFieldNamingStrategy.INSTANCE.getFieldName(property);
+	}
+}
@@ -0,0 +1,48 @@
+package io.bharat.mongo.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+
+/**
+ * The durability tier of the writes running on the current thread. {@link MongoConfig} installs {@link #resolver()} on
+ * the {@code MongoTemplate}, so every template and repository write inside {@link #call} uses the tier's write
+ * concern without it being passed down. Bulk operations do not consult the resolver and read {@link #current()}
+ * themselves.
+ */
+public final class DurabilityScope {
+
+	private static final ThreadLocal<DurabilityTier> CURRENT = new ThreadLocal<>();
+
+	private DurabilityScope() {
+	}
+
+	public static <T> T call(DurabilityTier tier, Supplier<T> writes) {
+		DurabilityTier outer = CURRENT.get();
+		CURRENT.set(tier);
+		try {
+			return writes.get();
+		} finally {
+			if (outer == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(outer);
+			}
+		}
+	}
+
+	/**
+	 * The tier of the enclosing {@link #call}, or {@link DurabilityTier#DEFAULT} outside one.
+	 */
+	public static DurabilityTier current() {
+		DurabilityTier tier = CURRENT.get();
+		return tier == null ? DurabilityTier.DEFAULT : tier;
+	}
+
+	public static WriteConcernResolver resolver() {
+		return action -> {
+			DurabilityTier tier = current();
+			return tier.writeConcern() == null ? action.getDefaultWriteConcern() : tier.writeConcern();
+		};
+	}
+}
@@ -0,0 +1,33 @@
+package io.bharat.mongo.config;
+
+import java.util.Locale;
+
+import com.mongodb.WriteConcern;
+
+/**
+ * How strongly a write is acknowledged before it returns. {@code FAST} waits for the primary only, {@code DEFAULT}
+ * uses whatever the connection string configures, and {@code MAJORITY} waits until a majority of members have the
+ * write in their journal, so it survives a failover.
+ */
+public enum DurabilityTier {
+	FAST(WriteConcern.W1.withJournal(false)),
+	DEFAULT(null),
+	MAJORITY(WriteConcern.MAJORITY.withJournal(true));
+
+	private final WriteConcern writeConcern;
+
+	DurabilityTier(WriteConcern writeConcern) {
+		this.writeConcern = writeConcern;
+	}
+
+	/**
+	 * The write concern to apply, or {@code null} to keep the client's.
+	 */
+	public WriteConcern writeConcern() {
+		return writeConcern;
+	}
+
+	public static DurabilityTier fromProperty(String value) {
+		return valueOf(value.trim().toUpperCase(Locale.ROOT));
+	}
+}
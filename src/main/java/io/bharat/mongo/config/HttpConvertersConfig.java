@@ -0,0 +1,22 @@
+package io.bharat.mongo.config;
+
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.bharat.mongo.employee.api.EmployeeDocumentsHttpMessageConverter;
+import tools.jackson.databind.ObjectMapper;
+
+@Configuration
+public class HttpConvertersConfig {
+
+	/**
+	 * Puts {@link EmployeeDocumentsHttpMessageConverter} ahead of the Jackson converter. It is not declared as a
+	 * converter bean because Boot takes a converter bean that supports JSON as the replacement for its own.
+	 */
+	@Bean
+	public ServerHttpMessageConvertersCustomizer employeeDocumentsConverterCustomizer(ObjectMapper objectMapper) {
+		EmployeeDocumentsHttpMessageConverter converter = new EmployeeDocumentsHttpMessageConverter(objectMapper);
+		return builder -> builder.addCustomConverter(converter);
+	}
+}
@@ -0,0 +1,126 @@
+package io.bharat.mongo.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions.BigDecimalRepresentation;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import io.bharat.mongo.monitoring.SlowCommandProfiler;
+import io.bharat.mongo.resilience.MongoAccessGuard;
+
+/**
+ * Auditing fills {@code lastModifiedAt} on every entity write, bulk inserts included, and {@code createdAt} on
+ * inserts of employees without an id. Imports and coalesced creates assign ids up front and set {@code createdAt}
+ * themselves.
+ * Repository calls run behind the bulkheads and circuit breaker of {@link MongoAccessGuard}.
+ */
+@Configuration
+@EnableMongoAuditing
+public class MongoConfig {
+
+	/**
+	 * Stores {@code BigDecimal} as BSON Decimal128 so salary filters, sorts and aggregations compare numerically and
+	 * can use an index. Values still stored as strings are read back through the default string conversion until
+	 * the salary migration rewrites them.
+	 */
+	@Bean
+	public MongoCustomConversions mongoCustomConversions() {
+		return MongoCustomConversions.create(adapter -> adapter.bigDecimal(BigDecimalRepresentation.DECIMAL128));
+	}
+
+	/**
+	 * Switches the mapping context to the short keys declared with {@code @CompactName} when
+	 * {@code employee.storage.compact=true}. Checked at startup rather than with a condition so AOT builds can
+	 * still toggle it.
+	 */
+	@Bean
+	public static BeanPostProcessor compactLayoutPostProcessor(Environment environment) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof MongoMappingContext context
+						&& environment.getProperty("employee.storage.compact", Boolean.class, false)) {
+					context.setFieldNamingStrategy(new CompactFieldNamingStrategy());
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * Lets {@link DurabilityScope} pick the write concern of each template and repository write.
+	 */
+	@Bean
+	public static BeanPostProcessor durabilityScopePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof MongoTemplate template) {
+					template.setWriteConcernResolver(DurabilityScope.resolver());
+				}
+				return bean;
+			}
+		};
+	}
+
+	/**
+	 * Explicit driver budgets, so a failover costs a request at most the server-selection timeout instead of the
+	 * driver's 30s default. Query {@code maxTimeMS} budgets are set per query by the repositories.
+	 */
+	@Bean
+	public MongoClientSettingsBuilderCustomizer mongoTimeoutsCustomizer(
+			@Value("${mongo.timeouts.server-selection:2s}") Duration serverSelection,
+			@Value("${mongo.timeouts.connect:2s}") Duration connect,
+			@Value("${mongo.timeouts.socket-read:10s}") Duration socketRead) {
+		return builder -> builder
+				.applyToClusterSettings(cluster -> cluster
+						.serverSelectionTimeout(serverSelection.toMillis(), TimeUnit.MILLISECONDS))
+				.applyToSocketSettings(socket -> socket
+						.connectTimeout(connect.toMillis(), TimeUnit.MILLISECONDS)
+						.readTimeout(socketRead.toMillis(), TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Registers the {@link SlowCommandProfiler} with the driver.
+	 */
+	@Bean
+	public MongoClientSettingsBuilderCustomizer slowCommandProfilerCustomizer(SlowCommandProfiler profiler) {
+		return builder -> {
+			if (profiler.isEnabled()) {
+				builder.addCommandListener(profiler);
+			}
+		};
+	}
+
+	/**
+	 * Routes every Spring Data repository call through {@link MongoAccessGuard}. The guard is looked up on first
+	 * use, since post-processors are created before regular beans.
+	 */
+	@Bean
+	public static BeanPostProcessor mongoAccessGuardPostProcessor(ObjectProvider<MongoAccessGuard> guard) {
+		MethodInterceptor interceptor = invocation -> guard.getObject().invoke(invocation);
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory -> factory
+							.addRepositoryProxyPostProcessor((proxy, repository) -> proxy.addAdvice(interceptor)));
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -1,10 +1,16 @@
 package io.bharat.mongo.employee.api;
 
+import java.math.BigDecimal;
 import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,35 +20,122 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateResponse;
+import io.bharat.mongo.employee.dto.EmployeeChangesResponse;
+import io.bharat.mongo.employee.dto.EmployeeFacetsResponse;
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.dto.EmployeeLookupRequest;
+import io.bharat.mongo.employee.dto.EmployeeLookupResponse;
 import io.bharat.mongo.employee.dto.EmployeeRequest;
 import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.service.CountMode;
+import io.bharat.mongo.employee.service.EmployeeChangesService;
+import io.bharat.mongo.employee.service.EmployeeCountService;
+import io.bharat.mongo.employee.service.EmployeeFacetService;
 import io.bharat.mongo.employee.service.EmployeeService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 
+/**
+ * Employee CRUD. Responses are negotiated from {@code Accept}: JSON, Smile, CBOR or protobuf. JSON is listed first in
+ * {@code produces}, so it stays the default for browsers, Swagger and {@code Accept: *}{@code /*}.
+ */
 @RestController
-@RequestMapping("/api/employees")
+@RequestMapping(path = "/api/employees", produces = { MediaType.APPLICATION_JSON_VALUE,
+		EmployeeController.APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+		MediaType.APPLICATION_PROTOBUF_VALUE })
 @Validated
 @Tag(name = "Employees", description = "Employee CRUD operations")
 @SecurityRequirement(name = "bearerAuth")
 public class EmployeeController {
 
 	private static final Logger log = LoggerFactory.getLogger(EmployeeController.class);
+	private static final int DEFAULT_PAGE_SIZE = 20;
+	private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+	private static final int DEFAULT_CHANGES_LIMIT = 500;
+
+	/**
+	 * Binary JSON; like CBOR it is written by the Jackson converter Spring registers when the dataformat is present.
+	 */
+	static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
 
 	private final EmployeeService employeeService;
+	private final EmployeeCountService countService;
+	private final EmployeeFacetService facetService;
+	private final EmployeeChangesService changesService;
 
-	public EmployeeController(EmployeeService employeeService) {
+	public EmployeeController(EmployeeService employeeService, EmployeeCountService countService,
+			EmployeeFacetService facetService, EmployeeChangesService changesService) {
 		this.employeeService = employeeService;
+		this.countService = countService;
+		this.facetService = facetService;
+		this.changesService = changesService;
 	}
 
+	/**
+	 * Lists employees, optionally filtered by exact department and job title and an inclusive salary range, and sorted
+	 * by salary. Without {@code page} or {@code size} every match is returned. With {@code count} the total number of
+	 * matches is returned in {@code X-Total-Count}.
+	 */
 	@GetMapping
-	public List<EmployeeResponse> listEmployees() {
-		log.info("HTTP GET /api/employees");
-		return employeeService.findAll();
+	public ResponseEntity<List<EmployeeResponse>> listEmployees(@RequestParam(required = false) String department,
+			@RequestParam(required = false) String jobTitle,
+			@RequestParam(required = false) @DecimalMin("0") BigDecimal minSalary,
+			@RequestParam(required = false) @DecimalMin("0") BigDecimal maxSalary,
+			@RequestParam(required = false) @Pattern(regexp = "(?i)salary(,(asc|desc))?",
+					message = "must be 'salary', 'salary,asc' or 'salary,desc'") String sort,
+			@RequestParam(required = false) @Min(0) Integer page,
+			@RequestParam(required = false) @Min(1) @Max(500) Integer size,
+			@RequestParam(required = false) @Pattern(regexp = "(?i)exact|approximate",
+					message = "must be 'exact' or 'approximate'") String count) {
+		log.info("HTTP GET /api/employees department={} jobTitle={} minSalary={} maxSalary={} sort={} page={} size={} "
+				+ "count={}", department, jobTitle, minSalary, maxSalary, sort, page, size, count);
+		EmployeeFilter filter = new EmployeeFilter(department, jobTitle, minSalary, maxSalary);
+		Sort order = sort == null ? Sort.unsorted() : salarySort(sort);
+		Pageable pageable = page == null && size == null
+				? Pageable.unpaged(order)
+				: PageRequest.of(page == null ? 0 : page, size == null ? DEFAULT_PAGE_SIZE : size, order);
+		List<EmployeeResponse> employees = employeeService.findAll(filter, pageable);
+		if (count == null) {
+			return ResponseEntity.ok(employees);
+		}
+		long total = countService.count(filter, CountMode.fromParameter(count));
+		return ResponseEntity.ok()
+				.header(TOTAL_COUNT_HEADER, Long.toString(total))
+				.body(employees);
+	}
+
+	/**
+	 * Distinct departments and job titles with employee counts, sorted by value. Cached briefly and dropped on writes.
+	 */
+	@GetMapping(path = "/facets", produces = MediaType.APPLICATION_JSON_VALUE)
+	public EmployeeFacetsResponse facets() {
+		log.info("HTTP GET /api/employees/facets");
+		return facetService.facets();
+	}
+
+	/**
+	 * Delta sync: employees created, changed or deleted since {@code cursor}, oldest first. Start without a cursor to
+	 * page through every employee, then keep passing the returned {@code nextCursor}. A cursor older than the
+	 * tombstone retention gets {@code 410 Gone}; start over without one.
+	 */
+	@GetMapping("/changes")
+	public EmployeeChangesResponse changes(
+			@RequestParam(required = false) @Pattern(regexp = "\\d{1,18}_\\w{1,64}",
+					message = "must be a nextCursor returned by this endpoint") String cursor,
+			@RequestParam(required = false) @Min(1) @Max(1000) Integer limit) {
+		log.info("HTTP GET /api/employees/changes cursor={} limit={}", cursor, limit);
+		return changesService.changes(cursor, limit == null ? DEFAULT_CHANGES_LIMIT : limit);
 	}
 
 	@GetMapping("/{id}")
@@ -51,6 +144,15 @@ public class EmployeeController {
 		return employeeService.findById(id);
 	}
 
+	/**
+	 * Fetches up to 500 employees by id in one call. POST so the id list is not limited by URL length.
+	 */
+	@PostMapping("/lookup")
+	public EmployeeLookupResponse lookupEmployees(@Valid @RequestBody EmployeeLookupRequest request) {
+		log.info("HTTP POST /api/employees/lookup ids={}", request.ids().size());
+		return employeeService.findByIds(request.ids());
+	}
+
 	@PostMapping
 	public ResponseEntity<EmployeeResponse> createEmployee(@Valid @RequestBody EmployeeRequest request) {
 		log.info("HTTP POST /api/employees email={}", request.email());
@@ -68,11 +170,25 @@ public class EmployeeController {
 		return employeeService.update(id, request);
 	}
 
+	/**
+	 * Moves or re-pays every employee matching the request in one server-side update; see
+	 * {@link EmployeeBulkUpdateRequest}. Use {@code dryRun} to check how many employees would change first.
+	 */
+	@PostMapping("/bulk-update")
+	public EmployeeBulkUpdateResponse bulkUpdateEmployees(@Valid @RequestBody EmployeeBulkUpdateRequest request) {
+		log.info("HTTP POST /api/employees/bulk-update dryRun={}", request.dryRun());
+		return employeeService.bulkUpdate(request);
+	}
+
 	@DeleteMapping("/{id}")
 	public ResponseEntity<Void> deleteEmployee(@PathVariable String id) {
 		log.info("HTTP DELETE /api/employees/{}", id);
 		employeeService.delete(id);
 		return ResponseEntity.noContent().build();
 	}
-}
 
+	private static Sort salarySort(String sort) {
+		boolean descending = sort.toLowerCase(Locale.ROOT).endsWith(",desc");
+		return Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, "salary");
+	}
+}
@@ -0,0 +1,53 @@
+package io.bharat.mongo.employee.api;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import io.bharat.mongo.employee.service.EmployeeDocumentList;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Writes an {@link EmployeeDocumentList} as JSON straight from the stored documents, ahead of the Jackson converter,
+ * which would decode every employee into an {@code EmployeeResponse} first. Other media types fall through to their
+ * own converters. Write-only. Registered by {@code HttpConvertersConfig}.
+ */
+public class EmployeeDocumentsHttpMessageConverter extends AbstractHttpMessageConverter<EmployeeDocumentList> {
+
+	private final ObjectMapper objectMapper;
+
+	public EmployeeDocumentsHttpMessageConverter(ObjectMapper objectMapper) {
+		super(MediaType.APPLICATION_JSON);
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return EmployeeDocumentList.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public boolean canRead(Class<?> clazz, MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	protected EmployeeDocumentList readInternal(Class<? extends EmployeeDocumentList> clazz,
+			HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("Employee documents cannot be read", inputMessage);
+	}
+
+	@Override
+	protected void writeInternal(EmployeeDocumentList employees, HttpOutputMessage outputMessage)
+			throws IOException {
+		try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+			employees.writeJson(generator);
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package io.bharat.mongo.employee.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.bharat.mongo.employee.service.EmployeeChangeBroadcaster;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/employees/events")
+@Tag(name = "Employee events", description = "Live stream of employee changes")
+@SecurityRequirement(name = "bearerAuth")
+public class EmployeeEventController {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeEventController.class);
+
+	private final EmployeeChangeBroadcaster broadcaster;
+
+	public EmployeeEventController(EmployeeChangeBroadcaster broadcaster) {
+		this.broadcaster = broadcaster;
+	}
+
+	/**
+	 * Streams {@code created}, {@code updated}, {@code deleted} and {@code imported} events. Browsers resume with the
+	 * {@code Last-Event-ID} header on reconnect; clients that cannot set headers can pass {@code lastEventId}.
+	 */
+	@GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader,
+			@RequestParam(required = false) String lastEventId) {
+		String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+		log.info("HTTP GET /api/employees/events lastEventId={}", resumeFrom);
+		return broadcaster.subscribe(resumeFrom);
+	}
+}
@@ -0,0 +1,73 @@
+package io.bharat.mongo.employee.api;
+
+import java.net.URI;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import io.bharat.mongo.employee.dto.ExportJobResponse;
+import io.bharat.mongo.employee.dto.ExportRequest;
+import io.bharat.mongo.employee.service.EmployeeExportService;
+import io.bharat.mongo.employee.service.ExportFileResource;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/employees/exports")
+@Tag(name = "Employee exports", description = "Asynchronous employee exports")
+@SecurityRequirement(name = "bearerAuth")
+public class EmployeeExportController {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeExportController.class);
+
+	private final EmployeeExportService exportService;
+
+	public EmployeeExportController(EmployeeExportService exportService) {
+		this.exportService = exportService;
+	}
+
+	@PostMapping
+	public ResponseEntity<ExportJobResponse> submitExport(@RequestBody(required = false) ExportRequest request) {
+		ExportRequest exportRequest = request != null ? request : new ExportRequest(null, null, null);
+		log.info("HTTP POST /api/employees/exports format={}", exportRequest.formatOrDefault());
+		ExportJobResponse job = exportService.submit(exportRequest);
+		URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+				.path("/{id}")
+				.buildAndExpand(job.id())
+				.toUri();
+		return ResponseEntity.accepted().location(location).body(job);
+	}
+
+	@GetMapping("/{id}")
+	public ExportJobResponse getExport(@PathVariable String id) {
+		log.info("HTTP GET /api/employees/exports/{}", id);
+		return exportService.findJob(id);
+	}
+
+	/**
+	 * Serves the gzip-compressed export. Returning a {@link Resource} lets Spring MVC answer {@code Range} requests
+	 * with 206 Partial Content, so interrupted downloads can resume.
+	 */
+	@GetMapping("/{id}/file")
+	public ResponseEntity<Resource> downloadExport(@PathVariable String id) {
+		log.info("HTTP GET /api/employees/exports/{}/file", id);
+		ExportFileResource file = exportService.download(id);
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType("application/gzip"))
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						ContentDisposition.attachment().filename(file.getFilename()).build().toString())
+				.body(file);
+	}
+}
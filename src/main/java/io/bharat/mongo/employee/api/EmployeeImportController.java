@@ -0,0 +1,67 @@
+package io.bharat.mongo.employee.api;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import io.bharat.mongo.employee.dto.ImportJobResponse;
+import io.bharat.mongo.employee.exception.NotFoundException;
+import io.bharat.mongo.employee.service.EmployeeImportService;
+import io.bharat.mongo.employee.service.ImportFormat;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/employees/imports")
+@Tag(name = "Employee imports", description = "Streaming CSV/NDJSON bulk import")
+@SecurityRequirement(name = "bearerAuth")
+public class EmployeeImportController {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeImportController.class);
+
+	private final EmployeeImportService importService;
+
+	public EmployeeImportController(EmployeeImportService importService) {
+		this.importService = importService;
+	}
+
+	/**
+	 * Reads the raw request stream rather than binding a {@code @RequestBody}, so the upload is never buffered.
+	 */
+	@PostMapping(consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE })
+	public ResponseEntity<ImportJobResponse> importEmployees(HttpServletRequest request) throws IOException {
+		ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+		log.info("HTTP POST /api/employees/imports format={}", format);
+		ImportJobResponse job = importService.importEmployees(format, request.getInputStream());
+		URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+				.path("/{id}")
+				.buildAndExpand(job.id())
+				.toUri();
+		return ResponseEntity.created(location).body(job);
+	}
+
+	@GetMapping
+	public List<ImportJobResponse> listImports() {
+		log.info("HTTP GET /api/employees/imports");
+		return importService.recentJobs();
+	}
+
+	@GetMapping("/{id}")
+	public ImportJobResponse getImport(@PathVariable String id) {
+		log.info("HTTP GET /api/employees/imports/{}", id);
+		return importService.findJob(id)
+				.orElseThrow(() -> new NotFoundException("Import job not found: " + id));
+	}
+}
@@ -0,0 +1,154 @@
+package io.bharat.mongo.employee.api;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractSmartHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import io.bharat.mongo.employee.dto.EmployeeLookupResponse;
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+
+/**
+ * Writes {@link EmployeeResponse} and collections of it as {@code application/x-protobuf}, following
+ * {@code src/main/proto/employee.proto}: a single employee is an {@code Employee} message, a collection an
+ * {@code EmployeeList} and an {@link EmployeeLookupResponse} an {@code EmployeeLookup}. Encoded directly with
+ * {@link CodedOutputStream}, so no generated classes are needed on the server. Write-only: request bodies stay JSON.
+ */
+@Component
+public class EmployeeProtobufHttpMessageConverter extends AbstractSmartHttpMessageConverter<Object> {
+
+	private static final int BUFFER_SIZE = 4096;
+
+	private static final int LIST_EMPLOYEES = 1;
+	private static final int LOOKUP_EMPLOYEES = 1;
+	private static final int LOOKUP_MISSING = 2;
+	private static final int ID = 1;
+	private static final int FIRST_NAME = 2;
+	private static final int LAST_NAME = 3;
+	private static final int EMAIL = 4;
+	private static final int DEPARTMENT = 5;
+	private static final int JOB_TITLE = 6;
+	private static final int SALARY = 7;
+	private static final int DATE_OF_JOINING = 8;
+
+	public EmployeeProtobufHttpMessageConverter() {
+		super(MediaType.APPLICATION_PROTOBUF);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return EmployeeResponse.class.isAssignableFrom(clazz) || EmployeeLookupResponse.class.isAssignableFrom(clazz)
+				|| Collection.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public boolean canRead(ResolvableType type, MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	public boolean canWrite(ResolvableType targetType, Class<?> valueClass, MediaType mediaType) {
+		if (!canWrite(mediaType)) {
+			return false;
+		}
+		if (EmployeeResponse.class.isAssignableFrom(valueClass)
+				|| EmployeeLookupResponse.class.isAssignableFrom(valueClass)) {
+			return true;
+		}
+		Class<?> element = targetType.asCollection().resolveGeneric(0);
+		return Collection.class.isAssignableFrom(valueClass) && element != null
+				&& EmployeeResponse.class.isAssignableFrom(element);
+	}
+
+	@Override
+	public Object read(ResolvableType type, HttpInputMessage inputMessage, Map<String, Object> hints) {
+		throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+	}
+
+	@Override
+	protected void writeInternal(Object body, ResolvableType type, HttpOutputMessage outputMessage,
+			Map<String, Object> hints) throws IOException {
+		CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody(), BUFFER_SIZE);
+		if (body instanceof EmployeeResponse employee) {
+			writeFields(out, employee, salary(employee));
+		} else if (body instanceof EmployeeLookupResponse lookup) {
+			writeEmployees(out, LOOKUP_EMPLOYEES, lookup.employees());
+			for (String id : lookup.missing()) {
+				out.writeString(LOOKUP_MISSING, id);
+			}
+		} else {
+			writeEmployees(out, LIST_EMPLOYEES, (Collection<?>) body);
+		}
+		out.flush();
+	}
+
+	private static void writeEmployees(CodedOutputStream out, int field, Collection<?> employees) throws IOException {
+		for (Object element : employees) {
+			EmployeeResponse employee = (EmployeeResponse) element;
+			String salary = salary(employee);
+			out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			out.writeUInt32NoTag(size(employee, salary));
+			writeFields(out, employee, salary);
+		}
+	}
+
+	private static void writeFields(CodedOutputStream out, EmployeeResponse employee, String salary)
+			throws IOException {
+		writeString(out, ID, employee.id());
+		writeString(out, FIRST_NAME, employee.firstName());
+		writeString(out, LAST_NAME, employee.lastName());
+		writeString(out, EMAIL, employee.email());
+		writeString(out, DEPARTMENT, employee.department());
+		writeString(out, JOB_TITLE, employee.jobTitle());
+		if (salary != null) {
+			out.writeString(SALARY, salary);
+		}
+		if (employee.dateOfJoining() != null) {
+			out.writeInt32(DATE_OF_JOINING, Math.toIntExact(employee.dateOfJoining().toEpochDay()));
+		}
+	}
+
+	private static int size(EmployeeResponse employee, String salary) {
+		int size = stringSize(ID, employee.id())
+				+ stringSize(FIRST_NAME, employee.firstName())
+				+ stringSize(LAST_NAME, employee.lastName())
+				+ stringSize(EMAIL, employee.email())
+				+ stringSize(DEPARTMENT, employee.department())
+				+ stringSize(JOB_TITLE, employee.jobTitle());
+		if (salary != null) {
+			size += CodedOutputStream.computeStringSize(SALARY, salary);
+		}
+		if (employee.dateOfJoining() != null) {
+			size += CodedOutputStream.computeInt32Size(DATE_OF_JOINING,
+					Math.toIntExact(employee.dateOfJoining().toEpochDay()));
+		}
+		return size;
+	}
+
+	/** Proto3 leaves unset and empty strings off the wire. */
+	private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+		if (value != null && !value.isEmpty()) {
+			out.writeString(field, value);
+		}
+	}
+
+	private static int stringSize(int field, String value) {
+		return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+	}
+
+	private static String salary(EmployeeResponse employee) {
+		BigDecimal salary = employee.salary();
+		return salary == null ? null : salary.toPlainString();
+	}
+}
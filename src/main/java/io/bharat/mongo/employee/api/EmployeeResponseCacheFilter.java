@@ -0,0 +1,359 @@
+package io.bharat.mongo.employee.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.bharat.mongo.employee.service.EmployeeChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Optional per-instance cache of encoded {@code GET /api/employees} responses. Bodies are kept exactly as written,
+ * together with a gzip copy and an ETag, so a hit is a byte copy to the socket: no query, no mapping and no
+ * serialization. Entries are keyed by the sorted query parameters and the {@code Accept} header, bounded by
+ * {@code employee.response-cache.max-bytes} in total, and all dropped on any employee write through this instance.
+ * A body is only held in memory up to {@code max-entry-bytes}; a larger one is written through as it is produced and
+ * not cached, so a large listing still streams. Runs after Spring Security, so only authenticated requests reach it.
+ */
+@Component
+public class EmployeeResponseCacheFilter extends OncePerRequestFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeResponseCacheFilter.class);
+	private static final String PATH = "/api/employees";
+	private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+	private static final String GZIP = "gzip";
+	/** Smaller bodies fit in a packet either way, so they are not worth a gzip copy. */
+	private static final int MIN_GZIP_BYTES = 1024;
+
+	private final boolean enabled;
+	private final int maxEntryBytes;
+	private final Cache<ResponseKey, CachedResponse> responses;
+	/** Same race guard as the by-id read cache: a response only goes in if no write happened while it was built. */
+	private final AtomicLong generation = new AtomicLong();
+
+	public EmployeeResponseCacheFilter(@Value("${employee.response-cache.enabled:false}") boolean enabled,
+			@Value("${employee.response-cache.ttl:10s}") Duration ttl,
+			@Value("${employee.response-cache.max-bytes:64MB}") DataSize maxBytes,
+			@Value("${employee.response-cache.max-entry-bytes:1MB}") DataSize maxEntryBytes,
+			MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.maxEntryBytes = (int) Math.min(maxEntryBytes.toBytes(), Integer.MAX_VALUE);
+		this.responses = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumWeight(enabled ? maxBytes.toBytes() : 0)
+				.weigher((ResponseKey key, CachedResponse response) -> response.weight())
+				.recordStats()
+				.build();
+		if (enabled) {
+			CaffeineCacheMetrics.monitor(meterRegistry, responses, "employee.responses");
+		}
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || !HttpMethod.GET.matches(request.getMethod()) || !PATH.equals(request.getServletPath());
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		ResponseKey key = ResponseKey.of(request);
+		CachedResponse cached = responses.getIfPresent(key);
+		if (cached != null) {
+			cached.write(request, response);
+			return;
+		}
+
+		long readGeneration = generation.get();
+		BoundedBodyResponse wrapper = new BoundedBodyResponse(response, maxEntryBytes);
+		filterChain.doFilter(request, wrapper);
+		if (wrapper.passedThrough() || wrapper.getStatus() != HttpStatus.OK.value()
+				|| wrapper.getContentType() == null || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+			wrapper.copyBodyToResponse();
+			return;
+		}
+
+		CachedResponse encoded = CachedResponse.of(key, wrapper.getContentType(), wrapper.getHeader(TOTAL_COUNT_HEADER),
+				wrapper.body());
+		if (generation.get() == readGeneration) {
+			responses.put(key, encoded);
+			if (generation.get() != readGeneration) {
+				responses.invalidate(key);
+			}
+		}
+		// Headers already went through the wrapper; only the body is written, possibly as its gzip copy
+		encoded.write(request, response);
+	}
+
+	@EventListener
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		generation.incrementAndGet();
+		log.debug("Invalidating cached employee responses after {}", event.type());
+		responses.invalidateAll();
+	}
+
+	/**
+	 * Holds the body in memory until it grows past {@code limit}. From then on the held bytes and everything after
+	 * them go straight to the response. Status and headers always go to the response.
+	 */
+	private static final class BoundedBodyResponse extends HttpServletResponseWrapper {
+
+		private final int limit;
+		private ByteArrayOutputStream held = new ByteArrayOutputStream();
+		private ServletOutputStream passThrough;
+		private ServletOutputStream outputStream;
+		private PrintWriter writer;
+
+		BoundedBodyResponse(HttpServletResponse response, int limit) {
+			super(response);
+			this.limit = limit;
+		}
+
+		boolean passedThrough() {
+			return passThrough != null;
+		}
+
+		byte[] body() {
+			flushWriter();
+			return held.toByteArray();
+		}
+
+		/**
+		 * Writes the held body to the response, for responses that are not cached.
+		 */
+		void copyBodyToResponse() throws IOException {
+			flushWriter();
+			if (passThrough == null) {
+				held.writeTo(getResponse().getOutputStream());
+				held.reset();
+			}
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			if (outputStream == null) {
+				outputStream = new BoundedOutputStream();
+			}
+			return outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() {
+			if (writer == null) {
+				writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+						Charset.forName(getCharacterEncoding())));
+			}
+			return writer;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			flushWriter();
+			// Flushing commits the response, which would leave no room for the cached copy's headers
+			if (passThrough != null) {
+				super.flushBuffer();
+			}
+		}
+
+		@Override
+		public void resetBuffer() {
+			if (passThrough == null) {
+				held.reset();
+			} else {
+				super.resetBuffer();
+			}
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			if (passThrough == null) {
+				held.reset();
+			}
+		}
+
+		private void flushWriter() {
+			if (writer != null) {
+				writer.flush();
+			}
+		}
+
+		private final class BoundedOutputStream extends ServletOutputStream {
+
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				if (passThrough == null && held.size() + len > limit) {
+					passThrough = getResponse().getOutputStream();
+					held.writeTo(passThrough);
+					held = new ByteArrayOutputStream(0);
+				}
+				if (passThrough != null) {
+					passThrough.write(b, off, len);
+				} else {
+					held.write(b, off, len);
+				}
+			}
+
+			@Override
+			public void flush() throws IOException {
+				if (passThrough != null) {
+					passThrough.flush();
+				}
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener listener) {
+				throw new UnsupportedOperationException("Cached employee responses are written synchronously");
+			}
+		}
+	}
+
+	record ResponseKey(Map<String, List<String>> parameters, String accept) {
+
+		static ResponseKey of(HttpServletRequest request) {
+			Map<String, List<String>> parameters = new TreeMap<>();
+			request.getParameterMap().forEach((name, values) -> parameters.put(name, Arrays.asList(values)));
+			String accept = request.getHeader(HttpHeaders.ACCEPT);
+			return new ResponseKey(parameters,
+					accept == null ? "" : accept.replace(" ", "").toLowerCase(Locale.ROOT));
+		}
+
+		int weight() {
+			int weight = accept.length();
+			for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+				weight += parameter.getKey().length();
+				for (String value : parameter.getValue()) {
+					weight += value.length();
+				}
+			}
+			return weight;
+		}
+	}
+
+	/**
+	 * @param gzip the gzip-encoded body, or {@code null} when compressing would not pay off
+	 */
+	record CachedResponse(ResponseKey key, String contentType, String totalCount, byte[] body, byte[] gzip,
+			String etag) {
+
+		static CachedResponse of(ResponseKey key, String contentType, String totalCount, byte[] body) {
+			byte[] gzip = body.length >= MIN_GZIP_BYTES ? gzip(body) : null;
+			if (gzip != null && gzip.length >= body.length) {
+				gzip = null;
+			}
+			return new CachedResponse(key, contentType, totalCount, body, gzip,
+					"\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+		}
+
+		int weight() {
+			return key.weight() + body.length + (gzip == null ? 0 : gzip.length);
+		}
+
+		void write(HttpServletRequest request, HttpServletResponse response) throws IOException {
+			boolean gzipped = gzip != null && acceptsGzip(request);
+			// The gzip copy is a different byte sequence, so it needs its own strong validator
+			String tag = gzipped ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+			response.setHeader(HttpHeaders.ETAG, tag);
+			response.setHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+			response.setContentType(contentType);
+			if (totalCount != null) {
+				response.setHeader(TOTAL_COUNT_HEADER, totalCount);
+			}
+			if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), tag)) {
+				response.setStatus(HttpStatus.NOT_MODIFIED.value());
+				return;
+			}
+			byte[] content = gzipped ? gzip : body;
+			if (gzipped) {
+				response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+			}
+			response.setStatus(HttpStatus.OK.value());
+			response.setContentLength(content.length);
+			response.getOutputStream().write(content);
+		}
+
+		private static boolean matches(String ifNoneMatch, String tag) {
+			if (ifNoneMatch == null) {
+				return false;
+			}
+			for (String candidate : ifNoneMatch.split(",")) {
+				String trimmed = candidate.trim();
+				if (trimmed.equals("*") || trimmed.equals(tag) || trimmed.equals("W/" + tag)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static boolean acceptsGzip(HttpServletRequest request) {
+			String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+			if (acceptEncoding == null) {
+				return false;
+			}
+			for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+				String[] parts = coding.trim().split(";");
+				if (parts[0].trim().equals(GZIP)) {
+					return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+				}
+			}
+			return false;
+		}
+
+		private static byte[] gzip(byte[] body) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+				gzip.write(body);
+			} catch (IOException ex) {
+				// In-memory streams do not fail
+				throw new IllegalStateException(ex);
+			}
+			return out.toByteArray();
+		}
+	}
+}
@@ -1,12 +1,15 @@
 package io.bharat.mongo.employee.api;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -16,14 +19,23 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import io.bharat.mongo.employee.exception.ChangesCursorExpiredException;
 import io.bharat.mongo.employee.exception.DuplicateEmailException;
+import io.bharat.mongo.employee.exception.ExportNotReadyException;
 import io.bharat.mongo.employee.exception.NotFoundException;
+import io.bharat.mongo.monitoring.RateLimitedLogger;
+import io.bharat.mongo.resilience.MongoUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 
+/**
+ * Maps exceptions to {@link ApiError} bodies. Error bodies are always JSON, whatever binary format the request
+ * negotiated, so every client can read them.
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
 	private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+	private static final RateLimitedLogger clientErrors = new RateLimitedLogger(log, 10, Duration.ofSeconds(10));
 
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException ex) {
@@ -34,6 +46,7 @@ public class GlobalExceptionHandler {
 
 		log.warn("Validation failed: {}", errors);
 		return ResponseEntity.badRequest()
+				.contentType(MediaType.APPLICATION_JSON)
 				.body(new ApiError(Instant.now(),
 						HttpStatus.BAD_REQUEST.value(),
 						HttpStatus.BAD_REQUEST.getReasonPhrase(),
@@ -49,6 +62,7 @@ public class GlobalExceptionHandler {
 
 		log.warn("Constraint violations: {}", errors);
 		return ResponseEntity.badRequest()
+				.contentType(MediaType.APPLICATION_JSON)
 				.body(new ApiError(Instant.now(),
 						HttpStatus.BAD_REQUEST.value(),
 						HttpStatus.BAD_REQUEST.getReasonPhrase(),
@@ -58,8 +72,9 @@ public class GlobalExceptionHandler {
 
 	@ExceptionHandler(BadCredentialsException.class)
 	public ResponseEntity<ApiError> handleBadCredentials(BadCredentialsException ex) {
-		log.warn("Authentication failed: {}", ex.getMessage());
+		clientErrors.warn("bad-credentials", "Authentication failed: {}", ex.getMessage());
 		return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+				.contentType(MediaType.APPLICATION_JSON)
 				.body(new ApiError(Instant.now(),
 						HttpStatus.UNAUTHORIZED.value(),
 						HttpStatus.UNAUTHORIZED.getReasonPhrase(),
@@ -68,42 +83,40 @@ public class GlobalExceptionHandler {
 	}
 
 	@ExceptionHandler(AuthenticationException.class)
-	public ResponseEntity<ApiError> handleAuthentication(AuthenticationException ex) {
-		log.warn("Unauthorized access: {}", ex.getMessage());
-		return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-				.body(new ApiError(Instant.now(),
-						HttpStatus.UNAUTHORIZED.value(),
-						HttpStatus.UNAUTHORIZED.getReasonPhrase(),
-						"Authentication required",
-						Map.of()));
+	public ResponseEntity<byte[]> handleAuthentication(AuthenticationException ex) {
+		clientErrors.warn("unauthorized", "Unauthorized access: {}", ex.getMessage());
+		return PrerenderedErrors.UNAUTHORIZED.toResponse();
 	}
 
 	@ExceptionHandler(AccessDeniedException.class)
-	public ResponseEntity<ApiError> handleAccessDenied(AccessDeniedException ex) {
-		log.warn("Access denied: {}", ex.getMessage());
-		return ResponseEntity.status(HttpStatus.FORBIDDEN)
-				.body(new ApiError(Instant.now(),
-						HttpStatus.FORBIDDEN.value(),
-						HttpStatus.FORBIDDEN.getReasonPhrase(),
-						"Access denied",
-						Map.of()));
+	public ResponseEntity<byte[]> handleAccessDenied(AccessDeniedException ex) {
+		clientErrors.warn("forbidden", "Access denied: {}", ex.getMessage());
+		return PrerenderedErrors.FORBIDDEN.toResponse();
 	}
 
 	@ExceptionHandler(NotFoundException.class)
-	public ResponseEntity<ApiError> handleNotFound(NotFoundException ex) {
-		log.warn("Resource not found: {}", ex.getMessage());
-		return ResponseEntity.status(HttpStatus.NOT_FOUND)
-				.body(new ApiError(Instant.now(),
-						HttpStatus.NOT_FOUND.value(),
-						HttpStatus.NOT_FOUND.getReasonPhrase(),
-						ex.getMessage(),
-						Map.of()));
+	public ResponseEntity<byte[]> handleNotFound(NotFoundException ex) {
+		clientErrors.warn("not-found", "Resource not found: {}", ex.getMessage());
+		return PrerenderedErrors.notFound(ex.getMessage());
 	}
 
 	@ExceptionHandler(DuplicateEmailException.class)
 	public ResponseEntity<ApiError> handleDuplicateEmail(DuplicateEmailException ex) {
 		log.warn("Duplicate email: {}", ex.getMessage());
 		return ResponseEntity.status(HttpStatus.CONFLICT)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new ApiError(Instant.now(),
+						HttpStatus.CONFLICT.value(),
+						HttpStatus.CONFLICT.getReasonPhrase(),
+						ex.getMessage(),
+						Map.of()));
+	}
+
+	@ExceptionHandler(ExportNotReadyException.class)
+	public ResponseEntity<ApiError> handleExportNotReady(ExportNotReadyException ex) {
+		log.warn("Export not ready: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT)
+				.contentType(MediaType.APPLICATION_JSON)
 				.body(new ApiError(Instant.now(),
 						HttpStatus.CONFLICT.value(),
 						HttpStatus.CONFLICT.getReasonPhrase(),
@@ -111,10 +124,37 @@ public class GlobalExceptionHandler {
 						Map.of()));
 	}
 
+	@ExceptionHandler(ChangesCursorExpiredException.class)
+	public ResponseEntity<ApiError> handleChangesCursorExpired(ChangesCursorExpiredException ex) {
+		log.warn("Expired changes cursor: {}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.GONE)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new ApiError(Instant.now(),
+						HttpStatus.GONE.value(),
+						HttpStatus.GONE.getReasonPhrase(),
+						ex.getMessage(),
+						Map.of()));
+	}
+
+	@ExceptionHandler(MongoUnavailableException.class)
+	public ResponseEntity<ApiError> handleMongoUnavailable(MongoUnavailableException ex) {
+		// MongoAccessGuard already logs rejections, rate limited
+		long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(new ApiError(Instant.now(),
+						HttpStatus.SERVICE_UNAVAILABLE.value(),
+						HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+						ex.getMessage(),
+						Map.of()));
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ApiError> handleGeneric(Exception ex) {
 		log.error("Unexpected error", ex);
 		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.contentType(MediaType.APPLICATION_JSON)
 				.body(new ApiError(Instant.now(),
 						HttpStatus.INTERNAL_SERVER_ERROR.value(),
 						HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
@@ -0,0 +1,119 @@
+package io.bharat.mongo.employee.api;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * {@link ApiError} bodies for the high-volume client errors, written straight from bytes prepared once. Only the
+ * timestamp and, for variable messages, the escaped message are produced per response. The output has the same shape
+ * Jackson gives an {@code ApiError} with no validation errors.
+ */
+public final class PrerenderedErrors {
+
+	private static final byte[] OPEN = "{\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] CLOSE = "\",\"validationErrors\":{}}".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] NOT_FOUND_STATUS = statusPart(HttpStatus.NOT_FOUND);
+
+	public static final PrerenderedErrors UNAUTHORIZED = new PrerenderedErrors(HttpStatus.UNAUTHORIZED,
+			"Authentication required");
+	public static final PrerenderedErrors FORBIDDEN = new PrerenderedErrors(HttpStatus.FORBIDDEN, "Access denied");
+	public static final PrerenderedErrors SERVICE_UNAVAILABLE = new PrerenderedErrors(HttpStatus.SERVICE_UNAVAILABLE,
+			"Server is at capacity, retry shortly");
+
+	private final HttpStatus status;
+	private final byte[] tail;
+
+	private PrerenderedErrors(HttpStatus status, String message) {
+		this.status = status;
+		this.tail = concat(statusPart(status), escape(message).getBytes(StandardCharsets.UTF_8), CLOSE);
+	}
+
+	public byte[] render() {
+		return concat(OPEN, timestamp(), tail);
+	}
+
+	public void write(HttpServletResponse response) throws IOException {
+		byte[] body = render();
+		response.setStatus(status.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setContentLength(body.length);
+		response.getOutputStream().write(body);
+	}
+
+	public ResponseEntity<byte[]> toResponse() {
+		return response(status, render());
+	}
+
+	public static byte[] renderNotFound(String message) {
+		return concat(OPEN, timestamp(), NOT_FOUND_STATUS, escape(message).getBytes(StandardCharsets.UTF_8), CLOSE);
+	}
+
+	public static ResponseEntity<byte[]> notFound(String message) {
+		return response(HttpStatus.NOT_FOUND, renderNotFound(message));
+	}
+
+	private static ResponseEntity<byte[]> response(HttpStatus status, byte[] body) {
+		return ResponseEntity.status(status)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(body);
+	}
+
+	private static byte[] timestamp() {
+		return Instant.now().toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	private static byte[] statusPart(HttpStatus status) {
+		return ("\",\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase() + "\",\"message\":\"")
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	static String escape(String value) {
+		if (value == null) {
+			return "";
+		}
+		StringBuilder escaped = null;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			String replacement = switch (c) {
+				case '"' -> "\\\"";
+				case '\\' -> "\\\\";
+				case '\n' -> "\\n";
+				case '\r' -> "\\r";
+				case '\t' -> "\\t";
+				default -> c < 0x20 ? String.format("\\u%04x", (int) c) : null;
+			};
+			if (replacement != null && escaped == null) {
+				escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+			}
+			if (escaped != null) {
+				if (replacement != null) {
+					escaped.append(replacement);
+				} else {
+					escaped.append(c);
+				}
+			}
+		}
+		return escaped == null ? value : escaped.toString();
+	}
+
+	private static byte[] concat(byte[]... parts) {
+		int length = 0;
+		for (byte[] part : parts) {
+			length += part.length;
+		}
+		byte[] result = new byte[length];
+		int offset = 0;
+		for (byte[] part : parts) {
+			System.arraycopy(part, 0, result, offset, part.length);
+			offset += part.length;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,69 @@
+package io.bharat.mongo.employee.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Changes applied server-side to every employee matching {@code match}. With {@code dryRun} nothing is written and
+ * only the number of matching employees is returned.
+ */
+public record EmployeeBulkUpdateRequest(
+		@NotNull(message = "match is required") @Valid Match match,
+		@NotNull(message = "changes is required") @Valid Changes changes,
+		boolean dryRun) {
+
+	/**
+	 * Employees to update; all given conditions must hold. At least one is required so a request cannot update the
+	 * whole collection by accident.
+	 */
+	public record Match(
+			String department,
+			String jobTitle,
+			@Size(max = 1000, message = "at most 1000 ids per update")
+			List<@NotBlank(message = "ids must not be blank") String> ids) {
+
+		@JsonIgnore
+		@AssertTrue(message = "match needs department, jobTitle or ids")
+		public boolean isRestricted() {
+			return department != null || jobTitle != null || (ids != null && !ids.isEmpty());
+		}
+	}
+
+	/**
+	 * @param salaryPercent raise (or cut, if negative) in percent; the result is rounded to cents
+	 * @param salaryAmount amount added to (or, if negative, taken from) the salary
+	 */
+	public record Changes(
+			@Pattern(regexp = ".*\\S.*", message = "department must not be blank") String department,
+			@Pattern(regexp = ".*\\S.*", message = "jobTitle must not be blank") String jobTitle,
+			@DecimalMin(value = "-100", inclusive = false, message = "salaryPercent must be above -100")
+			BigDecimal salaryPercent,
+			BigDecimal salaryAmount) {
+
+		@JsonIgnore
+		@AssertTrue(message = "changes needs department, jobTitle, salaryPercent or salaryAmount")
+		public boolean isPresent() {
+			return department != null || jobTitle != null || salaryPercent != null || salaryAmount != null;
+		}
+
+		@JsonIgnore
+		@AssertTrue(message = "use either salaryPercent or salaryAmount, not both")
+		public boolean isSingleSalaryChange() {
+			return salaryPercent == null || salaryAmount == null;
+		}
+
+		public boolean changesSalary() {
+			return salaryPercent != null || salaryAmount != null;
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package io.bharat.mongo.employee.dto;
+
+/**
+ * @param matched employees matching the request; for a dry run, the employees that would be updated
+ * @param modified employees actually changed; always 0 for a dry run
+ */
+public record EmployeeBulkUpdateResponse(
+		boolean dryRun,
+		long matched,
+		long modified) {
+}
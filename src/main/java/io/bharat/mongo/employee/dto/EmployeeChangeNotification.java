@@ -0,0 +1,16 @@
+package io.bharat.mongo.employee.dto;
+
+import java.time.Instant;
+
+import io.bharat.mongo.employee.service.EmployeeChangedEvent.ChangeType;
+
+/**
+ * Data of an employee change pushed to {@code /api/employees/events} subscribers.
+ *
+ * @param employeeId the changed employee, or {@code null} for imports and bulk updates
+ */
+public record EmployeeChangeNotification(
+		ChangeType type,
+		String employeeId,
+		Instant occurredAt) {
+}
@@ -0,0 +1,17 @@
+package io.bharat.mongo.employee.dto;
+
+import java.util.List;
+
+/**
+ * One page of a delta sync. Apply {@code upserts} and {@code deletes}, then ask again with {@code nextCursor};
+ * while {@code hasMore} is true the next page is already available.
+ *
+ * @param upserts employees created or changed since the cursor, in their current state
+ * @param deletes ids of employees deleted since the cursor
+ */
+public record EmployeeChangesResponse(
+		List<EmployeeResponse> upserts,
+		List<String> deletes,
+		String nextCursor,
+		boolean hasMore) {
+}
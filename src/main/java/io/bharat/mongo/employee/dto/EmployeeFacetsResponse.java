@@ -0,0 +1,11 @@
+package io.bharat.mongo.employee.dto;
+
+import java.util.List;
+
+/**
+ * Distinct departments and job titles with the number of employees holding each, sorted by value.
+ */
+public record EmployeeFacetsResponse(
+		List<FacetCount> departments,
+		List<FacetCount> jobTitles) {
+}
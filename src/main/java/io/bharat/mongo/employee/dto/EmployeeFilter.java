@@ -0,0 +1,27 @@
+package io.bharat.mongo.employee.dto;
+
+import java.math.BigDecimal;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Optional filters shared by listing, counting and export. Blank values are treated as absent; salary bounds are
+ * inclusive.
+ */
+public record EmployeeFilter(String department, String jobTitle, BigDecimal minSalary, BigDecimal maxSalary) {
+
+	public static final EmployeeFilter NONE = new EmployeeFilter(null, null);
+
+	public EmployeeFilter {
+		department = StringUtils.hasText(department) ? department.trim() : null;
+		jobTitle = StringUtils.hasText(jobTitle) ? jobTitle.trim() : null;
+	}
+
+	public EmployeeFilter(String department, String jobTitle) {
+		this(department, jobTitle, null, null);
+	}
+
+	public boolean isEmpty() {
+		return department == null && jobTitle == null && minSalary == null && maxSalary == null;
+	}
+}
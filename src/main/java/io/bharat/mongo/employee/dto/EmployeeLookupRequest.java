@@ -0,0 +1,13 @@
+package io.bharat.mongo.employee.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record EmployeeLookupRequest(
+		@NotEmpty(message = "ids is required")
+		@Size(max = 500, message = "at most 500 ids per lookup")
+		List<@NotBlank(message = "ids must not be blank") String> ids) {
+}
@@ -0,0 +1,12 @@
+package io.bharat.mongo.employee.dto;
+
+import java.util.List;
+
+/**
+ * @param employees the employees found, in the order their ids were requested
+ * @param missing requested ids with no employee, in request order
+ */
+public record EmployeeLookupResponse(
+		List<EmployeeResponse> employees,
+		List<String> missing) {
+}
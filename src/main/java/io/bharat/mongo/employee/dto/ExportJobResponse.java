@@ -0,0 +1,20 @@
+package io.bharat.mongo.employee.dto;
+
+import java.time.Instant;
+
+import io.bharat.mongo.employee.model.ExportFormat;
+import io.bharat.mongo.employee.model.JobStatus;
+
+public record ExportJobResponse(
+		String id,
+		JobStatus status,
+		ExportFormat format,
+		String department,
+		String jobTitle,
+		long rowsWritten,
+		Long sizeBytes,
+		Instant createdAt,
+		Instant finishedAt,
+		Instant expiresAt,
+		String failureReason) {
+}
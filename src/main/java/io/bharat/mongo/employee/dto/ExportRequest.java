@@ -0,0 +1,17 @@
+package io.bharat.mongo.employee.dto;
+
+import io.bharat.mongo.employee.model.ExportFormat;
+
+public record ExportRequest(
+		ExportFormat format,
+		String department,
+		String jobTitle) {
+
+	public ExportFormat formatOrDefault() {
+		return format != null ? format : ExportFormat.NDJSON;
+	}
+
+	public EmployeeFilter filter() {
+		return new EmployeeFilter(department, jobTitle);
+	}
+}
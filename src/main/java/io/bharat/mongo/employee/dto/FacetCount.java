@@ -0,0 +1,6 @@
+package io.bharat.mongo.employee.dto;
+
+public record FacetCount(
+		String value,
+		long count) {
+}
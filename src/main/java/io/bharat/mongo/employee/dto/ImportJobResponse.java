@@ -0,0 +1,20 @@
+package io.bharat.mongo.employee.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.bharat.mongo.employee.model.JobStatus;
+
+public record ImportJobResponse(
+		String id,
+		String format,
+		JobStatus status,
+		long rowsRead,
+		long inserted,
+		long rejected,
+		double rowsPerSecond,
+		Instant startedAt,
+		Instant finishedAt,
+		String failureReason,
+		List<ImportRowError> errors) {
+}
@@ -0,0 +1,8 @@
+package io.bharat.mongo.employee.dto;
+
+import java.util.Map;
+
+public record ImportRowError(
+		long row,
+		Map<String, String> errors) {
+}
@@ -0,0 +1,12 @@
+package io.bharat.mongo.employee.exception;
+
+/**
+ * The cursor is older than the tombstone retention, so deletes since then may have been forgotten and the client has
+ * to resync in full.
+ */
+public class ChangesCursorExpiredException extends DomainException {
+
+	public ChangesCursorExpiredException(String cursor) {
+		super("Changes cursor " + cursor + " is older than the tombstone retention; resync without a cursor");
+	}
+}
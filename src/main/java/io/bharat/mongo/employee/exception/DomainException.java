@@ -0,0 +1,12 @@
+package io.bharat.mongo.employee.exception;
+
+/**
+ * Base for expected business errors that are turned into 4xx responses. They carry no stack trace and no suppressed
+ * exceptions: the handler never logs the trace, and filling it in dominated the cost of the error path.
+ */
+public abstract class DomainException extends RuntimeException {
+
+	protected DomainException(String message) {
+		super(message, null, false, false);
+	}
+}
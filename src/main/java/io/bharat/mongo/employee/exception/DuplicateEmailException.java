@@ -1,6 +1,6 @@
 package io.bharat.mongo.employee.exception;
 
-public class DuplicateEmailException extends RuntimeException {
+public class DuplicateEmailException extends DomainException {
 
 	public DuplicateEmailException(String email) {
 		super("Employee email already in use: " + email);
@@ -0,0 +1,10 @@
+package io.bharat.mongo.employee.exception;
+
+import io.bharat.mongo.employee.model.JobStatus;
+
+public class ExportNotReadyException extends DomainException {
+
+	public ExportNotReadyException(String id, JobStatus status) {
+		super("Export " + id + " is not available for download (status " + status + ")");
+	}
+}
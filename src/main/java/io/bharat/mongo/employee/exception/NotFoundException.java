@@ -1,6 +1,6 @@
 package io.bharat.mongo.employee.exception;
 
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends DomainException {
 
 	public NotFoundException(String message) {
 		super(message);
@@ -0,0 +1,68 @@
+package io.bharat.mongo.employee.migration;
+
+import java.time.Instant;
+import java.util.Date;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.migration.Migration;
+
+/**
+ * Backfills {@code createdAt} and {@code lastModifiedAt} on employees written before auditing. {@code createdAt} comes
+ * from the ObjectId timestamp. {@code lastModifiedAt} is the time of the backfill, so a delta sync that is already
+ * running picks the employee up instead of skipping it. Employees imported or created through write coalescing before
+ * those set {@code createdAt} are backfilled the same way; their {@code lastModifiedAt} is kept.
+ */
+@Component
+@Order(2)
+public class EmployeeAuditFieldsMigration implements Migration {
+
+	private final String collectionName;
+	private final String createdAtField;
+	private final String lastModifiedAtField;
+
+	public EmployeeAuditFieldsMigration(MongoTemplate mongoTemplate) {
+		this.collectionName = mongoTemplate.getCollectionName(Employee.class);
+		var entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Employee.class);
+		this.createdAtField = entity.getRequiredPersistentProperty("createdAt").getFieldName();
+		this.lastModifiedAtField = entity.getRequiredPersistentProperty("lastModifiedAt").getFieldName();
+	}
+
+	@Override
+	public String id() {
+		// Renamed so instances that completed an earlier version also pick up imported and coalesced employees
+		// without createdAt
+		return "employee-audit-fields-3";
+	}
+
+	@Override
+	public String collectionName() {
+		return collectionName;
+	}
+
+	@Override
+	public Criteria pending() {
+		return new Criteria().orOperator(Criteria.where(lastModifiedAtField).exists(false),
+				Criteria.where(createdAtField).exists(false));
+	}
+
+	@Override
+	public Update migrate(Document document) {
+		Date now = Date.from(Instant.now());
+		Update update = new Update();
+		if (!document.containsKey(lastModifiedAtField)) {
+			update.set(lastModifiedAtField, now);
+		}
+		if (!document.containsKey(createdAtField)) {
+			update.set(createdAtField, document.get("_id") instanceof ObjectId id ? id.getDate() : now);
+		}
+		return update;
+	}
+}
@@ -0,0 +1,70 @@
+package io.bharat.mongo.employee.migration;
+
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeStorageLayout;
+import io.bharat.mongo.migration.Migration;
+import io.bharat.mongo.migration.MigrationCheckpoint;
+
+/**
+ * Renames employee keys into the active storage layout with {@code $rename}. Each direction has its own checkpoint
+ * id. Running one direction clears the other's checkpoint, so switching the layout back later migrates again.
+ * Runs before the other employee migrations so they see the final key names.
+ */
+@Component
+@Order(0)
+public class EmployeeLayoutMigration implements Migration {
+
+	private static final String ID_PREFIX = "employee-layout-";
+
+	private final EmployeeStorageLayout layout;
+	private final String collectionName;
+
+	public EmployeeLayoutMigration(MongoTemplate mongoTemplate, EmployeeStorageLayout layout) {
+		this.layout = layout;
+		this.collectionName = mongoTemplate.getCollectionName(Employee.class);
+	}
+
+	@Override
+	public String id() {
+		return ID_PREFIX + layout.name();
+	}
+
+	@Override
+	public String collectionName() {
+		return collectionName;
+	}
+
+	@Override
+	public Criteria pending() {
+		return new Criteria().orOperator(layout.renames().keySet().stream()
+				.map(key -> Criteria.where(key).exists(true))
+				.toList());
+	}
+
+	@Override
+	public Update migrate(Document document) {
+		Update update = new Update();
+		for (Map.Entry<String, String> rename : layout.renames().entrySet()) {
+			if (document.containsKey(rename.getKey())) {
+				update.rename(rename.getKey(), rename.getValue());
+			}
+		}
+		return update.getUpdateObject().isEmpty() ? null : update;
+	}
+
+	@Override
+	public void prepare(MongoTemplate mongoTemplate) {
+		String opposite = ID_PREFIX + (layout.isCompact() ? "standard" : "compact");
+		mongoTemplate.remove(Query.query(Criteria.where("_id").is(opposite)), MigrationCheckpoint.class);
+	}
+}
@@ -0,0 +1,65 @@
+package io.bharat.mongo.employee.migration;
+
+import java.math.BigDecimal;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.migration.Migration;
+
+/**
+ * Rewrites salaries stored as strings (the old default {@code BigDecimal} mapping) as Decimal128, so range filters
+ * and sorting can use the salary indexes declared on {@link Employee}.
+ */
+@Component
+@Order(1)
+public class SalaryDecimal128Migration implements Migration {
+
+	private static final Logger log = LoggerFactory.getLogger(SalaryDecimal128Migration.class);
+
+	private final String collectionName;
+	private final String salaryField;
+
+	public SalaryDecimal128Migration(MongoTemplate mongoTemplate) {
+		this.collectionName = mongoTemplate.getCollectionName(Employee.class);
+		this.salaryField = mongoTemplate.getConverter().getMappingContext()
+				.getRequiredPersistentEntity(Employee.class)
+				.getRequiredPersistentProperty("salary")
+				.getFieldName();
+	}
+
+	@Override
+	public String id() {
+		return "employee-salary-decimal128";
+	}
+
+	@Override
+	public String collectionName() {
+		return collectionName;
+	}
+
+	@Override
+	public Criteria pending() {
+		return Criteria.where(salaryField).type(JsonSchemaObject.Type.stringType());
+	}
+
+	@Override
+	public Update migrate(Document document) {
+		String salary = document.getString(salaryField);
+		try {
+			return new Update().set(salaryField, new Decimal128(new BigDecimal(salary.trim())));
+		} catch (NumberFormatException ex) {
+			log.warn("Skipping unparseable salary id={} salary={}", document.get("_id"), salary);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package io.bharat.mongo.employee.model;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Short BSON key used for a property when the compact storage layout is enabled
+ * ({@code employee.storage.compact=true}). It plays the role of {@code @Field}, but can be switched on at runtime.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface CompactName {
+
+	String value();
+}
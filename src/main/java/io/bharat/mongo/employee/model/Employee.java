@@ -1,23 +1,56 @@
 package io.bharat.mongo.employee.model;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
+import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+/**
+ * Indexes are declared here and built by {@code IndexReconciler} once the application is ready. Email is unique:
+ * the existence checks on every write and the duplicate handling of bulk inserts rely on it. It is also sparse, so
+ * documents in the other storage layout, which have no key under this name, do not collide with each other while
+ * {@code EmployeeLayoutMigration} renames them. Department/salary serves listing filters, salary sorting and the
+ * department facet; lastModifiedAt/id is the changes-feed cursor.
+ */
 @Document(collection = "employees")
+@CompoundIndex(name = "department_salary", def = "{'department': 1, 'salary': 1}")
+@CompoundIndex(name = "lastModifiedAt_id", def = "{'lastModifiedAt': 1, 'id': 1}")
 public class Employee {
 
 	@Id
 	private String id;
+	@CompactName("fn")
 	private String firstName;
+	@CompactName("ln")
 	private String lastName;
+	@Indexed(name = "email", unique = true, sparse = true)
+	@CompactName("em")
 	private String email;
+	@CompactName("dp")
 	private String department;
+	@Indexed(name = "jobTitle")
+	@CompactName("jt")
 	private String jobTitle;
+	@Indexed(name = "salary")
+	@CompactName("sal")
 	private BigDecimal salary;
+	@CompactName("doj")
 	private LocalDate dateOfJoining;
+	@CreatedDate
+	@CompactName("ca")
+	private Instant createdAt;
+	/**
+	 * Set on every write, including bulk updates; the cursor of {@code GET /api/employees/changes}.
+	 */
+	@LastModifiedDate
+	@CompactName("lm")
+	private Instant lastModifiedAt;
 
 	public Employee() {
 	}
@@ -97,5 +130,20 @@ public class Employee {
 	public void setDateOfJoining(LocalDate dateOfJoining) {
 		this.dateOfJoining = dateOfJoining;
 	}
-}
 
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Instant getLastModifiedAt() {
+		return lastModifiedAt;
+	}
+
+	public void setLastModifiedAt(Instant lastModifiedAt) {
+		this.lastModifiedAt = lastModifiedAt;
+	}
+}
@@ -0,0 +1,45 @@
+package io.bharat.mongo.employee.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Marker left behind by a deleted employee so delta syncs can report the delete. Expires after
+ * {@code employee.changes.tombstone-retention} through a TTL index on {@code deletedAt}.
+ */
+@Document(collection = "employeeTombstones")
+public class EmployeeTombstone {
+
+	/** The deleted employee's id. */
+	@Id
+	private String id;
+	@Indexed(name = "deletedAt_ttl", expireAfter = "${employee.changes.tombstone-retention:30d}")
+	private Instant deletedAt;
+
+	public EmployeeTombstone() {
+	}
+
+	public EmployeeTombstone(String id, Instant deletedAt) {
+		this.id = id;
+		this.deletedAt = deletedAt;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Instant getDeletedAt() {
+		return deletedAt;
+	}
+
+	public void setDeletedAt(Instant deletedAt) {
+		this.deletedAt = deletedAt;
+	}
+}
@@ -0,0 +1,17 @@
+package io.bharat.mongo.employee.model;
+
+public enum ExportFormat {
+
+	CSV("csv"),
+	NDJSON("ndjson");
+
+	private final String extension;
+
+	ExportFormat(String extension) {
+		this.extension = extension;
+	}
+
+	public String extension() {
+		return extension;
+	}
+}
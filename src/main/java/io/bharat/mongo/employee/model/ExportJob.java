@@ -0,0 +1,125 @@
+package io.bharat.mongo.employee.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Export job state, persisted so that any instance can report status and serve the finished file.
+ */
+@Document(collection = "employeeExports")
+public class ExportJob {
+
+	@Id
+	private String id;
+	private JobStatus status;
+	private ExportFormat format;
+	private String department;
+	private String jobTitle;
+	private long rowsWritten;
+	private String fileId;
+	private Long sizeBytes;
+	private Instant createdAt;
+	private Instant finishedAt;
+	@Indexed(name = "expiresAt_ttl", expireAfter = "0s")
+	private Instant expiresAt;
+	private String failureReason;
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public JobStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(JobStatus status) {
+		this.status = status;
+	}
+
+	public ExportFormat getFormat() {
+		return format;
+	}
+
+	public void setFormat(ExportFormat format) {
+		this.format = format;
+	}
+
+	public String getDepartment() {
+		return department;
+	}
+
+	public void setDepartment(String department) {
+		this.department = department;
+	}
+
+	public String getJobTitle() {
+		return jobTitle;
+	}
+
+	public void setJobTitle(String jobTitle) {
+		this.jobTitle = jobTitle;
+	}
+
+	public long getRowsWritten() {
+		return rowsWritten;
+	}
+
+	public void setRowsWritten(long rowsWritten) {
+		this.rowsWritten = rowsWritten;
+	}
+
+	public String getFileId() {
+		return fileId;
+	}
+
+	public void setFileId(String fileId) {
+		this.fileId = fileId;
+	}
+
+	public Long getSizeBytes() {
+		return sizeBytes;
+	}
+
+	public void setSizeBytes(Long sizeBytes) {
+		this.sizeBytes = sizeBytes;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Instant expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public String getFailureReason() {
+		return failureReason;
+	}
+
+	public void setFailureReason(String failureReason) {
+		this.failureReason = failureReason;
+	}
+}
@@ -0,0 +1,8 @@
+package io.bharat.mongo.employee.model;
+
+public enum JobStatus {
+	PENDING,
+	RUNNING,
+	COMPLETED,
+	FAILED
+}
@@ -0,0 +1,42 @@
+package io.bharat.mongo.employee.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Outcome of an unordered bulk insert; {@code failures} maps the index of each rejected document to its error.
+ */
+public record BulkInsertResult(int inserted, Map<Integer, BulkInsertResult.Failure> failures) {
+
+	/**
+	 * @param keys fields of the index a duplicate key violated, when the server reports its key pattern in the error
+	 * details; otherwise {@code null}
+	 */
+	public record Failure(int code, String message, Set<String> keys) {
+
+		private static final int DUPLICATE_KEY = 11000;
+
+		public Failure(int code, String message) {
+			this(code, message, null);
+		}
+
+		public boolean isDuplicateKey() {
+			return code == DUPLICATE_KEY;
+		}
+
+		/**
+		 * The document's own {@code _id} is taken, which for a retried insert means the first attempt wrote it.
+		 * {@code false} when the server did not say which index was violated; see {@link #isDuplicateOnUnknownKey()}.
+		 */
+		public boolean isDuplicateId() {
+			return isDuplicateKey() && Set.of("_id").equals(keys);
+		}
+
+		/**
+		 * A duplicate key on an index the server did not name, so the caller has to check which value is taken.
+		 */
+		public boolean isDuplicateOnUnknownKey() {
+			return isDuplicateKey() && keys == null;
+		}
+	}
+}
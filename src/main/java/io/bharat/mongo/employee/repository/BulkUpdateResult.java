@@ -0,0 +1,7 @@
+package io.bharat.mongo.employee.repository;
+
+/**
+ * Outcome of a bulk update: documents matched by the filter and documents actually changed.
+ */
+public record BulkUpdateResult(long matched, long modified) {
+}
@@ -0,0 +1,38 @@
+package io.bharat.mongo.employee.repository;
+
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.model.Employee;
+
+/**
+ * Renames keys of the inactive layout before a document is mapped, so employees not yet rewritten by the layout
+ * migration still load completely. Query filters are not rewritten: until the migration finishes, filtered queries
+ * only match documents already in the active layout.
+ */
+@Component
+class EmployeeLayoutListener extends AbstractMongoEventListener<Employee> {
+
+	private final EmployeeStorageLayout layout;
+
+	EmployeeLayoutListener(EmployeeStorageLayout layout) {
+		this.layout = layout;
+	}
+
+	@Override
+	public void onAfterLoad(AfterLoadEvent<Employee> event) {
+		Document document = event.getDocument();
+		if (document == null) {
+			return;
+		}
+		for (Map.Entry<String, String> rename : layout.renames().entrySet()) {
+			if (document.containsKey(rename.getKey()) && !document.containsKey(rename.getValue())) {
+				document.put(rename.getValue(), document.remove(rename.getKey()));
+			}
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package io.bharat.mongo.employee.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.springframework.data.domain.Pageable;
+
+import com.mongodb.ReadPreference;
+
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest;
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.dto.FacetCount;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+
+public interface EmployeeRepositoryCustom {
+
+	Set<String> findExistingEmails(Collection<String> emails);
+
+	Set<String> findExistingIds(Collection<String> ids);
+
+	/**
+	 * Inserts without stopping at the first failure, acknowledged at the tier of the enclosing
+	 * {@link io.bharat.mongo.config.DurabilityScope}.
+	 */
+	BulkInsertResult insertUnordered(List<Employee> employees);
+
+	/**
+	 * Reads one employee from a replica set member chosen by {@code readPreference}, for hedged reads.
+	 */
+	Optional<Employee> findByIdFrom(String id, ReadPreference readPreference);
+
+	/**
+	 * Returns one page of matching employees. Paged queries are additionally sorted by id so pages are stable.
+	 */
+	List<Employee> findByFilter(EmployeeFilter filter, Pageable pageable);
+
+	/**
+	 * Same page as {@link #findByFilter}, as stored documents reduced to {@code projection}, without entity mapping.
+	 */
+	List<RawBsonDocument> findDocumentsByFilter(EmployeeFilter filter, Pageable pageable, Document projection);
+
+	long countByFilter(EmployeeFilter filter);
+
+	/**
+	 * Collection size from metadata; fast but may be off after unclean shutdowns or during sharded migrations.
+	 */
+	long estimatedCount();
+
+	/**
+	 * Employees per distinct value of {@code property}, sorted by value; employees without a value are left out.
+	 */
+	List<FacetCount> countByValue(String property);
+
+	/**
+	 * Employees modified after the cursor {@code (after, afterId)} and before {@code before}, ordered by
+	 * {@code lastModifiedAt} and id.
+	 */
+	List<Employee> findModifiedSince(Instant after, String afterId, Instant before, int limit);
+
+	/**
+	 * Tombstones of employees deleted after the cursor {@code (after, afterId)} and before {@code before}, in the
+	 * same order.
+	 */
+	List<EmployeeTombstone> findDeletedSince(Instant after, String afterId, Instant before, int limit);
+
+	/**
+	 * Number of employees {@link #bulkUpdate} would match, without writing.
+	 */
+	long countForBulkUpdate(EmployeeBulkUpdateRequest request);
+
+	/**
+	 * Applies the requested changes to all matching employees with a single {@code updateMany}.
+	 */
+	BulkUpdateResult bulkUpdate(EmployeeBulkUpdateRequest request);
+
+	/**
+	 * Streams matching employees from a server-side cursor. The caller must close the stream.
+	 */
+	Stream<Employee> streamByFilter(EmployeeFilter filter);
+
+	/**
+	 * Streams matching employees as stored documents reduced to {@code projection}. The caller must close the stream.
+	 */
+	Stream<RawBsonDocument> streamDocumentsByFilter(EmployeeFilter filter, Document projection);
+}
@@ -0,0 +1,357 @@
+package io.bharat.mongo.employee.repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators.Round;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject.Type;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.result.UpdateResult;
+
+import io.bharat.mongo.config.DurabilityScope;
+import io.bharat.mongo.config.DurabilityTier;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest;
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.dto.FacetCount;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+
+class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+	private final MongoTemplate mongoTemplate;
+	private final QueryMapper queryMapper;
+	private final MongoPersistentEntity<?> entity;
+	private final String salaryField;
+	/**
+	 * Server-side budget of every read that can scan, so a slow plan is stopped by Mongo rather than holding a
+	 * bulkhead permit. Streams are exempt: exports read for as long as the collection takes.
+	 */
+	private final Duration maxTime;
+	/**
+	 * Bulk operations take the template's fixed write concern instead of asking the resolver, so each tier that
+	 * overrides it gets its own template.
+	 */
+	private final Map<DurabilityTier, MongoTemplate> bulkTemplates = new EnumMap<>(DurabilityTier.class);
+
+	EmployeeRepositoryImpl(MongoTemplate mongoTemplate, ApplicationContext applicationContext,
+			@Value("${mongo.timeouts.max-time:5s}") Duration maxTime) {
+		this.mongoTemplate = mongoTemplate;
+		this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+		this.entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(Employee.class);
+		this.salaryField = storedName("salary");
+		this.maxTime = maxTime;
+		for (DurabilityTier tier : DurabilityTier.values()) {
+			if (tier.writeConcern() != null) {
+				MongoTemplate template = new MongoTemplate(mongoTemplate.getMongoDatabaseFactory(),
+						mongoTemplate.getConverter());
+				template.setWriteConcern(tier.writeConcern());
+				template.setApplicationContext(applicationContext);
+				bulkTemplates.put(tier, template);
+			}
+		}
+	}
+
+	@Override
+	public Set<String> findExistingEmails(Collection<String> emails) {
+		if (emails.isEmpty()) {
+			return Set.of();
+		}
+		Query query = new Query(Criteria.where("email").in(emails)).maxTime(maxTime);
+		query.fields().include("email");
+		return mongoTemplate.find(query, Employee.class).stream()
+				.map(Employee::getEmail)
+				.collect(Collectors.toSet());
+	}
+
+	@Override
+	public Set<String> findExistingIds(Collection<String> ids) {
+		if (ids.isEmpty()) {
+			return Set.of();
+		}
+		Query query = new Query(Criteria.where("id").in(ids)).maxTime(maxTime);
+		query.fields().include("id");
+		return mongoTemplate.find(query, Employee.class).stream()
+				.map(Employee::getId)
+				.collect(Collectors.toSet());
+	}
+
+	@Override
+	public BulkInsertResult insertUnordered(List<Employee> employees) {
+		if (employees.isEmpty()) {
+			return new BulkInsertResult(0, Map.of());
+		}
+		try {
+			MongoTemplate template = bulkTemplates.getOrDefault(DurabilityScope.current(), mongoTemplate);
+			int inserted = template.bulkOps(BulkMode.UNORDERED, Employee.class)
+					.insert(employees)
+					.execute()
+					.getInsertedCount();
+			return new BulkInsertResult(inserted, Map.of());
+		} catch (BulkOperationException ex) {
+			Map<Integer, BulkInsertResult.Failure> failures = new HashMap<>();
+			for (BulkWriteError error : ex.getErrors()) {
+				failures.put(error.getIndex(), new BulkInsertResult.Failure(error.getCode(), error.getMessage(),
+						violatedKeys(error.getDetails())));
+			}
+			return new BulkInsertResult(ex.getResult().getInsertedCount(), failures);
+		}
+	}
+
+	@Override
+	public Optional<Employee> findByIdFrom(String id, ReadPreference readPreference) {
+		Query query = new Query(Criteria.where("id").is(id)).withReadPreference(readPreference).maxTime(maxTime);
+		return Optional.ofNullable(mongoTemplate.findOne(query, Employee.class));
+	}
+
+	@Override
+	public List<Employee> findByFilter(EmployeeFilter filter, Pageable pageable) {
+		return mongoTemplate.find(filterQuery(filter, pageable).maxTime(maxTime), Employee.class);
+	}
+
+	@Override
+	public List<RawBsonDocument> findDocumentsByFilter(EmployeeFilter filter, Pageable pageable, Document projection) {
+		Query query = filterQuery(filter, pageable);
+		return mongoTemplate.execute(Employee.class,
+				collection -> findDocuments(collection.withDocumentClass(RawBsonDocument.class), query, projection)
+						.skip((int) query.getSkip())
+						.limit(query.getLimit())
+						.maxTime(maxTime.toMillis(), TimeUnit.MILLISECONDS)
+						.into(new ArrayList<>()));
+	}
+
+	@Override
+	public long countByFilter(EmployeeFilter filter) {
+		return mongoTemplate.count(new Query(criteriaFor(filter)).maxTime(maxTime), Employee.class);
+	}
+
+	@Override
+	public long estimatedCount() {
+		return mongoTemplate.estimatedCount(Employee.class);
+	}
+
+	@Override
+	public List<FacetCount> countByValue(String property) {
+		Aggregation aggregation = countByValueAggregation(storedName(property))
+				.withOptions(AggregationOptions.builder().maxTime(maxTime).build());
+		return mongoTemplate.aggregate(aggregation,
+				mongoTemplate.getCollectionName(Employee.class), Document.class)
+				.getMappedResults()
+				.stream()
+				.map(group -> new FacetCount(group.getString("_id"), group.get("count", Number.class).longValue()))
+				.toList();
+	}
+
+	@Override
+	public long countForBulkUpdate(EmployeeBulkUpdateRequest request) {
+		return mongoTemplate.count(bulkUpdateQuery(request).maxTime(maxTime), Employee.class);
+	}
+
+	@Override
+	public BulkUpdateResult bulkUpdate(EmployeeBulkUpdateRequest request) {
+		UpdateResult result = mongoTemplate.updateMulti(bulkUpdateQuery(request),
+				bulkUpdateFor(request.changes(), salaryField, Instant.now()), Employee.class);
+		return new BulkUpdateResult(result.getMatchedCount(), result.getModifiedCount());
+	}
+
+	@Override
+	public List<Employee> findModifiedSince(Instant after, String afterId, Instant before, int limit) {
+		return mongoTemplate.find(changedSinceQuery("lastModifiedAt", after, afterId, before, limit).maxTime(maxTime),
+				Employee.class);
+	}
+
+	@Override
+	public List<EmployeeTombstone> findDeletedSince(Instant after, String afterId, Instant before, int limit) {
+		return mongoTemplate.find(changedSinceQuery("deletedAt", after, afterId, before, limit).maxTime(maxTime),
+				EmployeeTombstone.class);
+	}
+
+	@Override
+	public Stream<Employee> streamByFilter(EmployeeFilter filter) {
+		return mongoTemplate.stream(new Query(criteriaFor(filter)), Employee.class);
+	}
+
+	@Override
+	public Stream<RawBsonDocument> streamDocumentsByFilter(EmployeeFilter filter, Document projection) {
+		MongoCursor<RawBsonDocument> cursor = mongoTemplate.execute(Employee.class,
+				collection -> findDocuments(collection.withDocumentClass(RawBsonDocument.class),
+						new Query(criteriaFor(filter)), projection).cursor());
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+				.onClose(cursor::close);
+	}
+
+	/**
+	 * A find on the driver collection, with the query mapped the way the template maps it for {@link Employee}.
+	 * Results are decoded as raw documents rather than entities.
+	 */
+	private FindIterable<RawBsonDocument> findDocuments(MongoCollection<RawBsonDocument> collection,
+			Query query, Document projection) {
+		return collection.find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+				.sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+				.projection(projection);
+	}
+
+	private static Query filterQuery(EmployeeFilter filter, Pageable pageable) {
+		Query query = new Query(criteriaFor(filter)).with(pageable.getSort());
+		if (pageable.isPaged()) {
+			// id breaks ties so pages stay stable when the requested sort has duplicates
+			query.with(Sort.by("id")).skip(pageable.getOffset()).limit(pageable.getPageSize());
+		}
+		return query;
+	}
+
+	/**
+	 * BSON key of an {@link Employee} property in the active storage layout, for raw queries and expression references
+	 * that the mapping layer does not rename.
+	 */
+	private String storedName(String property) {
+		return entity.getRequiredPersistentProperty(property).getFieldName();
+	}
+
+	/**
+	 * Groups on the stored field name, untyped, so the pipeline is passed through as written. Sorting on the field
+	 * before the group lets the planner walk an index on it without fetching documents.
+	 */
+	static Aggregation countByValueAggregation(String field) {
+		return Aggregation.newAggregation(
+				Aggregation.match(Criteria.where(field).type(Type.stringType())),
+				Aggregation.sort(Sort.Direction.ASC, field),
+				Aggregation.group(field).count().as("count"),
+				Aggregation.sort(Sort.Direction.ASC, "_id"));
+	}
+
+	/**
+	 * Documents whose {@code timeField} comes after the cursor {@code (after, afterId)} and before {@code before}, in
+	 * cursor order. The id breaks ties between documents written in the same millisecond.
+	 */
+	static Query changedSinceQuery(String timeField, Instant after, String afterId, Instant before, int limit) {
+		Criteria criteria = Criteria.where(timeField).lt(before);
+		if (afterId.isEmpty()) {
+			// Every change at exactly after has been seen
+			criteria.gt(after);
+		} else {
+			Object id = ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId;
+			criteria.orOperator(Criteria.where(timeField).gt(after),
+					Criteria.where(timeField).is(after).and("id").gt(id));
+		}
+		return new Query(criteria).with(Sort.by(timeField, "id")).limit(limit);
+	}
+
+	static Query bulkUpdateQuery(EmployeeBulkUpdateRequest request) {
+		EmployeeBulkUpdateRequest.Match match = request.match();
+		EmployeeBulkUpdateRequest.Changes changes = request.changes();
+		Criteria criteria = criteriaFor(new EmployeeFilter(match.department(), match.jobTitle()));
+		if (match.ids() != null && !match.ids().isEmpty()) {
+			criteria.and("id").in(match.ids());
+		}
+		if (changes.changesSalary()) {
+			// Arithmetic on a missing or unmigrated salary would fail the whole update or invent a value
+			Criteria salary = criteria.and("salary").type(Type.doubleType(), Type.intType(), Type.longType(),
+					Type.bigDecimalType());
+			if (changes.salaryAmount() != null && changes.salaryAmount().signum() < 0) {
+				// A cut never takes a salary below zero; smaller salaries are left as they are
+				salary.gte(changes.salaryAmount().negate());
+			}
+		}
+		return new Query(criteria);
+	}
+
+	/**
+	 * Pipeline update so percentage changes can be rounded to cents in the same write. Values are wrapped in
+	 * {@code $literal} so a department such as {@code "$salary"} is stored as text, not read as a field path.
+	 * {@code salaryField} is the stored key: references inside expressions are not mapped like {@code $set} targets.
+	 * The update bypasses auditing, so it stamps {@code lastModifiedAt} itself.
+	 */
+	static AggregationUpdate bulkUpdateFor(EmployeeBulkUpdateRequest.Changes changes, String salaryField,
+			Instant modifiedAt) {
+		AggregationUpdate update = AggregationUpdate.update();
+		if (changes.department() != null) {
+			update.set("department").toValue(LiteralOperators.valueOf(changes.department()).asLiteral());
+		}
+		if (changes.jobTitle() != null) {
+			update.set("jobTitle").toValue(LiteralOperators.valueOf(changes.jobTitle()).asLiteral());
+		}
+		if (changes.salaryPercent() != null) {
+			Decimal128 factor = new Decimal128(BigDecimal.ONE.add(changes.salaryPercent().movePointLeft(2)));
+			update.set("salary").toValue(Round.roundValueOf(ArithmeticOperators.valueOf(salaryField).multiplyBy(factor))
+					.place(2));
+		} else if (changes.salaryAmount() != null) {
+			update.set("salary").toValue(ArithmeticOperators.valueOf(salaryField)
+					.add(new Decimal128(changes.salaryAmount())));
+		}
+		update.set("lastModifiedAt").toValue(LiteralOperators.valueOf(Date.from(modifiedAt)).asLiteral());
+		return update;
+	}
+
+	/**
+	 * Fields of the index a duplicate key error violated, from the {@code keyPattern} the server reports. The driver
+	 * only passes on {@code errInfo}, so this is often {@code null}.
+	 */
+	private static Set<String> violatedKeys(BsonDocument details) {
+		if (details == null || !details.isDocument("keyPattern")) {
+			return null;
+		}
+		return Set.copyOf(details.getDocument("keyPattern").keySet());
+	}
+
+	static Criteria criteriaFor(EmployeeFilter filter) {
+		Criteria criteria = new Criteria();
+		if (filter.department() != null) {
+			criteria.and("department").is(filter.department());
+		}
+		if (filter.jobTitle() != null) {
+			criteria.and("jobTitle").is(filter.jobTitle());
+		}
+		if (filter.minSalary() != null || filter.maxSalary() != null) {
+			Criteria salary = criteria.and("salary");
+			if (filter.minSalary() != null) {
+				salary.gte(filter.minSalary());
+			}
+			if (filter.maxSalary() != null) {
+				salary.lte(filter.maxSalary());
+			}
+		}
+		return criteria;
+	}
+}
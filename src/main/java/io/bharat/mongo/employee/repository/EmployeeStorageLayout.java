@@ -0,0 +1,51 @@
+package io.bharat.mongo.employee.repository;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.model.CompactName;
+import io.bharat.mongo.employee.model.Employee;
+
+/**
+ * Which BSON keys {@link Employee} documents use: property names (standard) or the {@code @CompactName} keys
+ * (compact). {@link #renames()} maps every key of the other layout to its key in the active one.
+ */
+@Component
+public class EmployeeStorageLayout {
+
+	private final boolean compact;
+	private final Map<String, String> renames;
+
+	public EmployeeStorageLayout(@Value("${employee.storage.compact:false}") boolean compact) {
+		this.compact = compact;
+		Map<String, String> renames = new LinkedHashMap<>();
+		for (Field field : Employee.class.getDeclaredFields()) {
+			CompactName compactName = field.getAnnotation(CompactName.class);
+			if (compactName != null) {
+				if (compact) {
+					renames.put(field.getName(), compactName.value());
+				} else {
+					renames.put(compactName.value(), field.getName());
+				}
+			}
+		}
+		this.renames = Collections.unmodifiableMap(renames);
+	}
+
+	public boolean isCompact() {
+		return compact;
+	}
+
+	public String name() {
+		return compact ? "compact" : "standard";
+	}
+
+	public Map<String, String> renames() {
+		return renames;
+	}
+}
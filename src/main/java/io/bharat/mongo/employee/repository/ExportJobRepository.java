@@ -0,0 +1,8 @@
+package io.bharat.mongo.employee.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import io.bharat.mongo.employee.model.ExportJob;
+
+public interface ExportJobRepository extends MongoRepository<ExportJob, String> {
+}
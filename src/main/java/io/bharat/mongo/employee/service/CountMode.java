@@ -0,0 +1,15 @@
+package io.bharat.mongo.employee.service;
+
+import java.util.Locale;
+
+/**
+ * How a listing total is computed. {@code EXACT} always counts matching documents; {@code APPROXIMATE} uses collection
+ * metadata when unfiltered and a briefly cached count otherwise.
+ */
+public enum CountMode {
+	EXACT, APPROXIMATE;
+
+	public static CountMode fromParameter(String value) {
+		return valueOf(value.trim().toUpperCase(Locale.ROOT));
+	}
+}
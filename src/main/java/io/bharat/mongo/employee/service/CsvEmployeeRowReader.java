@@ -0,0 +1,169 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import io.bharat.mongo.employee.dto.EmployeeRequest;
+
+/**
+ * RFC 4180 style CSV reader. The first record is a header naming the {@link EmployeeRequest} fields in any order;
+ * unknown columns are ignored.
+ */
+class CsvEmployeeRowReader implements EmployeeRowReader {
+
+	private static final List<String> COLUMNS = List.of(
+			"firstName", "lastName", "email", "department", "jobTitle", "salary", "dateOfJoining");
+
+	private final Reader reader;
+	private final StringBuilder field = new StringBuilder();
+	private final List<String> record = new ArrayList<>(COLUMNS.size());
+	private int[] columnIndexes;
+	private long rowNumber;
+	private boolean endOfStream;
+
+	CsvEmployeeRowReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public EmployeeRow next() throws IOException {
+		if (columnIndexes == null) {
+			readHeader();
+		}
+		while (readRecord()) {
+			if (record.size() == 1 && record.get(0).isEmpty()) {
+				continue;
+			}
+			rowNumber++;
+			return toRow();
+		}
+		return null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private void readHeader() throws IOException {
+		if (!readRecord()) {
+			throw new IOException("CSV input is empty; expected a header row");
+		}
+		columnIndexes = new int[COLUMNS.size()];
+		Arrays.fill(columnIndexes, -1);
+		for (int i = 0; i < record.size(); i++) {
+			String name = record.get(i).trim().toLowerCase(Locale.ROOT);
+			for (int c = 0; c < COLUMNS.size(); c++) {
+				if (COLUMNS.get(c).toLowerCase(Locale.ROOT).equals(name)) {
+					columnIndexes[c] = i;
+				}
+			}
+		}
+		List<String> missing = new ArrayList<>();
+		for (int c = 0; c < COLUMNS.size(); c++) {
+			if (columnIndexes[c] < 0) {
+				missing.add(COLUMNS.get(c));
+			}
+		}
+		if (!missing.isEmpty()) {
+			throw new IOException("CSV header is missing columns: " + String.join(", ", missing));
+		}
+	}
+
+	private EmployeeRow toRow() {
+		Map<String, String> errors = new LinkedHashMap<>();
+		BigDecimal salary = null;
+		String rawSalary = column(5);
+		if (rawSalary != null) {
+			try {
+				salary = new BigDecimal(rawSalary);
+			} catch (NumberFormatException ex) {
+				errors.put("salary", "salary must be a number");
+			}
+		}
+		LocalDate dateOfJoining = null;
+		String rawDate = column(6);
+		if (rawDate != null) {
+			try {
+				dateOfJoining = LocalDate.parse(rawDate);
+			} catch (DateTimeParseException ex) {
+				errors.put("dateOfJoining", "dateOfJoining must be an ISO date (yyyy-MM-dd)");
+			}
+		}
+		EmployeeRequest request = new EmployeeRequest(column(0), column(1), column(2), column(3), column(4),
+				salary, dateOfJoining);
+		return new EmployeeRow(rowNumber, request, errors);
+	}
+
+	private String column(int column) {
+		int index = columnIndexes[column];
+		if (index >= record.size()) {
+			return null;
+		}
+		String value = record.get(index).trim();
+		return value.isEmpty() ? null : value;
+	}
+
+	/**
+	 * Reads the next record into {@link #record}. Quoted fields may contain separators, escaped quotes and line breaks.
+	 */
+	private boolean readRecord() throws IOException {
+		record.clear();
+		if (endOfStream) {
+			return false;
+		}
+		field.setLength(0);
+		int length = 0;
+		boolean quoted = false;
+		boolean any = false;
+		int c;
+		while ((c = reader.read()) != -1) {
+			any = true;
+			if (++length > MAX_ROW_CHARS) {
+				throw new IOException("Row " + (rowNumber + 1) + " exceeds " + MAX_ROW_CHARS + " characters");
+			}
+			if (quoted) {
+				if (c == '"') {
+					reader.mark(1);
+					int nextChar = reader.read();
+					if (nextChar == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						if (nextChar != -1) {
+							reader.reset();
+						}
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				record.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\n') {
+				break;
+			} else if (c != '\r') {
+				field.append((char) c);
+			}
+		}
+		if (c == -1) {
+			endOfStream = true;
+			if (!any) {
+				return false;
+			}
+		}
+		record.add(field.toString());
+		return true;
+	}
+}
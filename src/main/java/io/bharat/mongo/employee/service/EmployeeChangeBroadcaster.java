@@ -0,0 +1,225 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.bharat.mongo.employee.dto.EmployeeChangeNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pushes {@link EmployeeChangedEvent}s to Server-Sent Events subscribers, so dashboards can react to writes instead
+ * of polling the listing.
+ * <p>
+ * Publishing never blocks on a client. Each subscriber has its own queue of {@code employee.events.client-buffer}
+ * frames, drained by a virtual thread. A subscriber whose queue overflows is disconnected and can resume from its
+ * last event id. The last {@code employee.events.replay-size} events are kept for that; a client that is further
+ * behind, or whose id comes from another instance or an earlier run, gets a {@code reset} event and should reload.
+ * Idle connections get a comment frame every {@code employee.events.heartbeat} so proxies keep them open.
+ */
+@Service
+public class EmployeeChangeBroadcaster implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeChangeBroadcaster.class);
+	private static final Frame HEARTBEAT = new Frame(null, null, null);
+
+	/** Prefix of every event id, so ids from another instance or an earlier run are recognized. */
+	private final String streamId = UUID.randomUUID().toString().substring(0, 8);
+	private final int replaySize;
+	private final int clientBuffer;
+	private final Duration timeout;
+	private final ArrayDeque<Frame> replay;
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+	private final Counter slowConsumers;
+	private long sequence;
+
+	public EmployeeChangeBroadcaster(@Value("${employee.events.replay-size:1000}") int replaySize,
+			@Value("${employee.events.client-buffer:256}") int clientBuffer,
+			@Value("${employee.events.timeout:30m}") Duration timeout,
+			MeterRegistry meterRegistry) {
+		this.replaySize = replaySize;
+		this.clientBuffer = clientBuffer;
+		this.timeout = timeout;
+		this.replay = new ArrayDeque<>(replaySize);
+		Gauge.builder("employee.events.subscribers", subscribers, Set::size)
+				.description("Open employee change streams")
+				.register(meterRegistry);
+		this.slowConsumers = Counter.builder("employee.events.disconnects")
+				.description("Change stream subscribers dropped because their buffer overflowed")
+				.tag("reason", "slow-consumer")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Opens a stream. With {@code lastEventId}, events after it are replayed first when they are still retained.
+	 */
+	public SseEmitter subscribe(String lastEventId) {
+		SseEmitter emitter = new SseEmitter(timeout.toMillis());
+		Subscriber subscriber = new Subscriber(emitter);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(ex -> subscribers.remove(subscriber));
+		synchronized (this) {
+			if (lastEventId != null) {
+				List<Frame> missed = missedSince(lastEventId);
+				if (missed == null || missed.size() >= clientBuffer) {
+					log.debug("Change stream cannot resume lastEventId={}", lastEventId);
+					subscriber.offer(new Frame(null, "reset", "resume window exceeded, reload"));
+				} else {
+					missed.forEach(subscriber::offer);
+				}
+			}
+			subscribers.add(subscriber);
+		}
+		log.debug("Change stream opened subscribers={}", subscribers.size());
+		return emitter;
+	}
+
+	@EventListener
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		EmployeeChangeNotification notification = new EmployeeChangeNotification(event.type(), event.employeeId(),
+				Instant.now());
+		synchronized (this) {
+			Frame frame = new Frame(streamId + ":" + ++sequence, event.type().name().toLowerCase(Locale.ROOT),
+					notification);
+			if (replay.size() == replaySize) {
+				replay.removeFirst();
+			}
+			replay.addLast(frame);
+			subscribers.forEach(subscriber -> subscriber.offer(frame));
+		}
+	}
+
+	@Scheduled(initialDelayString = "${employee.events.heartbeat:15s}",
+			fixedDelayString = "${employee.events.heartbeat:15s}")
+	public void sendHeartbeats() {
+		subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+	}
+
+	public int subscriberCount() {
+		return subscribers.size();
+	}
+
+	@Override
+	public void destroy() {
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+		senders.shutdownNow();
+	}
+
+	/**
+	 * Retained frames after {@code lastEventId}, or {@code null} when they are no longer all retained.
+	 */
+	private List<Frame> missedSince(String lastEventId) {
+		int separator = lastEventId.indexOf(':');
+		if (separator < 0 || !lastEventId.substring(0, separator).equals(streamId)) {
+			return null;
+		}
+		long last;
+		try {
+			last = Long.parseLong(lastEventId.substring(separator + 1));
+		} catch (NumberFormatException ex) {
+			return null;
+		}
+		long oldestRetained = sequence - replay.size() + 1;
+		if (last > sequence || last + 1 < oldestRetained) {
+			return null;
+		}
+		List<Frame> missed = new ArrayList<>((int) (sequence - last));
+		long frameSequence = oldestRetained;
+		for (Frame frame : replay) {
+			if (frameSequence++ > last) {
+				missed.add(frame);
+			}
+		}
+		return missed;
+	}
+
+	/**
+	 * @param id {@code null} for frames that are not resumable: heartbeats and resets
+	 * @param name {@code null} for a heartbeat comment
+	 */
+	private record Frame(String id, String name, Object data) {
+
+		SseEmitter.SseEventBuilder toEvent() {
+			if (name == null) {
+				return SseEmitter.event().comment("heartbeat");
+			}
+			SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data);
+			return id == null ? event : event.id(id);
+		}
+	}
+
+	private final class Subscriber {
+
+		private final SseEmitter emitter;
+		private final BlockingQueue<Frame> queue = new ArrayBlockingQueue<>(clientBuffer);
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private volatile boolean closed;
+
+		Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		void offer(Frame frame) {
+			if (closed) {
+				return;
+			}
+			if (!queue.offer(frame)) {
+				slowConsumers.increment();
+				log.info("Disconnecting slow change stream subscriber buffered={}", queue.size());
+				close();
+				// complete() waits for a send that may be stuck on the socket, so not on the publishing thread
+				senders.execute(emitter::complete);
+				return;
+			}
+			if (draining.compareAndSet(false, true)) {
+				senders.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+			do {
+				Frame frame;
+				while (!closed && (frame = queue.poll()) != null) {
+					try {
+						emitter.send(frame.toEvent());
+					} catch (IOException | IllegalStateException ex) {
+						log.debug("Change stream subscriber gone: {}", ex.getMessage());
+						close();
+					}
+				}
+				draining.set(false);
+			} while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
+		}
+
+		private void close() {
+			closed = true;
+			subscribers.remove(this);
+			queue.clear();
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package io.bharat.mongo.employee.service;
+
+/**
+ * Published after employees are written so derived state (counts, caches) can be refreshed.
+ *
+ * @param employeeId the changed employee, or {@code null} for bulk writes
+ */
+public record EmployeeChangedEvent(ChangeType type, String employeeId) {
+
+	public enum ChangeType {
+		CREATED, UPDATED, DELETED, IMPORTED
+	}
+
+	public static EmployeeChangedEvent created(String employeeId) {
+		return new EmployeeChangedEvent(ChangeType.CREATED, employeeId);
+	}
+
+	public static EmployeeChangedEvent updated(String employeeId) {
+		return new EmployeeChangedEvent(ChangeType.UPDATED, employeeId);
+	}
+
+	public static EmployeeChangedEvent bulkUpdated() {
+		return new EmployeeChangedEvent(ChangeType.UPDATED, null);
+	}
+
+	public static EmployeeChangedEvent deleted(String employeeId) {
+		return new EmployeeChangedEvent(ChangeType.DELETED, employeeId);
+	}
+
+	public static EmployeeChangedEvent imported() {
+		return new EmployeeChangedEvent(ChangeType.IMPORTED, null);
+	}
+}
@@ -0,0 +1,112 @@
+package io.bharat.mongo.employee.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.bharat.mongo.employee.dto.EmployeeChangesResponse;
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.exception.ChangesCursorExpiredException;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+
+/**
+ * Delta sync: employees modified and deleted since a cursor, read from the {@code lastModifiedAt} and tombstone
+ * indexes, so a sync costs as much as the churn since the last one.
+ * <p>
+ * A cursor is the {@code lastModifiedAt} (or {@code deletedAt}) and id of the last change returned, as
+ * {@code <epochMillis>_<id>}. Changes younger than {@code employee.changes.settle-window} are held back until the
+ * next call: timestamps come from each instance's clock, and a write stamped slightly in the past by a lagging
+ * instance must not land behind a cursor that has already moved on.
+ * <p>
+ * A call that finds no changes moves the cursor up to that settled point, with an empty id meaning every change at its
+ * time has been seen. A client polling a quiet collection therefore never holds a cursor older than its poll interval
+ * plus the settle window, and does not run into the tombstone retention.
+ */
+@Service
+public class EmployeeChangesService {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeChangesService.class);
+	private static final char CURSOR_SEPARATOR = '_';
+
+	private final EmployeeRepository repository;
+	private final Duration settleWindow;
+	private final Duration tombstoneRetention;
+
+	public EmployeeChangesService(EmployeeRepository repository,
+			@Value("${employee.changes.settle-window:5s}") Duration settleWindow,
+			@Value("${employee.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+		this.repository = repository;
+		this.settleWindow = settleWindow;
+		this.tombstoneRetention = tombstoneRetention;
+	}
+
+	/**
+	 * Without a cursor, pages through every employee; deletes before the first page are irrelevant to a client
+	 * starting from nothing.
+	 */
+	public EmployeeChangesResponse changes(String cursor, int limit) {
+		Instant now = Instant.now();
+		Instant before = now.minus(settleWindow);
+		Instant after = Instant.EPOCH;
+		String afterId = "";
+		if (cursor != null) {
+			int separator = cursor.indexOf(CURSOR_SEPARATOR);
+			after = Instant.ofEpochMilli(Long.parseLong(cursor.substring(0, separator)));
+			afterId = cursor.substring(separator + 1);
+			if (after.isBefore(now.minus(tombstoneRetention))) {
+				throw new ChangesCursorExpiredException(cursor);
+			}
+		}
+
+		List<Employee> modified = repository.findModifiedSince(after, afterId, before, limit + 1);
+		List<EmployeeTombstone> deleted = cursor == null
+				? List.of()
+				: repository.findDeletedSince(after, afterId, before, limit + 1);
+
+		// Merge the two ordered lists, keeping the first limit changes in cursor order
+		List<EmployeeResponse> upserts = new ArrayList<>();
+		List<String> deletes = new ArrayList<>();
+		String nextCursor = cursor;
+		int m = 0;
+		int d = 0;
+		while (upserts.size() + deletes.size() < limit && (m < modified.size() || d < deleted.size())) {
+			boolean takeModified = d == deleted.size() || m < modified.size()
+					&& compare(modified.get(m).getLastModifiedAt(), modified.get(m).getId(),
+							deleted.get(d).getDeletedAt(), deleted.get(d).getId()) < 0;
+			if (takeModified) {
+				Employee employee = modified.get(m++);
+				upserts.add(EmployeeMapping.toResponse(employee));
+				nextCursor = cursor(employee.getLastModifiedAt(), employee.getId());
+			} else {
+				EmployeeTombstone tombstone = deleted.get(d++);
+				deletes.add(tombstone.getId());
+				nextCursor = cursor(tombstone.getDeletedAt(), tombstone.getId());
+			}
+		}
+		boolean hasMore = m < modified.size() || d < deleted.size();
+		Instant settled = before.minusMillis(1);
+		if (upserts.isEmpty() && deletes.isEmpty() && !settled.isBefore(after)) {
+			nextCursor = cursor(settled, "");
+		}
+		log.info("Fetched employee changes cursor={} upserts={} deletes={} hasMore={}", cursor, upserts.size(),
+				deletes.size(), hasMore);
+		return new EmployeeChangesResponse(upserts, deletes, nextCursor, hasMore);
+	}
+
+	private static int compare(Instant time, String id, Instant otherTime, String otherId) {
+		int byTime = time.compareTo(otherTime);
+		return byTime != 0 ? byTime : id.compareTo(otherId);
+	}
+
+	private static String cursor(Instant time, String id) {
+		return Long.toString(time.toEpochMilli()) + CURSOR_SEPARATOR + id;
+	}
+}
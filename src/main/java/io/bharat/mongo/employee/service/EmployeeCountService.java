@@ -0,0 +1,54 @@
+package io.bharat.mongo.employee.service;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+
+/**
+ * Totals for paginated listings. Approximate totals avoid scanning: the unfiltered total comes from collection
+ * metadata and filtered totals are cached per filter for {@code employee.count.cache-ttl}, or until the next write.
+ */
+@Service
+public class EmployeeCountService {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeCountService.class);
+
+	private final EmployeeRepository repository;
+	private final Cache<EmployeeFilter, Long> filteredCounts;
+
+	public EmployeeCountService(EmployeeRepository repository,
+			@Value("${employee.count.cache-ttl:30s}") Duration cacheTtl,
+			@Value("${employee.count.cache-size:1000}") long cacheSize) {
+		this.repository = repository;
+		this.filteredCounts = Caffeine.newBuilder()
+				.expireAfterWrite(cacheTtl)
+				.maximumSize(cacheSize)
+				.build();
+	}
+
+	public long count(EmployeeFilter filter, CountMode mode) {
+		if (mode == CountMode.EXACT) {
+			return repository.countByFilter(filter);
+		}
+		if (filter.isEmpty()) {
+			return repository.estimatedCount();
+		}
+		return filteredCounts.get(filter, repository::countByFilter);
+	}
+
+	@EventListener
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		log.debug("Invalidating cached employee counts after {}", event.type());
+		filteredCounts.invalidateAll();
+	}
+}
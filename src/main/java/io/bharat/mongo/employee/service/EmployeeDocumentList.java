@@ -0,0 +1,47 @@
+package io.bharat.mongo.employee.service;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.bson.RawBsonDocument;
+
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import tools.jackson.core.JsonGenerator;
+
+/**
+ * Employees as fetched, still in their stored BSON. JSON responses are written straight from the documents by
+ * {@link #writeJson}; every other consumer sees a read-only list of {@link EmployeeResponse}, decoded on access.
+ */
+public final class EmployeeDocumentList extends AbstractList<EmployeeResponse> implements RandomAccess {
+
+	private final List<RawBsonDocument> documents;
+	private final EmployeeJsonTranscoder transcoder;
+
+	public EmployeeDocumentList(List<RawBsonDocument> documents, EmployeeJsonTranscoder transcoder) {
+		this.documents = documents;
+		this.transcoder = transcoder;
+	}
+
+	/**
+	 * Writes the employees as a JSON array.
+	 */
+	public void writeJson(JsonGenerator generator) {
+		EmployeeJsonTranscoder.JsonOutput output = transcoder.jsonOutput(generator);
+		generator.writeStartArray();
+		for (RawBsonDocument document : documents) {
+			output.write(document);
+		}
+		generator.writeEndArray();
+	}
+
+	@Override
+	public EmployeeResponse get(int index) {
+		return transcoder.toResponse(documents.get(index));
+	}
+
+	@Override
+	public int size() {
+		return documents.size();
+	}
+}
@@ -0,0 +1,255 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import com.mongodb.client.model.Filters;
+
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.dto.ExportJobResponse;
+import io.bharat.mongo.employee.dto.ExportRequest;
+import io.bharat.mongo.employee.exception.ExportNotReadyException;
+import io.bharat.mongo.employee.exception.NotFoundException;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.ExportJob;
+import io.bharat.mongo.employee.model.JobStatus;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.repository.ExportJobRepository;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Runs employee exports on a background executor. Each export streams a cursor through gzip into a GridFS file;
+ * job documents and files both expire after the configured retention.
+ */
+@Service
+public class EmployeeExportService implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeExportService.class);
+	public static final String BUCKET = "employeeExports";
+	private static final int PROGRESS_INTERVAL = 10_000;
+
+	private final EmployeeRepository employeeRepository;
+	private final ExportJobRepository jobRepository;
+	private final MongoTemplate mongoTemplate;
+	private final ObjectMapper objectMapper;
+	private final EmployeeJsonTranscoder transcoder;
+	private final ThreadPoolTaskExecutor executor;
+	private final Duration retention;
+	private final int chunkSizeBytes;
+	private volatile GridFSBucket bucket;
+
+	public EmployeeExportService(EmployeeRepository employeeRepository, ExportJobRepository jobRepository,
+			MongoTemplate mongoTemplate, ObjectMapper objectMapper, EmployeeJsonTranscoder transcoder,
+			@Value("${employee.export.workers:2}") int workers,
+			@Value("${employee.export.queue-capacity:20}") int queueCapacity,
+			@Value("${employee.export.retention:24h}") Duration retention,
+			@Value("${employee.export.chunk-size-bytes:261120}") int chunkSizeBytes) {
+		this.employeeRepository = employeeRepository;
+		this.jobRepository = jobRepository;
+		this.mongoTemplate = mongoTemplate;
+		this.objectMapper = objectMapper;
+		this.transcoder = transcoder;
+		this.executor = newExecutor(workers, queueCapacity);
+		this.retention = retention;
+		this.chunkSizeBytes = chunkSizeBytes;
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	public ExportJobResponse submit(ExportRequest request) {
+		EmployeeFilter filter = request.filter();
+		ExportJob job = new ExportJob();
+		job.setStatus(JobStatus.PENDING);
+		job.setFormat(request.formatOrDefault());
+		job.setDepartment(filter.department());
+		job.setJobTitle(filter.jobTitle());
+		job.setCreatedAt(Instant.now());
+		job.setExpiresAt(job.getCreatedAt().plus(retention));
+		ExportJob saved = jobRepository.save(job);
+		log.info("Queued employee export id={} format={}", saved.getId(), saved.getFormat());
+
+		try {
+			executor.execute(() -> run(saved));
+		} catch (TaskRejectedException ex) {
+			log.warn("Export queue full, rejecting export id={}", saved.getId());
+			saved.setStatus(JobStatus.FAILED);
+			saved.setFailureReason("Export queue is full; retry later");
+			saved.setFinishedAt(Instant.now());
+			jobRepository.save(saved);
+		}
+		return toResponse(saved);
+	}
+
+	public ExportJobResponse findJob(String id) {
+		return toResponse(fetchJob(id));
+	}
+
+	public ExportFileResource download(String id) {
+		ExportJob job = fetchJob(id);
+		if (job.getStatus() != JobStatus.COMPLETED) {
+			throw new ExportNotReadyException(id, job.getStatus());
+		}
+		GridFSFile file = bucket().find(Filters.eq("_id", new ObjectId(job.getFileId()))).first();
+		if (file == null) {
+			throw new NotFoundException("Export file not found: " + id);
+		}
+		return new ExportFileResource(bucket(), file);
+	}
+
+	/**
+	 * Removes GridFS files past their expiry. Job documents are removed by the TTL index on {@code expiresAt}.
+	 */
+	@Scheduled(initialDelayString = "${employee.export.cleanup-interval:15m}",
+			fixedDelayString = "${employee.export.cleanup-interval:15m}")
+	public void deleteExpiredFiles() {
+		try {
+			int deleted = 0;
+			for (GridFSFile file : bucket().find(Filters.lt("metadata.expiresAt", new Date()))) {
+				bucket().delete(file.getId());
+				deleted++;
+			}
+			if (deleted > 0) {
+				log.info("Deleted {} expired export files", deleted);
+			}
+		} catch (RuntimeException ex) {
+			log.warn("Export cleanup failed: {}", ex.getMessage());
+		}
+	}
+
+	private void run(ExportJob job) {
+		job.setStatus(JobStatus.RUNNING);
+		jobRepository.save(job);
+
+		String filename = "employees-" + job.getId() + "." + job.getFormat().extension() + ".gz";
+		GridFSUploadOptions options = new GridFSUploadOptions()
+				.chunkSizeBytes(chunkSizeBytes)
+				.metadata(new Document("jobId", job.getId())
+						.append("contentType", "application/gzip")
+						.append("expiresAt", Date.from(job.getExpiresAt())));
+		GridFSUploadStream upload = bucket().openUploadStream(filename, options);
+
+		EmployeeFilter filter = new EmployeeFilter(job.getDepartment(), job.getJobTitle());
+		long rows;
+		try {
+			ExportWriter out = ExportWriter.open(job.getFormat(), new GZIPOutputStream(upload, 64 * 1024),
+					objectMapper, transcoder);
+			if (transcoder.isEnabled()) {
+				try (Stream<RawBsonDocument> employees = employeeRepository.streamDocumentsByFilter(filter,
+						transcoder.projection())) {
+					rows = writeRows(job, employees, out::write);
+				}
+			} else {
+				try (Stream<Employee> employees = employeeRepository.streamByFilter(filter)) {
+					rows = writeRows(job, employees.map(EmployeeMapping::toResponse), out::write);
+				}
+			}
+			// Closing finishes the gzip trailer and the GridFS file; on failure the upload is aborted instead.
+			out.close();
+		} catch (IOException | RuntimeException ex) {
+			log.warn("Employee export failed id={}: {}", job.getId(), ex.getMessage());
+			abortQuietly(upload);
+			job.setStatus(JobStatus.FAILED);
+			job.setFailureReason(ex.getMessage());
+			job.setFinishedAt(Instant.now());
+			jobRepository.save(job);
+			return;
+		}
+
+		job.setStatus(JobStatus.COMPLETED);
+		job.setRowsWritten(rows);
+		job.setFileId(upload.getObjectId().toHexString());
+		GridFSFile file = bucket().find(Filters.eq("_id", upload.getObjectId())).first();
+		job.setSizeBytes(file != null ? file.getLength() : null);
+		job.setFinishedAt(Instant.now());
+		jobRepository.save(job);
+		log.info("Completed employee export id={} rows={} bytes={}", job.getId(), rows, job.getSizeBytes());
+	}
+
+	private <T> long writeRows(ExportJob job, Stream<T> employees, RowWriter<T> writer) throws IOException {
+		long rows = 0;
+		var iterator = employees.iterator();
+		while (iterator.hasNext()) {
+			writer.write(iterator.next());
+			if (++rows % PROGRESS_INTERVAL == 0) {
+				job.setRowsWritten(rows);
+				jobRepository.save(job);
+			}
+		}
+		return rows;
+	}
+
+	private void abortQuietly(GridFSUploadStream upload) {
+		try {
+			upload.abort();
+		} catch (RuntimeException ex) {
+			log.debug("Unable to abort export upload: {}", ex.getMessage());
+		}
+	}
+
+	private ExportJob fetchJob(String id) {
+		return jobRepository.findById(id)
+				.orElseThrow(() -> new NotFoundException("Export job not found: " + id));
+	}
+
+	/**
+	 * Bounded pool owned by this service; submissions beyond the queue capacity are rejected rather than piling up.
+	 * Not exposed as a bean, since an {@code Executor} bean would replace Boot's application task executor.
+	 */
+	private static ThreadPoolTaskExecutor newExecutor(int workers, int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("employee-export-");
+		executor.setCorePoolSize(workers);
+		executor.setMaxPoolSize(workers);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(30);
+		executor.initialize();
+		return executor;
+	}
+
+	private GridFSBucket bucket() {
+		GridFSBucket current = bucket;
+		if (current == null) {
+			current = GridFSBuckets.create(mongoTemplate.getDb(), BUCKET);
+			bucket = current;
+		}
+		return current;
+	}
+
+	@FunctionalInterface
+	private interface RowWriter<T> {
+
+		void write(T row) throws IOException;
+	}
+
+	private ExportJobResponse toResponse(ExportJob job) {
+		return new ExportJobResponse(job.getId(), job.getStatus(), job.getFormat(), job.getDepartment(),
+				job.getJobTitle(), job.getRowsWritten(), job.getSizeBytes(), job.getCreatedAt(),
+				job.getFinishedAt(), job.getExpiresAt(), job.getFailureReason());
+	}
+}
@@ -0,0 +1,64 @@
+package io.bharat.mongo.employee.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.bharat.mongo.employee.dto.EmployeeFacetsResponse;
+import io.bharat.mongo.employee.dto.FacetCount;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+
+/**
+ * Distinct departments and job titles with their employee counts, for filter pickers. Each facet is grouped from an
+ * index declared on {@link io.bharat.mongo.employee.model.Employee} and cached for {@code employee.facets.cache-ttl},
+ * or until the next write.
+ */
+@Service
+public class EmployeeFacetService {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeFacetService.class);
+
+	private static final String DEPARTMENT = "department";
+	private static final String JOB_TITLE = "jobTitle";
+
+	private final EmployeeRepository repository;
+	private final Cache<String, List<FacetCount>> facets;
+
+	public EmployeeFacetService(EmployeeRepository repository,
+			@Value("${employee.facets.cache-ttl:10s}") Duration cacheTtl) {
+		this.repository = repository;
+		this.facets = Caffeine.newBuilder()
+				.expireAfterWrite(cacheTtl)
+				.build();
+	}
+
+	public EmployeeFacetsResponse facets() {
+		return new EmployeeFacetsResponse(facet(DEPARTMENT), facet(JOB_TITLE));
+	}
+
+	@EventListener
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		log.debug("Invalidating cached employee facets after {}", event.type());
+		facets.invalidateAll();
+	}
+
+	private List<FacetCount> facet(String property) {
+		return facets.get(property, this::load);
+	}
+
+	private List<FacetCount> load(String property) {
+		long started = System.nanoTime();
+		List<FacetCount> counts = repository.countByValue(property);
+		log.debug("Computed employee facet property={} values={} tookMs={}", property, counts.size(),
+				Duration.ofNanos(System.nanoTime() - started).toMillis());
+		return counts;
+	}
+}
@@ -0,0 +1,205 @@
+package io.bharat.mongo.employee.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ReadPreference;
+
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Opt-in hedged by-id reads against a replica set. The read goes to a member chosen by
+ * {@code employee.hedged-reads.read-preference}. If it has not answered within the
+ * {@code delay-percentile} of recent read latencies, the same read is sent to a member chosen by
+ * {@code hedge-read-preference}, which should exclude the first one. The first answer wins and the other read is
+ * cancelled. Cancelling interrupts the reading thread, so the driver closes that connection instead of waiting for
+ * the reply.
+ * <p>
+ * Hedges are paid from a budget of {@code budget} extra reads per read, with a burst of {@value #BURST} hedges, so a
+ * slow cluster is never sent more than that much extra load. No hedge is sent until enough reads have been seen to
+ * know the percentile.
+ */
+@Component
+public class EmployeeHedgedReads implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeHedgedReads.class);
+	private static final int WINDOW = 1024;
+	/** The delay is recomputed from the window after this many reads. */
+	private static final int RECOMPUTE_EVERY = 128;
+	private static final int BURST = 10;
+	/** Budget tokens are counted in thousandths of a hedge. */
+	private static final long TOKEN = 1000;
+
+	private final EmployeeRepository repository;
+	private final boolean enabled;
+	private final ReadPreference readPreference;
+	private final ReadPreference hedgeReadPreference;
+	private final double percentile;
+	private final long minDelayNanos;
+	private final long tokensPerRead;
+	private final AtomicLong tokens = new AtomicLong(BURST * TOKEN);
+	private final ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor();
+	private final long[] latencies = new long[WINDOW];
+	private long samples;
+	private volatile long delayNanos = Long.MAX_VALUE;
+	private final Counter notNeeded;
+	private final Counter firstWon;
+	private final Counter hedgeWon;
+	private final Counter overBudget;
+
+	public EmployeeHedgedReads(EmployeeRepository repository,
+			@Value("${employee.hedged-reads.enabled:false}") boolean enabled,
+			@Value("${employee.hedged-reads.read-preference:secondaryPreferred}") String readPreference,
+			@Value("${employee.hedged-reads.hedge-read-preference:primary}") String hedgeReadPreference,
+			@Value("${employee.hedged-reads.delay-percentile:0.95}") double percentile,
+			@Value("${employee.hedged-reads.min-delay:2ms}") Duration minDelay,
+			@Value("${employee.hedged-reads.budget:0.05}") double budget,
+			MeterRegistry meterRegistry) {
+		this.repository = repository;
+		this.enabled = enabled;
+		this.readPreference = ReadPreference.valueOf(readPreference);
+		this.hedgeReadPreference = ReadPreference.valueOf(hedgeReadPreference);
+		this.percentile = percentile;
+		this.minDelayNanos = minDelay.toNanos();
+		this.tokensPerRead = Math.round(budget * TOKEN);
+		this.notNeeded = outcome(meterRegistry, "not-needed");
+		this.firstWon = outcome(meterRegistry, "first-won");
+		this.hedgeWon = outcome(meterRegistry, "hedge-won");
+		this.overBudget = outcome(meterRegistry, "over-budget");
+		if (enabled) {
+			Gauge.builder("employee.read.hedge-delay", this, reads -> reads.hedgeDelay().toNanos() / 1e9)
+					.description("Time a by-id read may take before it is hedged")
+					.baseUnit("seconds")
+					.register(meterRegistry);
+			log.info("Hedged employee reads readPreference={} hedgeReadPreference={} percentile={} budget={}",
+					this.readPreference.getName(), this.hedgeReadPreference.getName(), percentile, budget);
+		}
+	}
+
+	private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+		return Counter.builder("employee.read.hedging")
+				.description("By-id reads by whether they were hedged and which read answered first")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Whether either read preference allows a secondary, so an answer may lag the primary.
+	 */
+	public boolean readsSecondaries() {
+		return readPreference.isSecondaryOk() || hedgeReadPreference.isSecondaryOk();
+	}
+
+	/**
+	 * The current hedging delay; effectively infinite until the first percentile is known.
+	 */
+	public Duration hedgeDelay() {
+		return Duration.ofNanos(delayNanos);
+	}
+
+	public Optional<Employee> findById(String id) {
+		CompletionService<Optional<Employee>> race = new ExecutorCompletionService<>(readers);
+		long start = System.nanoTime();
+		Future<Optional<Employee>> first = race.submit(() -> repository.findByIdFrom(id, readPreference));
+		Future<Optional<Employee>> hedge = null;
+		boolean delayed = false;
+		earnBudget();
+		try {
+			Future<Optional<Employee>> done = race.poll(delayNanos, TimeUnit.NANOSECONDS);
+			if (done == null) {
+				delayed = true;
+				if (spendBudget()) {
+					hedge = race.submit(() -> repository.findByIdFrom(id, hedgeReadPreference));
+				} else {
+					overBudget.increment();
+				}
+				done = race.take();
+			}
+			// When the hedge wins, the first read is at least this slow; recording less would understate the delay
+			record(System.nanoTime() - start);
+			Optional<Employee> result;
+			try {
+				result = done.get();
+			} catch (ExecutionException ex) {
+				if (hedge == null) {
+					throw ex;
+				}
+				// One member failing is what the hedge is for: take the other answer
+				done = race.take();
+				result = done.get();
+			}
+			if (hedge != null && done == first) {
+				firstWon.increment();
+			} else if (hedge != null) {
+				hedgeWon.increment();
+				log.debug("Hedged read won id={} after={}ms", id, (System.nanoTime() - start) / 1_000_000);
+			} else if (!delayed) {
+				notNeeded.increment();
+			}
+			return result;
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while reading employee " + id);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(ex.getCause());
+		} finally {
+			first.cancel(true);
+			if (hedge != null) {
+				hedge.cancel(true);
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		readers.shutdownNow();
+	}
+
+	private void earnBudget() {
+		tokens.getAndUpdate(current -> Math.min(BURST * TOKEN, current + tokensPerRead));
+	}
+
+	private boolean spendBudget() {
+		return tokens.getAndUpdate(current -> current >= TOKEN ? current - TOKEN : current) >= TOKEN;
+	}
+
+	private synchronized void record(long latencyNanos) {
+		latencies[(int) (samples++ % WINDOW)] = latencyNanos;
+		if (samples % RECOMPUTE_EVERY == 0) {
+			long[] sorted = Arrays.copyOf(latencies, (int) Math.min(samples, WINDOW));
+			Arrays.sort(sorted);
+			long percentileNanos = sorted[(int) Math.min(sorted.length - 1, Math.floor(percentile * sorted.length))];
+			delayNanos = Math.max(minDelayNanos, percentileNanos);
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import io.bharat.mongo.employee.dto.EmployeeRequest;
+import io.bharat.mongo.employee.dto.ImportJobResponse;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.BulkInsertResult;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streams CSV/NDJSON uploads into the employees collection in fixed-size unordered bulk inserts. Only the current
+ * chunk is held in memory, so memory use is independent of the upload size.
+ */
+@Service
+public class EmployeeImportService {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+
+	private final EmployeeRepository repository;
+	private final Validator validator;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher events;
+	private final EmployeeWriteDurability durability;
+	private final int chunkSize;
+	private final int maxReportedErrors;
+	private final int retainedJobs;
+	private final Map<String, ImportJob> jobs;
+
+	public EmployeeImportService(EmployeeRepository repository, Validator validator, ObjectMapper objectMapper,
+			ApplicationEventPublisher events, EmployeeWriteDurability durability,
+			@Value("${employee.import.chunk-size:1000}") int chunkSize,
+			@Value("${employee.import.max-reported-errors:100}") int maxReportedErrors,
+			@Value("${employee.import.retained-jobs:50}") int retainedJobs) {
+		this.repository = repository;
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.events = events;
+		this.durability = durability;
+		this.chunkSize = chunkSize;
+		this.maxReportedErrors = maxReportedErrors;
+		this.retainedJobs = retainedJobs;
+		this.jobs = new LinkedHashMap<>(16, 0.75f, false) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+				return size() > EmployeeImportService.this.retainedJobs;
+			}
+		};
+	}
+
+	/**
+	 * Imports the given stream on the calling thread. Progress is visible through {@link #findJob(String)} while
+	 * the import is running.
+	 */
+	public ImportJobResponse importEmployees(ImportFormat format, InputStream body) {
+		ImportJob job = new ImportJob(format, maxReportedErrors);
+		synchronized (jobs) {
+			jobs.put(job.id(), job);
+		}
+		log.info("Starting employee import id={} format={} chunkSize={}", job.id(), format, chunkSize);
+
+		try (EmployeeRowReader reader = format.open(body, objectMapper)) {
+			List<EmployeeRow> chunk = new ArrayList<>(chunkSize);
+			EmployeeRow row;
+			while ((row = reader.next()) != null) {
+				job.rowRead();
+				Map<String, String> errors = validate(row);
+				if (!errors.isEmpty()) {
+					job.reject(row.number(), errors);
+					continue;
+				}
+				chunk.add(row);
+				if (chunk.size() == chunkSize) {
+					flush(job, chunk);
+				}
+			}
+			flush(job, chunk);
+			job.complete();
+		} catch (IOException | RuntimeException ex) {
+			log.warn("Employee import failed id={}: {}", job.id(), ex.getMessage());
+			job.fail(ex.getMessage());
+		}
+
+		ImportJobResponse result = job.toResponse();
+		log.info("Finished employee import id={} status={} rowsRead={} inserted={} rejected={}",
+				result.id(), result.status(), result.rowsRead(), result.inserted(), result.rejected());
+		return result;
+	}
+
+	public Optional<ImportJobResponse> findJob(String id) {
+		synchronized (jobs) {
+			return Optional.ofNullable(jobs.get(id)).map(ImportJob::toResponse);
+		}
+	}
+
+	public List<ImportJobResponse> recentJobs() {
+		synchronized (jobs) {
+			return jobs.values().stream().map(ImportJob::toResponse).toList();
+		}
+	}
+
+	private Map<String, String> validate(EmployeeRow row) {
+		if (row.hasErrors()) {
+			return row.errors();
+		}
+		Map<String, String> errors = new LinkedHashMap<>();
+		for (ConstraintViolation<EmployeeRequest> violation : validator.validate(row.request())) {
+			errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+		}
+		return errors;
+	}
+
+	private void flush(ImportJob job, List<EmployeeRow> chunk) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		Set<String> emails = new HashSet<>();
+		for (EmployeeRow row : chunk) {
+			emails.add(EmployeeMapping.normalizeEmail(row.request().email()));
+		}
+		Set<String> existing = repository.findExistingEmails(emails);
+
+		Set<String> seen = new HashSet<>();
+		Instant createdAt = Instant.now();
+		List<EmployeeRow> accepted = new ArrayList<>(chunk.size());
+		List<Employee> documents = new ArrayList<>(chunk.size());
+		for (EmployeeRow row : chunk) {
+			String email = EmployeeMapping.normalizeEmail(row.request().email());
+			if (existing.contains(email) || !seen.add(email)) {
+				job.reject(row.number(), Map.of("email", "Employee email already in use: " + email));
+				continue;
+			}
+			Employee employee = new Employee();
+			EmployeeMapping.applyRequest(employee, row.request(), email);
+			// Fixed ids make a retried chunk idempotent: documents the first attempt wrote fail on _id. With an id,
+			// auditing treats the employee as existing and leaves createdAt unset
+			employee.setId(new ObjectId().toHexString());
+			employee.setCreatedAt(createdAt);
+			accepted.add(row);
+			documents.add(employee);
+		}
+
+		BulkInsertResult result = durability.execute(WriteOperation.IMPORT,
+				() -> repository.insertUnordered(documents));
+		int inserted = result.inserted();
+		Set<String> written = writtenByEarlierAttempt(documents, result);
+		for (Map.Entry<Integer, BulkInsertResult.Failure> failure : result.failures().entrySet()) {
+			if (failure.getValue().isDuplicateId() || written.contains(documents.get(failure.getKey()).getId())) {
+				inserted++;
+			} else {
+				job.reject(accepted.get(failure.getKey()).number(),
+						Map.of(failure.getValue().isDuplicateKey() ? "email" : "row", failure.getValue().message()));
+			}
+		}
+		job.inserted(inserted);
+		if (inserted > 0) {
+			events.publishEvent(EmployeeChangedEvent.imported());
+		}
+		log.debug("Flushed import chunk id={} size={} inserted={}", job.id(), chunk.size(), inserted);
+		chunk.clear();
+	}
+
+	/**
+	 * Ids of documents that failed on a duplicate key the server did not name but are already stored. Their ids were
+	 * assigned for this chunk, so only an earlier attempt of the same insert can have written them.
+	 */
+	private Set<String> writtenByEarlierAttempt(List<Employee> documents, BulkInsertResult result) {
+		List<String> ids = new ArrayList<>();
+		for (Map.Entry<Integer, BulkInsertResult.Failure> failure : result.failures().entrySet()) {
+			if (failure.getValue().isDuplicateOnUnknownKey()) {
+				ids.add(documents.get(failure.getKey()).getId());
+			}
+		}
+		return repository.findExistingIds(ids);
+	}
+}
@@ -0,0 +1,339 @@
+package io.bharat.mongo.employee.service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BsonSerializationException;
+import org.bson.ByteBuf;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeStorageLayout;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+
+/**
+ * Reads employees straight from their stored BSON, so list and export responses skip decoding each document into an
+ * {@link Employee} and copying it into an {@link EmployeeResponse}. {@link JsonOutput} walks the document bytes and
+ * writes the response JSON: keys are matched as bytes, strings are copied as UTF-8, and only salaries and dates are
+ * decoded. The output is what Jackson writes for the {@code EmployeeResponse} the entity path builds, including for
+ * documents still in the inactive storage layout and salaries not yet migrated from strings.
+ * <p>
+ * Turned off with {@code employee.pass-through.enabled=false}.
+ */
+@Component
+public class EmployeeJsonTranscoder {
+
+	private static final int ID = 0;
+	private static final int FIRST_NAME = 1;
+	private static final int LAST_NAME = 2;
+	private static final int EMAIL = 3;
+	private static final int DEPARTMENT = 4;
+	private static final int JOB_TITLE = 5;
+	private static final int SALARY = 6;
+	private static final int DATE_OF_JOINING = 7;
+	private static final int FIELDS = 8;
+
+	private static final byte DOUBLE = 0x01;
+	private static final byte STRING = 0x02;
+	private static final byte OBJECT_ID = 0x07;
+	private static final byte DATE_TIME = 0x09;
+	private static final byte NULL = 0x0A;
+	private static final byte INT32 = 0x10;
+	private static final byte INT64 = 0x12;
+	private static final byte DECIMAL128 = 0x13;
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final boolean enabled;
+	/** JSON property names, in {@link EmployeeResponse} component order. */
+	private final SerializableString[] names = new SerializableString[FIELDS];
+	/** Stored keys of both layouts and the response field each holds; keys of the active layout come first. */
+	private final byte[][] keys;
+	private final int[] keyFields;
+	private final boolean[] activeKeys;
+	private final Document projection = new Document();
+	private final ZoneId zone;
+
+	public EmployeeJsonTranscoder(MongoConverter converter, EmployeeStorageLayout layout,
+			@Value("${employee.pass-through.enabled:true}") boolean enabled) {
+		this.enabled = enabled;
+		MongoPersistentEntity<?> entity = converter.getMappingContext().getRequiredPersistentEntity(Employee.class);
+		var components = EmployeeResponse.class.getRecordComponents();
+		List<String> storedKeys = new ArrayList<>();
+		List<Integer> fields = new ArrayList<>();
+		for (int field = 0; field < FIELDS; field++) {
+			String property = components[field].getName();
+			names[field] = new SerializedString(property);
+			storedKeys.add(entity.getRequiredPersistentProperty(property).getFieldName());
+			fields.add(field);
+		}
+		int active = storedKeys.size();
+		for (Map.Entry<String, String> rename : layout.renames().entrySet()) {
+			int field = storedKeys.subList(0, active).indexOf(rename.getValue());
+			if (field >= 0) {
+				storedKeys.add(rename.getKey());
+				fields.add(field);
+			}
+		}
+		this.keys = new byte[storedKeys.size()][];
+		this.keyFields = new int[storedKeys.size()];
+		this.activeKeys = new boolean[storedKeys.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = storedKeys.get(i).getBytes(StandardCharsets.UTF_8);
+			keyFields[i] = fields.get(i);
+			activeKeys[i] = i < active;
+			projection.append(storedKeys.get(i), 1);
+		}
+		// Spring Data's java.time converters store a LocalDate as midnight in the default zone, the driver's in UTC
+		this.zone = converter.getCustomConversions().hasCustomReadTarget(Date.class, LocalDate.class)
+				? ZoneId.systemDefault()
+				: ZoneOffset.UTC;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Keys to fetch: those of every response field, in both layouts.
+	 */
+	public Document projection() {
+		return projection;
+	}
+
+	/**
+	 * Writes employees to {@code generator}, reusing its lookup state across documents. Not thread-safe.
+	 */
+	public JsonOutput jsonOutput(JsonGenerator generator) {
+		return new JsonOutput(generator);
+	}
+
+	/**
+	 * Decodes a stored employee for outputs that need the response object, such as Smile, CBOR and protobuf.
+	 */
+	public EmployeeResponse toResponse(RawBsonDocument document) {
+		Fields fields = new Fields();
+		fields.scan(document);
+		return new EmployeeResponse(fields.id(), fields.string(FIRST_NAME), fields.string(LAST_NAME),
+				fields.string(EMAIL), fields.string(DEPARTMENT), fields.string(JOB_TITLE), fields.salary(),
+				fields.dateOfJoining());
+	}
+
+	public final class JsonOutput {
+
+		private final JsonGenerator generator;
+		private final Fields fields = new Fields();
+		private final char[] chars = new char[24];
+
+		private JsonOutput(JsonGenerator generator) {
+			this.generator = generator;
+		}
+
+		public void write(RawBsonDocument document) {
+			fields.scan(document);
+			generator.writeStartObject();
+			for (int field = 0; field < FIELDS; field++) {
+				generator.writeName(names[field]);
+				int offset = fields.offsets[field];
+				if (offset < 0) {
+					generator.writeNull();
+				} else if (field == SALARY) {
+					generator.writeNumber(fields.salary());
+				} else if (field == DATE_OF_JOINING) {
+					writeDate(fields.dateOfJoining());
+				} else if (fields.types[field] == OBJECT_ID) {
+					writeObjectId(fields.bytes, offset);
+				} else if (fields.types[field] == STRING) {
+					generator.writeUTF8String(fields.bytes, offset + 4, readInt(fields.bytes, offset) - 1);
+				} else {
+					generator.writeString(fields.string(field));
+				}
+			}
+			generator.writeEndObject();
+		}
+
+		private void writeObjectId(byte[] bytes, int offset) {
+			hex(bytes, offset, chars);
+			generator.writeString(chars, 0, 24);
+		}
+
+		/** ISO {@code yyyy-MM-dd}, as Jackson writes a {@code LocalDate}. */
+		private void writeDate(LocalDate date) {
+			int year = date.getYear();
+			if (year < 0 || year > 9999) {
+				generator.writeString(date.toString());
+				return;
+			}
+			digits(year, 0, 4);
+			chars[4] = '-';
+			digits(date.getMonthValue(), 5, 2);
+			chars[7] = '-';
+			digits(date.getDayOfMonth(), 8, 2);
+			generator.writeString(chars, 0, 10);
+		}
+
+		private void digits(int value, int offset, int width) {
+			for (int i = offset + width - 1; i >= offset; i--) {
+				chars[i] = (char) ('0' + value % 10);
+				value /= 10;
+			}
+		}
+	}
+
+	/**
+	 * Where each response field's value starts in the current document, and its BSON type. A field that is absent
+	 * or null has offset -1.
+	 */
+	private final class Fields {
+
+		private final int[] offsets = new int[FIELDS];
+		private final byte[] types = new byte[FIELDS];
+		private byte[] bytes;
+
+		void scan(RawBsonDocument document) {
+			ByteBuf buffer = document.getByteBuffer();
+			bytes = buffer.array();
+			int position = buffer.arrayOffset() + buffer.position();
+			int end = position + readInt(bytes, position) - 1;
+			position += 4;
+			Arrays.fill(offsets, -1);
+			while (position < end) {
+				byte type = bytes[position++];
+				int nameStart = position;
+				while (bytes[position] != 0) {
+					position++;
+				}
+				int key = key(nameStart, position++);
+				if (key >= 0 && type != NULL && (offsets[keyFields[key]] < 0 || activeKeys[key])) {
+					offsets[keyFields[key]] = position;
+					types[keyFields[key]] = type;
+				}
+				position = skip(type, position);
+			}
+		}
+
+		private int key(int from, int to) {
+			for (int i = 0; i < keys.length; i++) {
+				if (Arrays.equals(bytes, from, to, keys[i], 0, keys[i].length)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private int skip(byte type, int position) {
+			return switch (type) {
+				case NULL, 0x06, (byte) 0xFF, 0x7F -> position;
+				case 0x08 -> position + 1;
+				case INT32 -> position + 4;
+				case DOUBLE, DATE_TIME, INT64, 0x11 -> position + 8;
+				case OBJECT_ID -> position + 12;
+				case DECIMAL128 -> position + 16;
+				case STRING, 0x0D, 0x0E -> position + 4 + readInt(bytes, position);
+				case 0x03, 0x04, 0x0F -> position + readInt(bytes, position);
+				case 0x05 -> position + 5 + readInt(bytes, position);
+				case 0x0C -> position + 16 + readInt(bytes, position);
+				case 0x0B -> {
+					int next = position;
+					for (int cstrings = 0; cstrings < 2; next++) {
+						if (bytes[next] == 0) {
+							cstrings++;
+						}
+					}
+					yield next;
+				}
+				default -> throw new BsonSerializationException("Unexpected BSON type 0x" + Integer.toHexString(type));
+			};
+		}
+
+		String id() {
+			int offset = offsets[ID];
+			if (offset >= 0 && types[ID] == OBJECT_ID) {
+				char[] chars = new char[24];
+				hex(bytes, offset, chars);
+				return new String(chars);
+			}
+			return string(ID);
+		}
+
+		String string(int field) {
+			int offset = offsets[field];
+			if (offset < 0) {
+				return null;
+			}
+			return switch (types[field]) {
+				case STRING -> new String(bytes, offset + 4, readInt(bytes, offset) - 1, StandardCharsets.UTF_8);
+				case INT32 -> Integer.toString(readInt(bytes, offset));
+				case INT64 -> Long.toString(readLong(bytes, offset));
+				default -> throw unsupported(field);
+			};
+		}
+
+		/** Decimal128 once migrated; strings and plain numbers from older writes convert as the entity path does. */
+		BigDecimal salary() {
+			int offset = offsets[SALARY];
+			if (offset < 0) {
+				return null;
+			}
+			return switch (types[SALARY]) {
+				case DECIMAL128 -> Decimal128.fromIEEE754BIDEncoding(readLong(bytes, offset + 8),
+						readLong(bytes, offset)).bigDecimalValue();
+				case STRING -> new BigDecimal(string(SALARY));
+				case DOUBLE -> new BigDecimal(Double.toString(Double.longBitsToDouble(readLong(bytes, offset))));
+				case INT32 -> BigDecimal.valueOf(readInt(bytes, offset));
+				case INT64 -> BigDecimal.valueOf(readLong(bytes, offset));
+				default -> throw unsupported(SALARY);
+			};
+		}
+
+		LocalDate dateOfJoining() {
+			int offset = offsets[DATE_OF_JOINING];
+			if (offset < 0) {
+				return null;
+			}
+			if (types[DATE_OF_JOINING] != DATE_TIME) {
+				throw unsupported(DATE_OF_JOINING);
+			}
+			return LocalDate.ofInstant(Instant.ofEpochMilli(readLong(bytes, offset)), zone);
+		}
+
+		private BsonSerializationException unsupported(int field) {
+			return new BsonSerializationException("Unexpected BSON type 0x" + Integer.toHexString(types[field])
+					+ " for " + names[field].getValue());
+		}
+	}
+
+	/** An ObjectId as 24 lower-case hex digits, as the entity path converts it to a {@code String}. */
+	private static void hex(byte[] bytes, int offset, char[] chars) {
+		for (int i = 0; i < 12; i++) {
+			chars[i * 2] = HEX[(bytes[offset + i] >> 4) & 0xF];
+			chars[i * 2 + 1] = HEX[bytes[offset + i] & 0xF];
+		}
+	}
+
+	private static int readInt(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8 | (bytes[offset + 2] & 0xFF) << 16
+				| (bytes[offset + 3] & 0xFF) << 24;
+	}
+
+	private static long readLong(byte[] bytes, int offset) {
+		return (readInt(bytes, offset) & 0xFFFFFFFFL) | (long) readInt(bytes, offset + 4) << 32;
+	}
+}
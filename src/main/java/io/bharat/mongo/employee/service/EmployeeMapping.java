@@ -0,0 +1,42 @@
+package io.bharat.mongo.employee.service;
+
+import org.springframework.util.StringUtils;
+
+import io.bharat.mongo.employee.dto.EmployeeRequest;
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.model.Employee;
+
+/**
+ * Request/entity/response conversions shared by the employee services.
+ */
+final class EmployeeMapping {
+
+	private EmployeeMapping() {
+	}
+
+	static void applyRequest(Employee employee, EmployeeRequest request, String normalizedEmail) {
+		employee.setFirstName(request.firstName());
+		employee.setLastName(request.lastName());
+		employee.setEmail(normalizedEmail);
+		employee.setDepartment(request.department());
+		employee.setJobTitle(request.jobTitle());
+		employee.setSalary(request.salary());
+		employee.setDateOfJoining(request.dateOfJoining());
+	}
+
+	static String normalizeEmail(String email) {
+		return StringUtils.hasText(email) ? email.trim().toLowerCase() : email;
+	}
+
+	static EmployeeResponse toResponse(Employee employee) {
+		return new EmployeeResponse(
+				employee.getId(),
+				employee.getFirstName(),
+				employee.getLastName(),
+				employee.getEmail(),
+				employee.getDepartment(),
+				employee.getJobTitle(),
+				employee.getSalary(),
+				employee.getDateOfJoining());
+	}
+}
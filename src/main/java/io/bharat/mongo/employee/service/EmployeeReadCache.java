@@ -0,0 +1,102 @@
+package io.bharat.mongo.employee.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Optional per-instance cache of employees by id, in front of the by-id and multi-get reads. Off by default; entries
+ * live for {@code employee.read-cache.ttl} and are dropped when the employee is updated or deleted through this
+ * instance. Only found employees are cached.
+ */
+@Component
+public class EmployeeReadCache {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeReadCache.class);
+
+	private final boolean enabled;
+	private final Cache<String, EmployeeResponse> employees;
+	/**
+	 * Bumped on every invalidation. A read only stores its result if no write happened while it ran, so a query that
+	 * raced an update cannot put the old version back.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	public EmployeeReadCache(@Value("${employee.read-cache.enabled:false}") boolean enabled,
+			@Value("${employee.read-cache.ttl:30s}") Duration ttl,
+			@Value("${employee.read-cache.size:10000}") long size,
+			MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.employees = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(enabled ? size : 0)
+				.recordStats()
+				.build();
+		if (enabled) {
+			CaffeineCacheMetrics.monitor(meterRegistry, employees, "employee.byId");
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public EmployeeResponse get(String id) {
+		return enabled ? employees.getIfPresent(id) : null;
+	}
+
+	/**
+	 * The cached employees among {@code ids}; ids that are not cached are absent from the map.
+	 */
+	public Map<String, EmployeeResponse> getAll(Collection<String> ids) {
+		return enabled ? employees.getAllPresent(ids) : Map.of();
+	}
+
+	/**
+	 * Token to pass to {@link #put} for a read that is about to query the database.
+	 */
+	public long generation() {
+		return generation.get();
+	}
+
+	public void put(EmployeeResponse employee, long readGeneration) {
+		if (!enabled || generation.get() != readGeneration) {
+			return;
+		}
+		employees.put(employee.id(), employee);
+		if (generation.get() != readGeneration) {
+			// A write landed between the check and the put
+			employees.invalidate(employee.id());
+		}
+	}
+
+	@EventListener
+	public void onEmployeeChanged(EmployeeChangedEvent event) {
+		// New employees cannot be cached yet, and imports only insert
+		if (!enabled || event.type() == EmployeeChangedEvent.ChangeType.CREATED
+				|| event.type() == EmployeeChangedEvent.ChangeType.IMPORTED) {
+			return;
+		}
+		generation.incrementAndGet();
+		if (event.employeeId() == null) {
+			log.debug("Invalidating cached employees after {}", event.type());
+			employees.invalidateAll();
+		} else {
+			employees.invalidate(event.employeeId());
+		}
+	}
+}
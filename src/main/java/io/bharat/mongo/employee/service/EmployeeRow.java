@@ -0,0 +1,15 @@
+package io.bharat.mongo.employee.service;
+
+import java.util.Map;
+
+import io.bharat.mongo.employee.dto.EmployeeRequest;
+
+/**
+ * One parsed import row. {@code errors} holds parse failures; when it is non-empty {@code request} may be partial.
+ */
+record EmployeeRow(long number, EmployeeRequest request, Map<String, String> errors) {
+
+	boolean hasErrors() {
+		return !errors.isEmpty();
+	}
+}
@@ -0,0 +1,44 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pull-based reader over an import stream. Implementations hold at most one row in memory.
+ */
+interface EmployeeRowReader extends Closeable {
+
+	int MAX_ROW_CHARS = 64 * 1024;
+
+	/**
+	 * @return the next row, or {@code null} once the stream is exhausted
+	 */
+	EmployeeRow next() throws IOException;
+
+	/**
+	 * Reads one physical line into {@code line}, failing once it grows past {@link #MAX_ROW_CHARS}.
+	 *
+	 * @return {@code false} at end of stream with nothing read
+	 */
+	static boolean readLine(Reader reader, StringBuilder line, long rowNumber) throws IOException {
+		line.setLength(0);
+		int c;
+		boolean any = false;
+		while ((c = reader.read()) != -1) {
+			any = true;
+			if (c == '\n') {
+				break;
+			}
+			if (line.length() >= MAX_ROW_CHARS) {
+				throw new IOException("Row " + rowNumber + " exceeds " + MAX_ROW_CHARS + " characters");
+			}
+			line.append((char) c);
+		}
+		int last = line.length() - 1;
+		if (last >= 0 && line.charAt(last) == '\r') {
+			line.setLength(last);
+		}
+		return any;
+	}
+}
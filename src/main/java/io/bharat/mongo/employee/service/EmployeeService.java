@@ -1,19 +1,37 @@
 package io.bharat.mongo.employee.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateResponse;
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.dto.EmployeeLookupResponse;
 import io.bharat.mongo.employee.dto.EmployeeRequest;
 import io.bharat.mongo.employee.dto.EmployeeResponse;
 import io.bharat.mongo.employee.exception.DuplicateEmailException;
 import io.bharat.mongo.employee.exception.NotFoundException;
 import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+import io.bharat.mongo.employee.repository.BulkUpdateResult;
 import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.repository.EmployeeTombstoneRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Service
 public class EmployeeService {
@@ -21,64 +39,213 @@ public class EmployeeService {
 	private static final Logger log = LoggerFactory.getLogger(EmployeeService.class);
 
 	private final EmployeeRepository repository;
+	private final EmployeeTombstoneRepository tombstones;
+	private final EmployeeWriteCoalescer writeCoalescer;
+	private final ApplicationEventPublisher events;
+	private final EmployeeReadCache readCache;
+	private final EmployeeWriteDurability durability;
+	private final EmployeeHedgedReads hedgedReads;
+	private final EmployeeJsonTranscoder transcoder;
+	private final SingleFlight<String, EmployeeResponse> byIdReads;
+	private final SingleFlight<ListQuery, List<EmployeeResponse>> listReads;
 
-	public EmployeeService(EmployeeRepository repository) {
+	public EmployeeService(EmployeeRepository repository, EmployeeTombstoneRepository tombstones,
+			EmployeeWriteCoalescer writeCoalescer, ApplicationEventPublisher events, EmployeeReadCache readCache,
+			EmployeeWriteDurability durability, EmployeeHedgedReads hedgedReads, EmployeeJsonTranscoder transcoder,
+			MeterRegistry meterRegistry) {
 		this.repository = repository;
+		this.tombstones = tombstones;
+		this.writeCoalescer = writeCoalescer;
+		this.events = events;
+		this.readCache = readCache;
+		this.durability = durability;
+		this.hedgedReads = hedgedReads;
+		this.transcoder = transcoder;
+		this.byIdReads = new SingleFlight<>("employee.byId", meterRegistry);
+		this.listReads = new SingleFlight<>("employee.list", meterRegistry);
 	}
 
 	public List<EmployeeResponse> findAll() {
-		log.info("Fetching all employees");
-		List<EmployeeResponse> employees = repository.findAll().stream()
-				.map(this::toResponse)
-				.collect(Collectors.toList());
+		return findAll(EmployeeFilter.NONE, Pageable.unpaged());
+	}
+
+	/**
+	 * Lists employees matching {@code filter}. Identical queries that arrive while one is running share its result.
+	 * With pass-through enabled the result is an {@link EmployeeDocumentList} of the stored documents, so a JSON
+	 * response is written without mapping.
+	 */
+	public List<EmployeeResponse> findAll(EmployeeFilter filter, Pageable pageable) {
+		log.info("Fetching employees filter={} page={}", filter, pageable);
+		List<EmployeeResponse> employees = listReads.execute(new ListQuery(filter, pageable), () -> {
+			if (transcoder.isEnabled()) {
+				return new EmployeeDocumentList(
+						repository.findDocumentsByFilter(filter, pageable, transcoder.projection()), transcoder);
+			}
+			List<Employee> found = filter.isEmpty() && pageable.isUnpaged()
+					? repository.findAll(pageable.getSort())
+					: repository.findByFilter(filter, pageable);
+			return found.stream().map(EmployeeMapping::toResponse).toList();
+		});
 		log.info("Fetched {} employees", employees.size());
 		return employees;
 	}
 
+	/**
+	 * Served from the read cache when enabled. Otherwise concurrent lookups of the same id share one query and its
+	 * result, hedged across replica set members when hedged reads are enabled. A hedged read that may have come from a
+	 * secondary is not cached: it can predate a write whose eviction already happened, and would then be served until
+	 * the TTL runs out.
+	 */
 	public EmployeeResponse findById(String id) {
 		log.info("Fetching employee with id={}", id);
-		return toResponse(fetchEmployee(id));
+		EmployeeResponse cached = readCache.get(id);
+		if (cached != null) {
+			return cached;
+		}
+		return byIdReads.execute(id, () -> {
+			long generation = readCache.generation();
+			boolean hedged = hedgedReads.isEnabled();
+			Employee found = hedged ? hedgedReads.findById(id).orElseThrow(() -> notFound(id)) : fetchEmployee(id);
+			EmployeeResponse employee = EmployeeMapping.toResponse(found);
+			if (!hedged || !hedgedReads.readsSecondaries()) {
+				readCache.put(employee, generation);
+			}
+			return employee;
+		});
+	}
+
+	/**
+	 * Resolves many ids at once: cached employees first, then a single {@code $in} query for the rest. Results follow
+	 * the request order with duplicates removed; ids without an employee are listed in {@code missing}.
+	 */
+	public EmployeeLookupResponse findByIds(List<String> ids) {
+		Set<String> requested = new LinkedHashSet<>();
+		ids.forEach(id -> requested.add(canonicalId(id)));
+		log.info("Fetching employees by id count={}", requested.size());
+
+		Map<String, EmployeeResponse> found = new HashMap<>(readCache.getAll(requested));
+		List<String> uncached = requested.stream().filter(id -> !found.containsKey(id)).toList();
+		if (!uncached.isEmpty()) {
+			long generation = readCache.generation();
+			for (Employee employee : repository.findAllById(uncached)) {
+				EmployeeResponse response = EmployeeMapping.toResponse(employee);
+				found.put(response.id(), response);
+				readCache.put(response, generation);
+			}
+		}
+
+		List<EmployeeResponse> employees = new ArrayList<>(found.size());
+		List<String> missing = new ArrayList<>();
+		for (String id : requested) {
+			EmployeeResponse employee = found.get(id);
+			if (employee != null) {
+				employees.add(employee);
+			} else {
+				missing.add(id);
+			}
+		}
+		log.info("Fetched employees by id found={} cached={} missing={}", employees.size(),
+				requested.size() - uncached.size(), missing.size());
+		return new EmployeeLookupResponse(employees, missing);
 	}
 
 	public EmployeeResponse create(EmployeeRequest request) {
 		log.info("Creating employee with email={}", request.email());
-		String normalizedEmail = normalizeEmail(request.email());
+		String normalizedEmail = EmployeeMapping.normalizeEmail(request.email());
 		validateEmailUniqueness(normalizedEmail, null);
 
 		Employee employee = new Employee();
-		applyRequest(employee, request, normalizedEmail);
+		EmployeeMapping.applyRequest(employee, request, normalizedEmail);
 
-		Employee saved = repository.save(employee);
+		// Coalesced inserts are written by the flusher threads, which apply the create tier themselves
+		Employee saved = writeCoalescer.isEnabled()
+				? writeCoalescer.insert(employee)
+				: save(WriteOperation.CREATE, employee);
+		listReads.forgetAll();
+		events.publishEvent(EmployeeChangedEvent.created(saved.getId()));
 		log.info("Created employee id={}", saved.getId());
-		return toResponse(saved);
+		return EmployeeMapping.toResponse(saved);
 	}
 
 	public EmployeeResponse update(String id, EmployeeRequest request) {
 		log.info("Updating employee id={}", id);
 		Employee employee = fetchEmployee(id);
-		String normalizedEmail = normalizeEmail(request.email());
+		String normalizedEmail = EmployeeMapping.normalizeEmail(request.email());
 		validateEmailUniqueness(normalizedEmail, id);
 
-		applyRequest(employee, request, normalizedEmail);
+		EmployeeMapping.applyRequest(employee, request, normalizedEmail);
 
-		Employee updated = repository.save(employee);
+		Employee updated = save(WriteOperation.UPDATE, employee);
+		byIdReads.forget(id);
+		listReads.forgetAll();
+		events.publishEvent(EmployeeChangedEvent.updated(id));
 		log.info("Updated employee id={}", updated.getId());
-		return toResponse(updated);
+		return EmployeeMapping.toResponse(updated);
+	}
+
+	/**
+	 * Applies {@code request.changes()} to every matching employee in one server-side update. A dry run only counts
+	 * the matches.
+	 */
+	public EmployeeBulkUpdateResponse bulkUpdate(EmployeeBulkUpdateRequest request) {
+		log.info("Bulk updating employees match={} changes={} dryRun={}", request.match(), request.changes(),
+				request.dryRun());
+		if (request.dryRun()) {
+			long matched = repository.countForBulkUpdate(request);
+			log.info("Bulk update dry run matched={}", matched);
+			return new EmployeeBulkUpdateResponse(true, matched, 0);
+		}
+		BulkUpdateResult result = durability.execute(WriteOperation.BULK_UPDATE,
+				() -> repository.bulkUpdate(request));
+		if (result.modified() > 0) {
+			byIdReads.forgetAll();
+			listReads.forgetAll();
+			events.publishEvent(EmployeeChangedEvent.bulkUpdated());
+		}
+		log.info("Bulk updated employees matched={} modified={}", result.matched(), result.modified());
+		return new EmployeeBulkUpdateResponse(false, result.matched(), result.modified());
 	}
 
 	public void delete(String id) {
 		log.info("Deleting employee id={}", id);
 		Employee employee = fetchEmployee(id);
-		repository.delete(employee);
+		durability.run(WriteOperation.DELETE, () -> {
+			repository.delete(employee);
+			// After the delete: a failure in between can miss a delete in the changes feed, but never invents one
+			tombstones.save(new EmployeeTombstone(id, Instant.now()));
+		});
+		byIdReads.forget(id);
+		listReads.forgetAll();
+		events.publishEvent(EmployeeChangedEvent.deleted(id));
 		log.info("Deleted employee id={}", id);
 	}
 
 	private Employee fetchEmployee(String id) {
-		return repository.findById(id)
-				.orElseThrow(() -> {
-					log.warn("Employee not found id={}", id);
-					return new NotFoundException("Employee not found: " + id);
-				});
+		return repository.findById(id).orElseThrow(() -> notFound(id));
+	}
+
+	private static NotFoundException notFound(String id) {
+		log.debug("Employee not found id={}", id);
+		return new NotFoundException("Employee not found: " + id);
+	}
+
+	/**
+	 * Ids come back from Mongo as lower-case hex, so requested ObjectId strings are matched in that form.
+	 */
+	private static String canonicalId(String id) {
+		return ObjectId.isValid(id) ? id.toLowerCase(Locale.ROOT) : id;
+	}
+
+	/**
+	 * Two writes can both pass the email check; the unique email index then rejects the second.
+	 */
+	private Employee save(WriteOperation operation, Employee employee) {
+		try {
+			return durability.execute(operation, () -> repository.save(employee));
+		} catch (DuplicateKeyException ex) {
+			log.warn("Email taken by a concurrent write email={}", employee.getEmail());
+			throw new DuplicateEmailException(employee.getEmail());
+		}
 	}
 
 	private void validateEmailUniqueness(String email, String currentId) {
@@ -92,30 +259,6 @@ public class EmployeeService {
 		}
 	}
 
-	private void applyRequest(Employee employee, EmployeeRequest request, String normalizedEmail) {
-		employee.setFirstName(request.firstName());
-		employee.setLastName(request.lastName());
-		employee.setEmail(normalizedEmail);
-		employee.setDepartment(request.department());
-		employee.setJobTitle(request.jobTitle());
-		employee.setSalary(request.salary());
-		employee.setDateOfJoining(request.dateOfJoining());
-	}
-
-	private String normalizeEmail(String email) {
-		return StringUtils.hasText(email) ? email.trim().toLowerCase() : email;
-	}
-
-	private EmployeeResponse toResponse(Employee employee) {
-		return new EmployeeResponse(
-				employee.getId(),
-				employee.getFirstName(),
-				employee.getLastName(),
-				employee.getEmail(),
-				employee.getDepartment(),
-				employee.getJobTitle(),
-				employee.getSalary(),
-				employee.getDateOfJoining());
+	private record ListQuery(EmployeeFilter filter, Pageable pageable) {
 	}
 }
-
@@ -0,0 +1,204 @@
+package io.bharat.mongo.employee.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.exception.DuplicateEmailException;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.BulkInsertResult;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Group commit for single-employee creates. Concurrent inserts are queued and flushed as one unordered bulk insert
+ * once {@code max-batch} documents are waiting or {@code window} has passed since the first one arrived, so the
+ * added latency is bounded by the window plus one round trip. Each caller still receives its own outcome.
+ */
+@Component
+public class EmployeeWriteCoalescer implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeWriteCoalescer.class);
+
+	private final EmployeeRepository repository;
+	private final EmployeeWriteDurability durability;
+	private final boolean enabled;
+	private final long windowNanos;
+	private final int maxBatch;
+	private final BlockingQueue<PendingInsert> queue;
+	private final List<Thread> flushers = new ArrayList<>();
+	private final DistributionSummary batchSizes;
+	private final Timer queueWait;
+	private volatile boolean running;
+
+	public EmployeeWriteCoalescer(EmployeeRepository repository, EmployeeWriteDurability durability,
+			MeterRegistry meterRegistry,
+			@Value("${employee.write-coalescing.enabled:false}") boolean enabled,
+			@Value("${employee.write-coalescing.window:2ms}") Duration window,
+			@Value("${employee.write-coalescing.max-batch:64}") int maxBatch,
+			@Value("${employee.write-coalescing.flushers:2}") int flusherCount,
+			@Value("${employee.write-coalescing.queue-capacity:10000}") int queueCapacity) {
+		this.repository = repository;
+		this.durability = durability;
+		this.enabled = enabled;
+		this.windowNanos = window.toNanos();
+		this.maxBatch = maxBatch;
+		this.queue = new LinkedBlockingQueue<>(queueCapacity);
+		this.batchSizes = DistributionSummary.builder("employee.create.batch.size")
+				.description("Documents per coalesced employee insert")
+				.register(meterRegistry);
+		this.queueWait = Timer.builder("employee.create.coalesce.wait")
+				.description("Time a create waited in the coalescing queue before its batch was flushed")
+				.register(meterRegistry);
+		if (enabled) {
+			running = true;
+			for (int i = 0; i < flusherCount; i++) {
+				Thread flusher = new Thread(this::flushLoop, "employee-create-flusher-" + i);
+				flusher.setDaemon(true);
+				flusher.start();
+				flushers.add(flusher);
+			}
+			log.info("Employee write coalescing enabled window={} maxBatch={} flushers={}", window, maxBatch,
+					flusherCount);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Inserts the employee as part of the next batch and waits for that batch to be written. When the queue is full
+	 * the insert runs immediately on the calling thread instead.
+	 *
+	 * @throws DuplicateEmailException if the email collides with an existing employee or another create in the batch
+	 */
+	public Employee insert(Employee employee) {
+		if (employee.getId() == null) {
+			// auditing treats the employee as existing once it has an id and leaves createdAt unset
+			employee.setId(new ObjectId().toHexString());
+			employee.setCreatedAt(Instant.now());
+		}
+		PendingInsert pending = new PendingInsert(employee, System.nanoTime());
+		if (!running || !queue.offer(pending)) {
+			flush(List.of(pending));
+		}
+		try {
+			return pending.result.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for employee insert", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		flushers.forEach(Thread::interrupt);
+		for (Thread flusher : flushers) {
+			flusher.join(TimeUnit.SECONDS.toMillis(5));
+		}
+		List<PendingInsert> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		if (!remaining.isEmpty()) {
+			flush(remaining);
+		}
+	}
+
+	private void flushLoop() {
+		List<PendingInsert> batch = new ArrayList<>(maxBatch);
+		while (running) {
+			try {
+				PendingInsert first = queue.take();
+				batch.add(first);
+				long deadline = first.enqueuedAt + windowNanos;
+				while (batch.size() < maxBatch) {
+					long remaining = deadline - System.nanoTime();
+					PendingInsert next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			if (!batch.isEmpty()) {
+				flush(batch);
+				batch.clear();
+			}
+			if (Thread.currentThread().isInterrupted() && !running) {
+				return;
+			}
+		}
+	}
+
+	private void flush(List<PendingInsert> batch) {
+		long flushStart = System.nanoTime();
+		List<PendingInsert> toWrite = new ArrayList<>(batch.size());
+		Map<String, PendingInsert> byEmail = new HashMap<>();
+		for (PendingInsert pending : batch) {
+			queueWait.record(flushStart - pending.enqueuedAt, TimeUnit.NANOSECONDS);
+			String email = pending.employee.getEmail();
+			if (email != null && byEmail.putIfAbsent(email, pending) != null) {
+				pending.result.completeExceptionally(new DuplicateEmailException(email));
+			} else {
+				toWrite.add(pending);
+			}
+		}
+		batchSizes.record(toWrite.size());
+
+		BulkInsertResult result;
+		try {
+			List<Employee> employees = toWrite.stream().map(PendingInsert::employee).toList();
+			result = durability.execute(WriteOperation.CREATE, () -> repository.insertUnordered(employees));
+		} catch (RuntimeException ex) {
+			log.warn("Coalesced employee insert failed size={}: {}", toWrite.size(), ex.getMessage());
+			toWrite.forEach(pending -> pending.result.completeExceptionally(ex));
+			return;
+		}
+
+		for (int i = 0; i < toWrite.size(); i++) {
+			PendingInsert pending = toWrite.get(i);
+			BulkInsertResult.Failure failure = result.failures().get(i);
+			if (failure == null) {
+				pending.result.complete(pending.employee);
+			} else if (failure.isDuplicateKey()) {
+				pending.result.completeExceptionally(new DuplicateEmailException(pending.employee.getEmail()));
+			} else {
+				pending.result.completeExceptionally(new DataIntegrityViolationException(failure.message()));
+			}
+		}
+		log.debug("Flushed coalesced employee inserts size={} failures={}", toWrite.size(), result.failures().size());
+	}
+
+	private record PendingInsert(Employee employee, long enqueuedAt, CompletableFuture<Employee> result) {
+
+		PendingInsert(Employee employee, long enqueuedAt) {
+			this(employee, enqueuedAt, new CompletableFuture<>());
+		}
+	}
+}
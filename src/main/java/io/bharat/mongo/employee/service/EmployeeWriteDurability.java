@@ -0,0 +1,122 @@
+package io.bharat.mongo.employee.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.config.DurabilityScope;
+import io.bharat.mongo.config.DurabilityTier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs employee writes at the durability tier configured for their {@link WriteOperation} under
+ * {@code employee.durability.*}, and times them per operation and tier as {@code employee.write}.
+ * <p>
+ * The prod connection string disables driver retries, so {@code FAST} writes, which give up failover safety for
+ * latency, are retried here instead: up to {@code employee.durability.fast-retries} times after a network or other
+ * transient error, and only for idempotent operations.
+ */
+@Component
+public class EmployeeWriteDurability {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeWriteDurability.class);
+
+	private final Map<WriteOperation, DurabilityTier> tiers = new EnumMap<>(WriteOperation.class);
+	private final int fastRetries;
+	private final Duration retryBackoff;
+	private final MeterRegistry meterRegistry;
+	private final Map<WriteOperation, Counter> retries = new EnumMap<>(WriteOperation.class);
+
+	public EmployeeWriteDurability(@Value("${employee.durability.create:majority}") String create,
+			@Value("${employee.durability.update:majority}") String update,
+			@Value("${employee.durability.delete:majority}") String delete,
+			@Value("${employee.durability.bulk-update:majority}") String bulkUpdate,
+			@Value("${employee.durability.import:fast}") String importTier,
+			@Value("${employee.durability.fast-retries:2}") int fastRetries,
+			@Value("${employee.durability.retry-backoff:50ms}") Duration retryBackoff,
+			MeterRegistry meterRegistry) {
+		tiers.put(WriteOperation.CREATE, DurabilityTier.fromProperty(create));
+		tiers.put(WriteOperation.UPDATE, DurabilityTier.fromProperty(update));
+		tiers.put(WriteOperation.DELETE, DurabilityTier.fromProperty(delete));
+		tiers.put(WriteOperation.BULK_UPDATE, DurabilityTier.fromProperty(bulkUpdate));
+		tiers.put(WriteOperation.IMPORT, DurabilityTier.fromProperty(importTier));
+		this.fastRetries = fastRetries;
+		this.retryBackoff = retryBackoff;
+		this.meterRegistry = meterRegistry;
+		for (WriteOperation operation : WriteOperation.values()) {
+			retries.put(operation, Counter.builder("employee.write.retries")
+					.description("Fast-tier writes repeated after a transient error")
+					.tag("operation", tagValue(operation))
+					.register(meterRegistry));
+		}
+		log.info("Employee write durability tiers={} fastRetries={}", tiers, fastRetries);
+	}
+
+	public DurabilityTier tierFor(WriteOperation operation) {
+		return tiers.get(operation);
+	}
+
+	public <T> T execute(WriteOperation operation, Supplier<T> write) {
+		DurabilityTier tier = tierFor(operation);
+		int attemptsLeft = tier == DurabilityTier.FAST && operation.isIdempotent() ? fastRetries : 0;
+		long start = System.nanoTime();
+		String outcome = "failure";
+		try {
+			for (int attempt = 1;; attempt++) {
+				try {
+					T result = DurabilityScope.call(tier, write);
+					outcome = "success";
+					return result;
+				} catch (TransientDataAccessException | DataAccessResourceFailureException ex) {
+					if (attemptsLeft-- == 0) {
+						throw ex;
+					}
+					log.warn("Retrying employee write operation={} attempt={} after: {}", operation, attempt,
+							ex.getMessage());
+					retries.get(operation).increment();
+					backOff(attempt, ex);
+				}
+			}
+		} finally {
+			Timer.builder("employee.write")
+					.description("Employee writes by operation and durability tier, including retries")
+					.tag("operation", tagValue(operation))
+					.tag("tier", tier.name().toLowerCase(Locale.ROOT))
+					.tag("outcome", outcome)
+					.register(meterRegistry)
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	public void run(WriteOperation operation, Runnable write) {
+		execute(operation, () -> {
+			write.run();
+			return null;
+		});
+	}
+
+	private void backOff(int attempt, RuntimeException cause) {
+		try {
+			Thread.sleep(retryBackoff.multipliedBy(attempt));
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw cause;
+		}
+	}
+
+	private static String tagValue(WriteOperation operation) {
+		return operation.name().toLowerCase(Locale.ROOT).replace('_', '-');
+	}
+}
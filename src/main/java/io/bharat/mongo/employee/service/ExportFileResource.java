@@ -0,0 +1,49 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.InputStream;
+
+import org.springframework.core.io.AbstractResource;
+
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * A GridFS file exposed as a re-readable {@link org.springframework.core.io.Resource}. Every call to
+ * {@link #getInputStream()} opens a fresh download stream, so Spring MVC can serve single and multi-part range
+ * requests; skipping within a download stream seeks by chunk instead of reading.
+ */
+public class ExportFileResource extends AbstractResource {
+
+	private final GridFSBucket bucket;
+	private final GridFSFile file;
+
+	ExportFileResource(GridFSBucket bucket, GridFSFile file) {
+		this.bucket = bucket;
+		this.file = file;
+	}
+
+	@Override
+	public InputStream getInputStream() {
+		return bucket.openDownloadStream(file.getId());
+	}
+
+	@Override
+	public long contentLength() {
+		return file.getLength();
+	}
+
+	@Override
+	public String getFilename() {
+		return file.getFilename();
+	}
+
+	@Override
+	public boolean exists() {
+		return true;
+	}
+
+	@Override
+	public String getDescription() {
+		return "GridFS export file [" + file.getFilename() + "]";
+	}
+}
@@ -0,0 +1,133 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.bson.RawBsonDocument;
+
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.model.ExportFormat;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Writes export rows in the requested format. CSV output uses the same header as the CSV import. Rows come either as
+ * stored documents or, with pass-through disabled, as mapped employees; NDJSON transcodes documents directly.
+ */
+abstract class ExportWriter {
+
+	final EmployeeJsonTranscoder transcoder;
+
+	ExportWriter(EmployeeJsonTranscoder transcoder) {
+		this.transcoder = transcoder;
+	}
+
+	abstract void write(EmployeeResponse employee) throws IOException;
+
+	void write(RawBsonDocument employee) throws IOException {
+		write(transcoder.toResponse(employee));
+	}
+
+	/**
+	 * Flushes the last rows and closes the underlying stream.
+	 */
+	abstract void close() throws IOException;
+
+	static ExportWriter open(ExportFormat format, OutputStream out, ObjectMapper objectMapper,
+			EmployeeJsonTranscoder transcoder) throws IOException {
+		return switch (format) {
+			case CSV -> new Csv(out, transcoder);
+			case NDJSON -> new Ndjson(out, objectMapper.writerFor(EmployeeResponse.class), transcoder);
+		};
+	}
+
+	private static final class Csv extends ExportWriter {
+
+		private final Writer out;
+
+		Csv(OutputStream out, EmployeeJsonTranscoder transcoder) throws IOException {
+			super(transcoder);
+			this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+			this.out.write("id,firstName,lastName,email,department,jobTitle,salary,dateOfJoining\n");
+		}
+
+		@Override
+		void write(EmployeeResponse employee) throws IOException {
+			field(employee.id());
+			out.write(',');
+			field(employee.firstName());
+			out.write(',');
+			field(employee.lastName());
+			out.write(',');
+			field(employee.email());
+			out.write(',');
+			field(employee.department());
+			out.write(',');
+			field(employee.jobTitle());
+			out.write(',');
+			field(employee.salary() != null ? employee.salary().toPlainString() : null);
+			out.write(',');
+			field(employee.dateOfJoining() != null ? employee.dateOfJoining().toString() : null);
+			out.write('\n');
+		}
+
+		@Override
+		void close() throws IOException {
+			out.close();
+		}
+
+		private void field(String value) throws IOException {
+			if (value == null) {
+				return;
+			}
+			if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+					&& value.indexOf('\r') < 0) {
+				out.write(value);
+				return;
+			}
+			out.write('"');
+			out.write(value.replace("\"", "\"\""));
+			out.write('"');
+		}
+	}
+
+	/**
+	 * One generator for the whole file, so its buffers are reused. Lines are ended explicitly; the generator's own
+	 * separator between top-level values is turned off.
+	 */
+	private static final class Ndjson extends ExportWriter {
+
+		private final ObjectWriter objectWriter;
+		private final JsonGenerator generator;
+		private final EmployeeJsonTranscoder.JsonOutput output;
+
+		Ndjson(OutputStream out, ObjectWriter objectWriter, EmployeeJsonTranscoder transcoder) {
+			super(transcoder);
+			this.objectWriter = objectWriter.withRootValueSeparator("");
+			this.generator = this.objectWriter.createGenerator(out);
+			this.output = transcoder.jsonOutput(generator);
+		}
+
+		@Override
+		void write(EmployeeResponse employee) {
+			objectWriter.writeValue(generator, employee);
+			generator.writeRaw('\n');
+		}
+
+		@Override
+		void write(RawBsonDocument employee) {
+			output.write(employee);
+			generator.writeRaw('\n');
+		}
+
+		@Override
+		void close() {
+			generator.close();
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+
+import tools.jackson.databind.ObjectMapper;
+
+public enum ImportFormat {
+
+	CSV(new MediaType("text", "csv")),
+	NDJSON(MediaType.APPLICATION_NDJSON);
+
+	private final MediaType mediaType;
+
+	ImportFormat(MediaType mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public MediaType mediaType() {
+		return mediaType;
+	}
+
+	public static ImportFormat fromContentType(String contentType) {
+		MediaType requested = MediaType.parseMediaType(contentType);
+		for (ImportFormat format : values()) {
+			if (format.mediaType.isCompatibleWith(requested)) {
+				return format;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+	}
+
+	EmployeeRowReader open(InputStream body, ObjectMapper objectMapper) {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+		return switch (this) {
+			case CSV -> new CsvEmployeeRowReader(reader);
+			case NDJSON -> new NdjsonEmployeeRowReader(reader, objectMapper);
+		};
+	}
+}
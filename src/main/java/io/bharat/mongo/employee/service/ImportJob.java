@@ -0,0 +1,80 @@
+package io.bharat.mongo.employee.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.bharat.mongo.employee.dto.ImportJobResponse;
+import io.bharat.mongo.employee.dto.ImportRowError;
+import io.bharat.mongo.employee.model.JobStatus;
+
+/**
+ * Progress of a single import. Counters are updated by the importing thread and read by status pollers.
+ */
+class ImportJob {
+
+	private final String id = UUID.randomUUID().toString();
+	private final ImportFormat format;
+	private final int maxReportedErrors;
+	private final Instant startedAt = Instant.now();
+	private final AtomicLong rowsRead = new AtomicLong();
+	private final AtomicLong inserted = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final List<ImportRowError> errors = new ArrayList<>();
+	private volatile JobStatus status = JobStatus.RUNNING;
+	private volatile Instant finishedAt;
+	private volatile String failureReason;
+
+	ImportJob(ImportFormat format, int maxReportedErrors) {
+		this.format = format;
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	String id() {
+		return id;
+	}
+
+	void rowRead() {
+		rowsRead.incrementAndGet();
+	}
+
+	void inserted(int count) {
+		inserted.addAndGet(count);
+	}
+
+	void reject(long row, Map<String, String> rowErrors) {
+		rejected.incrementAndGet();
+		synchronized (errors) {
+			if (errors.size() < maxReportedErrors) {
+				errors.add(new ImportRowError(row, rowErrors));
+			}
+		}
+	}
+
+	void complete() {
+		finishedAt = Instant.now();
+		status = JobStatus.COMPLETED;
+	}
+
+	void fail(String reason) {
+		failureReason = reason;
+		finishedAt = Instant.now();
+		status = JobStatus.FAILED;
+	}
+
+	ImportJobResponse toResponse() {
+		Instant end = finishedAt != null ? finishedAt : Instant.now();
+		long elapsedMillis = Math.max(1, Duration.between(startedAt, end).toMillis());
+		long read = rowsRead.get();
+		List<ImportRowError> reported;
+		synchronized (errors) {
+			reported = List.copyOf(errors);
+		}
+		return new ImportJobResponse(id, format.name(), status, read, inserted.get(), rejected.get(),
+				read * 1000.0 / elapsedMillis, startedAt, finishedAt, failureReason, reported);
+	}
+}
@@ -0,0 +1,49 @@
+package io.bharat.mongo.employee.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+
+import io.bharat.mongo.employee.dto.EmployeeRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Newline-delimited JSON reader: one {@link EmployeeRequest} object per line, blank lines ignored.
+ */
+class NdjsonEmployeeRowReader implements EmployeeRowReader {
+
+	private final Reader reader;
+	private final ObjectReader objectReader;
+	private final StringBuilder line = new StringBuilder();
+	private long rowNumber;
+
+	NdjsonEmployeeRowReader(Reader reader, ObjectMapper objectMapper) {
+		this.reader = reader;
+		this.objectReader = objectMapper.readerFor(EmployeeRequest.class);
+	}
+
+	@Override
+	public EmployeeRow next() throws IOException {
+		while (EmployeeRowReader.readLine(reader, line, rowNumber + 1)) {
+			String json = line.toString();
+			if (json.isBlank()) {
+				continue;
+			}
+			rowNumber++;
+			try {
+				EmployeeRequest request = objectReader.readValue(json);
+				return new EmployeeRow(rowNumber, request, Map.of());
+			} catch (JacksonException ex) {
+				return new EmployeeRow(rowNumber, null, Map.of("row", "Malformed JSON: " + ex.getOriginalMessage()));
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,108 @@
+package io.bharat.mongo.employee.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first caller runs the loader on its own thread
+ * and every caller that arrives while it is running receives the same result or exception, so values must be
+ * immutable. Keys are forgotten as soon as the call finishes; nothing is cached.
+ * <p>
+ * A follower that is interrupted stops waiting without affecting the shared call. If the leader is interrupted, the
+ * followers run the loader again instead of inheriting its failure. Each caller is counted once: as collapsed when it
+ * first joins a call in flight, otherwise as executed.
+ */
+public final class SingleFlight<K, V> {
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final Counter executions;
+	private final Counter collapsed;
+
+	public SingleFlight(String name, MeterRegistry meterRegistry) {
+		this.executions = Counter.builder("singleflight.calls")
+				.description("Calls that ran the loader or joined an identical call already in flight")
+				.tag("name", name)
+				.tag("result", "executed")
+				.register(meterRegistry);
+		this.collapsed = Counter.builder("singleflight.calls")
+				.description("Calls that ran the loader or joined an identical call already in flight")
+				.tag("name", name)
+				.tag("result", "collapsed")
+				.register(meterRegistry);
+	}
+
+	public V execute(K key, Supplier<V> loader) {
+		boolean joined = false;
+		while (true) {
+			CompletableFuture<V> call = new CompletableFuture<>();
+			CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+			if (existing == null) {
+				if (!joined) {
+					executions.increment();
+				}
+				return lead(key, call, loader);
+			}
+			if (!joined) {
+				collapsed.increment();
+				joined = true;
+			}
+			try {
+				return await(existing);
+			} catch (CancellationException ex) {
+				// the leader gave up; try again, possibly becoming the leader
+			}
+		}
+	}
+
+	/**
+	 * Detaches the call in flight for {@code key}, if any, so later callers start a fresh execution. Used after writes
+	 * so a read that began before the write cannot be handed to a caller that arrives after it.
+	 */
+	public void forget(K key) {
+		inFlight.remove(key);
+	}
+
+	public void forgetAll() {
+		inFlight.clear();
+	}
+
+	private V lead(K key, CompletableFuture<V> call, Supplier<V> loader) {
+		try {
+			V value = loader.get();
+			inFlight.remove(key, call);
+			call.complete(value);
+			return value;
+		} catch (RuntimeException | Error ex) {
+			inFlight.remove(key, call);
+			if (Thread.currentThread().isInterrupted()) {
+				call.cancel(false);
+			} else {
+				call.completeExceptionally(ex);
+			}
+			throw ex;
+		}
+	}
+
+	private V await(CompletableFuture<V> call) {
+		try {
+			return call.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a shared read", ex);
+		} catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+}
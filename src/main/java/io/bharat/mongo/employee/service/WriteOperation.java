@@ -0,0 +1,25 @@
+package io.bharat.mongo.employee.service;
+
+/**
+ * The kinds of employee writes, each mapped to a {@link io.bharat.mongo.config.DurabilityTier} by
+ * {@link EmployeeWriteDurability}. Idempotent writes can be retried after a network error without changing the
+ * result: updates replace the whole document by id, deletes are by id, and imports assign ids before inserting, so a
+ * repeated insert only reports the documents the first attempt wrote.
+ */
+public enum WriteOperation {
+	CREATE(false),
+	UPDATE(true),
+	DELETE(true),
+	BULK_UPDATE(false),
+	IMPORT(true);
+
+	private final boolean idempotent;
+
+	WriteOperation(boolean idempotent) {
+		this.idempotent = idempotent;
+	}
+
+	public boolean isIdempotent() {
+		return idempotent;
+	}
+}
@@ -0,0 +1,254 @@
+package io.bharat.mongo.index;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings the database in line with the indexes declared by {@code @Indexed} and {@code @CompoundIndex} on the
+ * {@code @Document} classes. Runs once the application is ready, on a background thread, so startup never waits
+ * for an index build. Indexes are matched by their keys, in order, whatever their name.
+ * <ul>
+ * <li>A missing index is built. The server builds it without blocking reads and writes.</li>
+ * <li>An index with the declared keys but different options (unique, sparse, TTL, partial filter) is drift. It is
+ * only reported, since rebuilding an index is a deliberate operation.</li>
+ * <li>An index that is not declared is reported too, so it can be declared or dropped.</li>
+ * </ul>
+ * The outcome of the last run is kept for {@code /actuator/indexes}.
+ */
+@Component
+public class IndexReconciler implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(IndexReconciler.class);
+	/** Options that change what an index enforces or holds; anything else (name, background) is ignored. */
+	private static final List<String> COMPARED_OPTIONS = List.of("unique", "sparse", "expireAfterSeconds",
+			"partialFilterExpression");
+
+	private final MongoTemplate mongoTemplate;
+	private final boolean enabled;
+	private final boolean createMissing;
+	private final ThreadPoolTaskExecutor executor;
+	private volatile List<IndexStatus> statuses = List.of();
+
+	public IndexReconciler(MongoTemplate mongoTemplate,
+			@Value("${mongo.indexes.reconcile:true}") boolean enabled,
+			@Value("${mongo.indexes.create-missing:true}") boolean createMissing) {
+		this.mongoTemplate = mongoTemplate;
+		this.enabled = enabled;
+		this.createMissing = createMissing;
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setThreadNamePrefix("index-");
+		this.executor.setCorePoolSize(1);
+		this.executor.setMaxPoolSize(1);
+		this.executor.initialize();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled) {
+			log.info("Index reconciliation disabled");
+			return;
+		}
+		executor.execute(() -> {
+			try {
+				reconcile();
+			} catch (RuntimeException ex) {
+				log.warn("Index reconciliation failed: {}", ex.getMessage());
+			}
+		});
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	/**
+	 * The outcome of the last reconciliation, one entry per declared or existing index.
+	 */
+	public List<IndexStatus> statuses() {
+		return statuses;
+	}
+
+	/**
+	 * Collections that have declared indexes.
+	 */
+	public List<String> collections() {
+		return declaredIndexes().stream().map(DeclaredIndex::collection).distinct().toList();
+	}
+
+	/**
+	 * Compares every declared index with the database and builds the missing ones.
+	 */
+	public List<IndexStatus> reconcile() {
+		Map<String, List<DeclaredIndex>> byCollection = new LinkedHashMap<>();
+		declaredIndexes().forEach(index -> byCollection.computeIfAbsent(index.collection(), c -> new ArrayList<>())
+				.add(index));
+
+		List<IndexStatus> results = new ArrayList<>();
+		byCollection.forEach((collection, declared) -> results.addAll(reconcile(collection, declared)));
+		statuses = List.copyOf(results);
+		long changed = results.stream().filter(status -> status.state() != IndexStatus.State.PRESENT).count();
+		log.info("Reconciled indexes collections={} indexes={} notPresentAsDeclared={}", byCollection.size(),
+				results.size(), changed);
+		return statuses;
+	}
+
+	private List<IndexStatus> reconcile(String collection, List<DeclaredIndex> declared) {
+		List<Document> existing = mongoTemplate.getCollection(collection).listIndexes().into(new ArrayList<>());
+		List<IndexStatus> results = new ArrayList<>();
+		for (DeclaredIndex index : declared) {
+			Document match = existing.stream()
+					.filter(candidate -> sameKeys(candidate.get("key", Document.class), index.keys()))
+					.findFirst()
+					.orElse(null);
+			if (match != null) {
+				existing.remove(match);
+				String drift = drift(index.options(), match);
+				if (drift.isEmpty()) {
+					results.add(new IndexStatus(collection, match.getString("name"), index.keys(),
+							IndexStatus.State.PRESENT, null));
+				} else {
+					log.warn("Index drift collection={} index={} {}", collection, match.getString("name"), drift);
+					results.add(new IndexStatus(collection, match.getString("name"), index.keys(),
+							IndexStatus.State.DRIFTED, drift));
+				}
+			} else {
+				results.add(create(index));
+			}
+		}
+		for (Document undeclared : existing) {
+			if (!"_id_".equals(undeclared.getString("name"))) {
+				log.warn("Undeclared index collection={} index={} keys={}", collection,
+						undeclared.getString("name"), undeclared.get("key", Document.class).toJson());
+				results.add(new IndexStatus(collection, undeclared.getString("name"),
+						undeclared.get("key", Document.class), IndexStatus.State.UNDECLARED, null));
+			}
+		}
+		return results;
+	}
+
+	private IndexStatus create(DeclaredIndex index) {
+		if (!createMissing) {
+			log.warn("Missing index collection={} index={} keys={}", index.collection(), index.name(),
+					index.keys().toJson());
+			return new IndexStatus(index.collection(), index.name(), index.keys(), IndexStatus.State.MISSING, null);
+		}
+		long started = System.nanoTime();
+		try {
+			mongoTemplate.indexOps(index.collection()).createIndex(index);
+			log.info("Built index collection={} index={} keys={} tookMs={}", index.collection(), index.name(),
+					index.keys().toJson(), (System.nanoTime() - started) / 1_000_000);
+			return new IndexStatus(index.collection(), index.name(), index.keys(), IndexStatus.State.CREATED, null);
+		} catch (RuntimeException ex) {
+			// e.g. duplicate values under a unique index; the data has to be fixed first
+			log.warn("Index build failed collection={} index={}: {}", index.collection(), index.name(),
+					ex.getMessage());
+			return new IndexStatus(index.collection(), index.name(), index.keys(), IndexStatus.State.FAILED,
+					ex.getMessage());
+		}
+	}
+
+	/**
+	 * Declared indexes of every {@code @Document} class, with property names mapped to field names. Compound index
+	 * definitions name properties, which the resolver leaves as they are.
+	 */
+	List<DeclaredIndex> declaredIndexes() {
+		MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+		MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+		QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+		List<DeclaredIndex> declared = new ArrayList<>();
+		for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+			if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+				continue;
+			}
+			for (IndexDefinitionHolder holder : resolver.resolveIndexForEntity(entity)) {
+				declared.add(new DeclaredIndex(holder.getCollection(),
+						mapper.getMappedSort(holder.getIndexKeys(), entity), holder.getIndexOptions()));
+			}
+		}
+		return declared;
+	}
+
+	private static boolean sameKeys(Document actual, Document declared) {
+		if (actual == null || actual.size() != declared.size()) {
+			return false;
+		}
+		List<Map.Entry<String, Object>> actualKeys = new ArrayList<>(actual.entrySet());
+		List<Map.Entry<String, Object>> declaredKeys = new ArrayList<>(declared.entrySet());
+		for (int i = 0; i < actualKeys.size(); i++) {
+			if (!actualKeys.get(i).getKey().equals(declaredKeys.get(i).getKey())
+					|| !Objects.equals(normalize(actualKeys.get(i).getValue()),
+							normalize(declaredKeys.get(i).getValue()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Describes how the existing index's options differ from the declared ones, or returns an empty string.
+	 */
+	static String drift(Document declared, Document actual) {
+		StringBuilder drift = new StringBuilder();
+		for (String option : COMPARED_OPTIONS) {
+			Object declaredValue = normalize(declared.get(option));
+			Object actualValue = normalize(actual.get(option));
+			if (!Objects.equals(declaredValue, actualValue)) {
+				if (!drift.isEmpty()) {
+					drift.append(' ');
+				}
+				drift.append(option).append(": declared=").append(declaredValue).append(" actual=")
+						.append(actualValue);
+			}
+		}
+		return drift.toString();
+	}
+
+	/** Servers report numbers as int, long or double, and leave out options that are false. */
+	private static Object normalize(Object value) {
+		if (value instanceof Number number) {
+			return number.longValue();
+		}
+		if (Boolean.FALSE.equals(value)) {
+			return null;
+		}
+		return value;
+	}
+
+	record DeclaredIndex(String collection, Document keys, Document options) implements IndexDefinition {
+
+		String name() {
+			return options.getString("name");
+		}
+
+		@Override
+		public Document getIndexKeys() {
+			return keys;
+		}
+
+		@Override
+		public Document getIndexOptions() {
+			return options;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package io.bharat.mongo.index;
+
+import org.bson.Document;
+
+/**
+ * How one index compares with its declaration, as of the last {@link IndexReconciler} run.
+ *
+ * @param detail the option drift or the build error, when there is one
+ */
+public record IndexStatus(String collection, String name, Document keys, State state, String detail) {
+
+	public enum State {
+		/** Exists as declared. */
+		PRESENT,
+		/** Was missing and has been built. */
+		CREATED,
+		/** Is missing and building is turned off. */
+		MISSING,
+		/** Was missing and could not be built. */
+		FAILED,
+		/** Exists with the declared keys but different options. */
+		DRIFTED,
+		/** Exists but is not declared. */
+		UNDECLARED
+	}
+}
@@ -0,0 +1,84 @@
+package io.bharat.mongo.index;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index usage from {@code $indexStats} and index sizes from {@code $collStats}, with each index's state from the
+ * last {@link IndexReconciler} run. An index whose {@code ops} stays at zero over a representative period can be
+ * dropped. A declared index that is {@code MISSING} or {@code FAILED} shows up here before production traffic finds
+ * it. {@code /actuator/indexes} reports every collection with declared indexes, {@code /actuator/indexes/{name}}
+ * one collection.
+ * <p>
+ * Usage counters are kept per server and reset when it restarts; {@code since} tells from when they count.
+ */
+@Component
+@Endpoint(id = "indexes")
+public class IndexUsageEndpoint {
+
+	private final MongoTemplate mongoTemplate;
+	private final IndexReconciler reconciler;
+
+	public IndexUsageEndpoint(MongoTemplate mongoTemplate, IndexReconciler reconciler) {
+		this.mongoTemplate = mongoTemplate;
+		this.reconciler = reconciler;
+	}
+
+	@ReadOperation
+	public Map<String, Object> indexes() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		for (String collection : reconciler.collections()) {
+			report.put(collection, collection(collection));
+		}
+		return report;
+	}
+
+	@ReadOperation
+	public List<Map<String, Object>> collection(@Selector String name) {
+		Map<String, IndexStatus> statuses = new LinkedHashMap<>();
+		reconciler.statuses().stream()
+				.filter(status -> status.collection().equals(name))
+				.forEach(status -> statuses.put(status.name(), status));
+		Document collStats = mongoTemplate.getCollection(name)
+				.aggregate(List.of(new Document("$collStats", new Document("storageStats", new Document()))))
+				.first();
+		Document sizes = collStats == null ? new Document()
+				: collStats.get("storageStats", new Document()).get("indexSizes", new Document());
+
+		List<Map<String, Object>> indexes = new ArrayList<>();
+		for (Document stats : mongoTemplate.getCollection(name)
+				.aggregate(List.of(new Document("$indexStats", new Document())))) {
+			String indexName = stats.getString("name");
+			Document accesses = stats.get("accesses", new Document());
+			IndexStatus status = statuses.remove(indexName);
+			Map<String, Object> index = new LinkedHashMap<>();
+			index.put("name", indexName);
+			index.put("key", stats.get("key"));
+			index.put("ops", accesses.get("ops"));
+			index.put("since", accesses.get("since"));
+			index.put("sizeBytes", sizes.get(indexName));
+			index.put("state", status == null ? null : status.state());
+			index.put("detail", status == null ? null : status.detail());
+			indexes.add(index);
+		}
+		// Declared indexes that do not exist yet, or failed to build
+		for (IndexStatus status : statuses.values()) {
+			Map<String, Object> index = new LinkedHashMap<>();
+			index.put("name", status.name());
+			index.put("key", status.keys());
+			index.put("state", status.state());
+			index.put("detail", status.detail());
+			indexes.add(index);
+		}
+		return indexes;
+	}
+}
@@ -0,0 +1,39 @@
+package io.bharat.mongo.migration;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * A batched, per-document data migration run in the background by {@link MigrationRunner}. Documents are visited in
+ * {@code _id} order and progress is checkpointed after every batch, so a restarted application resumes where it
+ * stopped.
+ */
+public interface Migration {
+
+	/**
+	 * Stable identifier used for the checkpoint. Changing it re-runs the migration.
+	 */
+	String id();
+
+	String collectionName();
+
+	/**
+	 * Matches documents that still need rewriting. It is also applied to every update, so a document changed by the
+	 * application since it was read is left alone if it no longer matches.
+	 */
+	Criteria pending();
+
+	/**
+	 * Builds the update for one pending document, or {@code null} to leave it as it is.
+	 */
+	Update migrate(Document document);
+
+	/**
+	 * Runs once before the first batch. Indexes are declared on the document classes instead and built by
+	 * {@link io.bharat.mongo.index.IndexReconciler}.
+	 */
+	default void prepare(MongoTemplate mongoTemplate) {
+	}
+}
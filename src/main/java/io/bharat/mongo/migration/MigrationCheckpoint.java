@@ -0,0 +1,103 @@
+package io.bharat.mongo.migration;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import io.bharat.mongo.employee.model.JobStatus;
+
+@Document(collection = "migrations")
+public class MigrationCheckpoint {
+
+	@Id
+	private String id;
+	private JobStatus status;
+	private Object lastId;
+	private long scanned;
+	private long modified;
+	private Instant startedAt;
+	private Instant updatedAt;
+	private Instant finishedAt;
+	private String failureReason;
+
+	public MigrationCheckpoint() {
+	}
+
+	public MigrationCheckpoint(String id) {
+		this.id = id;
+		this.status = JobStatus.PENDING;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public JobStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(JobStatus status) {
+		this.status = status;
+	}
+
+	public Object getLastId() {
+		return lastId;
+	}
+
+	public void setLastId(Object lastId) {
+		this.lastId = lastId;
+	}
+
+	public long getScanned() {
+		return scanned;
+	}
+
+	public void setScanned(long scanned) {
+		this.scanned = scanned;
+	}
+
+	public long getModified() {
+		return modified;
+	}
+
+	public void setModified(long modified) {
+		this.modified = modified;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(Instant startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public void setFinishedAt(Instant finishedAt) {
+		this.finishedAt = finishedAt;
+	}
+
+	public String getFailureReason() {
+		return failureReason;
+	}
+
+	public void setFailureReason(String failureReason) {
+		this.failureReason = failureReason;
+	}
+}
@@ -0,0 +1,155 @@
+package io.bharat.mongo.migration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.model.JobStatus;
+
+/**
+ * Runs every {@link Migration} bean, in order, on a single background thread once the application is ready. Each
+ * migration reads {@code migrations.batch-size} pending documents at a time, writes them as one unordered bulk update,
+ * records the last {@code _id} in the {@code migrations} collection and pauses for {@code migrations.pause} before the
+ * next batch, so the extra write load stays bounded while live traffic continues.
+ */
+@Component
+public class MigrationRunner implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(MigrationRunner.class);
+
+	private final MongoTemplate mongoTemplate;
+	private final ObjectProvider<Migration> migrations;
+	private final boolean enabled;
+	private final int batchSize;
+	private final Duration pause;
+	private final ThreadPoolTaskExecutor executor;
+
+	public MigrationRunner(MongoTemplate mongoTemplate, ObjectProvider<Migration> migrations,
+			@Value("${migrations.enabled:true}") boolean enabled,
+			@Value("${migrations.batch-size:500}") int batchSize,
+			@Value("${migrations.pause:200ms}") Duration pause) {
+		this.mongoTemplate = mongoTemplate;
+		this.migrations = migrations;
+		this.enabled = enabled;
+		this.batchSize = batchSize;
+		this.pause = pause;
+		this.executor = new ThreadPoolTaskExecutor();
+		this.executor.setThreadNamePrefix("migration-");
+		this.executor.setCorePoolSize(1);
+		this.executor.setMaxPoolSize(1);
+		this.executor.initialize();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled) {
+			log.info("Data migrations disabled");
+			return;
+		}
+		List<Migration> ordered = migrations.orderedStream().toList();
+		executor.execute(() -> ordered.forEach(this::run));
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Runs one migration to completion, resuming from its checkpoint. Returns without marking the migration complete
+	 * if the thread is interrupted, so the next start picks it up again.
+	 */
+	public void run(Migration migration) {
+		MigrationCheckpoint checkpoint = mongoTemplate.findById(migration.id(), MigrationCheckpoint.class);
+		if (checkpoint != null && checkpoint.getStatus() == JobStatus.COMPLETED) {
+			log.debug("Migration already completed id={}", migration.id());
+			return;
+		}
+		if (checkpoint == null) {
+			checkpoint = new MigrationCheckpoint(migration.id());
+			checkpoint.setStartedAt(Instant.now());
+		}
+		log.info("Starting migration id={} resumeAfter={}", migration.id(), checkpoint.getLastId());
+		checkpoint.setStatus(JobStatus.RUNNING);
+		checkpoint.setFailureReason(null);
+		save(checkpoint);
+
+		try {
+			migration.prepare(mongoTemplate);
+			while (!Thread.currentThread().isInterrupted()) {
+				List<Document> batch = mongoTemplate.find(nextBatch(migration, checkpoint.getLastId()), Document.class,
+						migration.collectionName());
+				if (batch.isEmpty()) {
+					checkpoint.setStatus(JobStatus.COMPLETED);
+					checkpoint.setFinishedAt(Instant.now());
+					save(checkpoint);
+					log.info("Completed migration id={} scanned={} modified={}", migration.id(),
+							checkpoint.getScanned(), checkpoint.getModified());
+					return;
+				}
+				checkpoint.setModified(checkpoint.getModified() + apply(migration, batch));
+				checkpoint.setScanned(checkpoint.getScanned() + batch.size());
+				checkpoint.setLastId(batch.get(batch.size() - 1).get("_id"));
+				save(checkpoint);
+				log.debug("Migration batch id={} scanned={} modified={}", migration.id(), checkpoint.getScanned(),
+						checkpoint.getModified());
+				Thread.sleep(pause.toMillis());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException ex) {
+			log.error("Migration failed id={} lastId={}", migration.id(), checkpoint.getLastId(), ex);
+			checkpoint.setStatus(JobStatus.FAILED);
+			checkpoint.setFailureReason(ex.getMessage());
+			save(checkpoint);
+			return;
+		}
+		log.info("Migration paused id={} lastId={}; it resumes on the next start", migration.id(),
+				checkpoint.getLastId());
+	}
+
+	private Query nextBatch(Migration migration, Object lastId) {
+		Criteria criteria = lastId == null
+				? migration.pending()
+				: new Criteria().andOperator(Criteria.where("_id").gt(lastId), migration.pending());
+		return new Query(criteria).with(Sort.by("_id")).limit(batchSize);
+	}
+
+	private long apply(Migration migration, List<Document> batch) {
+		BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, migration.collectionName());
+		int updates = 0;
+		for (Document document : batch) {
+			Update update = migration.migrate(document);
+			if (update != null) {
+				Criteria sameDocumentStillPending = new Criteria().andOperator(
+						Criteria.where("_id").is(document.get("_id")), migration.pending());
+				operations.updateOne(new Query(sameDocumentStillPending), update);
+				updates++;
+			}
+		}
+		return updates == 0 ? 0 : operations.execute().getModifiedCount();
+	}
+
+	private void save(MigrationCheckpoint checkpoint) {
+		checkpoint.setUpdatedAt(Instant.now());
+		mongoTemplate.save(checkpoint);
+	}
+}
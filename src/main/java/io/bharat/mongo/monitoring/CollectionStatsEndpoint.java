@@ -0,0 +1,66 @@
+package io.bharat.mongo.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+import io.bharat.mongo.employee.model.ExportJob;
+import io.bharat.mongo.employee.service.EmployeeExportService;
+
+/**
+ * Storage statistics from {@code $collStats}, for comparing document and index sizes before and after layout or type
+ * changes. {@code /actuator/collstats} reports the employees collection, {@code /actuator/collstats/{name}} one of the
+ * other collections the application owns: tombstones, export jobs and the export files. Any other name is not found.
+ */
+@Component
+@Endpoint(id = "collstats")
+public class CollectionStatsEndpoint {
+
+	private final MongoTemplate mongoTemplate;
+	private final Set<String> collections;
+
+	public CollectionStatsEndpoint(MongoTemplate mongoTemplate) {
+		this.mongoTemplate = mongoTemplate;
+		this.collections = Set.of(mongoTemplate.getCollectionName(Employee.class),
+				mongoTemplate.getCollectionName(EmployeeTombstone.class),
+				mongoTemplate.getCollectionName(ExportJob.class),
+				EmployeeExportService.BUCKET + ".files",
+				EmployeeExportService.BUCKET + ".chunks");
+	}
+
+	@ReadOperation
+	public Map<String, Object> employees() {
+		return collection(mongoTemplate.getCollectionName(Employee.class));
+	}
+
+	@ReadOperation
+	public Map<String, Object> collection(@Selector String name) {
+		if (!collections.contains(name)) {
+			return null;
+		}
+		Document result = mongoTemplate.getCollection(name)
+				.aggregate(List.of(new Document("$collStats", new Document("storageStats", new Document()))))
+				.first();
+		Document storage = result == null ? new Document() : result.get("storageStats", new Document());
+
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("collection", name);
+		stats.put("count", storage.getOrDefault("count", 0));
+		stats.put("size", storage.getOrDefault("size", 0));
+		stats.put("avgObjSize", storage.getOrDefault("avgObjSize", 0));
+		stats.put("storageSize", storage.getOrDefault("storageSize", 0));
+		stats.put("totalIndexSize", storage.getOrDefault("totalIndexSize", 0));
+		stats.put("indexSizes", storage.getOrDefault("indexSizes", new Document()));
+		return stats;
+	}
+}
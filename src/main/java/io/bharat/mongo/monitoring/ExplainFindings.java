@@ -0,0 +1,87 @@
+package io.bharat.mongo.monitoring;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+/**
+ * What an {@code executionStats} explain says about a slow command: the stages of the winning plan, whether it scans
+ * the whole collection, and how many documents it examined per document returned.
+ */
+public record ExplainFindings(Set<String> stages, boolean collectionScan, long docsExamined, long keysExamined,
+		long returned) {
+
+	/** Parts of an explain that describe plans the server did not run. */
+	private static final Set<String> NOT_RUN = Set.of("rejectedPlans", "allPlansExecution");
+
+	/**
+	 * Reads the findings from an explain of a find, aggregate, count, distinct or write command. The plan may sit
+	 * at the top, under an aggregation's {@code $cursor} stage or under a shard, so the document is searched rather
+	 * than navigated.
+	 */
+	static ExplainFindings of(BsonDocument explain) {
+		Set<String> stages = new LinkedHashSet<>();
+		collectStages(explain, stages);
+		BsonDocument stats = find(explain, "executionStats");
+		return new ExplainFindings(stages, stages.contains("COLLSCAN"),
+				number(stats, "totalDocsExamined"), number(stats, "totalKeysExamined"), number(stats, "nReturned"));
+	}
+
+	/**
+	 * Documents examined per document returned; a query returning nothing counts as returning one.
+	 */
+	public double examinedPerReturned() {
+		return (double) docsExamined / Math.max(1, returned);
+	}
+
+	private static void collectStages(BsonValue value, Set<String> stages) {
+		if (value.isDocument()) {
+			for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+				if (NOT_RUN.contains(entry.getKey())) {
+					continue;
+				}
+				if (entry.getKey().equals("stage") && entry.getValue().isString()) {
+					stages.add(entry.getValue().asString().getValue());
+				} else {
+					collectStages(entry.getValue(), stages);
+				}
+			}
+		} else if (value.isArray()) {
+			value.asArray().forEach(element -> collectStages(element, stages));
+		}
+	}
+
+	private static BsonDocument find(BsonValue value, String key) {
+		if (value.isDocument()) {
+			BsonDocument document = value.asDocument();
+			if (document.isDocument(key)) {
+				return document.getDocument(key);
+			}
+			for (Map.Entry<String, BsonValue> entry : document.entrySet()) {
+				BsonDocument found = NOT_RUN.contains(entry.getKey()) ? null : find(entry.getValue(), key);
+				if (found != null) {
+					return found;
+				}
+			}
+		} else if (value.isArray()) {
+			for (BsonValue element : value.asArray()) {
+				BsonDocument found = find(element, key);
+				if (found != null) {
+					return found;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static long number(BsonDocument document, String key) {
+		if (document == null) {
+			return 0;
+		}
+		BsonValue value = document.get(key);
+		return value != null && value.isNumber() ? value.asNumber().longValue() : 0;
+	}
+}
@@ -0,0 +1,202 @@
+package io.bharat.mongo.monitoring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+/**
+ * Query shapes of the commands the {@link SlowCommandProfiler} watches. {@link #capture} copies what is needed to
+ * explain a command out of the driver's buffer; {@link #of} renders it with every literal replaced by {@code "?"},
+ * so {@code {email: "a@x"}} and {@code {email: "b@y"}} are the same shape and an {@code $in} list counts the same
+ * whatever its length.
+ */
+final class QueryShape {
+
+	private static final BsonString LITERAL = new BsonString("?");
+
+	/** Fields kept for explain, per command; everything else (session, read concern, cursor batch) is dropped. */
+	private static final Map<String, List<String>> EXPLAINABLE = Map.of(
+			"find", List.of("filter", "sort", "projection", "hint", "collation", "skip", "limit"),
+			"aggregate", List.of("pipeline", "hint", "collation"),
+			"count", List.of("query", "hint", "collation", "skip", "limit"),
+			"distinct", List.of("key", "query", "collation"),
+			"findAndModify", List.of("query", "sort", "fields", "update", "remove", "upsert", "new", "hint",
+					"collation"),
+			"update", List.of("updates"),
+			"delete", List.of("deletes"));
+
+	/** Commands whose explain accepts a {@code maxTimeMS} on the explained command. */
+	private static final Set<String> TIME_LIMITED = Set.of("find", "aggregate", "count", "distinct", "findAndModify");
+
+	/** Fields with no user data in them, kept verbatim in the shape. */
+	private static final Set<String> STRUCTURAL = Set.of("sort", "projection", "fields", "hint", "collation", "key",
+			"remove", "upsert", "new", "multi");
+
+	private QueryShape() {
+	}
+
+	static boolean isExplainable(String commandName) {
+		return EXPLAINABLE.containsKey(commandName);
+	}
+
+	/**
+	 * Copies the parts of {@code command} needed to explain it. Only the first statement of a multi-statement
+	 * update or delete is kept. Pipelines lose their {@code $out} and {@code $merge} stages. Returns {@code null}
+	 * for commands that are not explainable or address no collection.
+	 */
+	static BsonDocument capture(String commandName, BsonDocument command) {
+		List<String> fields = EXPLAINABLE.get(commandName);
+		BsonValue collection = command.get(commandName);
+		if (fields == null || collection == null || !collection.isString()) {
+			return null;
+		}
+		BsonDocument captured = new BsonDocument(commandName, collection);
+		for (String field : fields) {
+			BsonValue value = command.get(field);
+			if (value == null) {
+				continue;
+			}
+			if ((field.equals("updates") || field.equals("deletes")) && value.isArray()) {
+				BsonArray statements = value.asArray();
+				if (statements.isEmpty()) {
+					return null;
+				}
+				captured.append(field, new BsonArray(List.of(copy(statements.get(0)))));
+			} else if (field.equals("pipeline") && value.isArray()) {
+				BsonArray pipeline = new BsonArray();
+				for (BsonValue stage : value.asArray()) {
+					if (!stage.isDocument() || !(stage.asDocument().containsKey("$out")
+							|| stage.asDocument().containsKey("$merge"))) {
+						pipeline.add(copy(stage));
+					}
+				}
+				captured.append(field, pipeline);
+			} else {
+				captured.append(field, copy(value));
+			}
+		}
+		return captured;
+	}
+
+	/**
+	 * The explain command for a captured command, bounded by {@code maxTimeMillis} where the command supports it.
+	 */
+	static BsonDocument explain(String commandName, BsonDocument captured, long maxTimeMillis) {
+		BsonDocument explained = captured.clone();
+		if (TIME_LIMITED.contains(commandName)) {
+			explained.append("maxTimeMS", new BsonInt64(maxTimeMillis));
+		}
+		return new BsonDocument("explain", explained).append("verbosity", new BsonString("executionStats"));
+	}
+
+	/**
+	 * The captured command with literals removed, as JSON.
+	 */
+	static String of(BsonDocument captured) {
+		BsonDocument shape = new BsonDocument();
+		for (Map.Entry<String, BsonValue> entry : captured.entrySet()) {
+			shape.append(entry.getKey(), shapeField(entry.getKey(), entry.getValue()));
+		}
+		return shape.toJson();
+	}
+
+	private static BsonValue shapeField(String field, BsonValue value) {
+		// The collection name, under the command's own key, is structure rather than data
+		if (STRUCTURAL.contains(field) || EXPLAINABLE.containsKey(field)) {
+			return value;
+		}
+		return switch (field) {
+			case "filter", "query" -> withoutLiterals(value);
+			case "pipeline" -> shapePipeline(value);
+			case "updates", "deletes" -> shapeStatements(value);
+			default -> LITERAL;
+		};
+	}
+
+	private static BsonValue shapePipeline(BsonValue pipeline) {
+		if (!pipeline.isArray()) {
+			return LITERAL;
+		}
+		BsonArray stages = new BsonArray();
+		for (BsonValue stage : pipeline.asArray()) {
+			if (!stage.isDocument()) {
+				stages.add(LITERAL);
+				continue;
+			}
+			BsonDocument shaped = new BsonDocument();
+			for (Map.Entry<String, BsonValue> entry : stage.asDocument().entrySet()) {
+				shaped.append(entry.getKey(), switch (entry.getKey()) {
+					case "$match" -> withoutLiterals(entry.getValue());
+					case "$limit", "$skip", "$sample" -> LITERAL;
+					default -> entry.getValue();
+				});
+			}
+			stages.add(shaped);
+		}
+		return stages;
+	}
+
+	/** A write statement's shape is its filter and whether it is multi-document; the update itself is data. */
+	private static BsonValue shapeStatements(BsonValue statements) {
+		BsonArray shaped = new BsonArray();
+		for (BsonValue statement : statements.asArray()) {
+			if (!statement.isDocument()) {
+				shaped.add(LITERAL);
+				continue;
+			}
+			BsonDocument document = statement.asDocument();
+			BsonDocument shape = new BsonDocument("q", withoutLiterals(document.get("q", new BsonDocument())));
+			if (document.containsKey("multi")) {
+				shape.append("multi", document.get("multi"));
+			}
+			shaped.add(shape);
+		}
+		return shaped;
+	}
+
+	/**
+	 * Keeps field names and operators and replaces every value. Arrays of documents ({@code $and}, {@code $or})
+	 * keep their structure; arrays of values collapse to a single literal.
+	 */
+	static BsonValue withoutLiterals(BsonValue value) {
+		if (value.isDocument()) {
+			BsonDocument shaped = new BsonDocument();
+			for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+				shaped.append(entry.getKey(), withoutLiterals(entry.getValue()));
+			}
+			return shaped;
+		}
+		if (value.isArray() && !value.asArray().isEmpty()
+				&& value.asArray().stream().allMatch(BsonValue::isDocument)) {
+			BsonArray shaped = new BsonArray();
+			value.asArray().forEach(element -> shaped.add(withoutLiterals(element)));
+			return shaped;
+		}
+		return LITERAL;
+	}
+
+	/**
+	 * Deep copy into plain BSON values; the driver's documents are only readable while its listener runs.
+	 */
+	private static BsonValue copy(BsonValue value) {
+		if (value.isDocument()) {
+			BsonDocument copy = new BsonDocument();
+			for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+				copy.append(entry.getKey(), copy(entry.getValue()));
+			}
+			return copy;
+		}
+		if (value.isArray()) {
+			BsonArray copy = new BsonArray();
+			value.asArray().forEach(element -> copy.add(copy(element)));
+			return copy;
+		}
+		return value;
+	}
+}
@@ -0,0 +1,74 @@
+package io.bharat.mongo.monitoring;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+
+/**
+ * Lets at most {@code permits} WARN messages per key through in each interval and reports how many were dropped when
+ * the next one is allowed. Meant for expected client errors, where a scanner must not be able to flood the log.
+ * Keys should be constants; one window is kept per key.
+ */
+public final class RateLimitedLogger {
+
+	private final Logger delegate;
+	private final int permits;
+	private final long intervalNanos;
+	private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+	public RateLimitedLogger(Logger delegate, int permits, Duration interval) {
+		this.delegate = delegate;
+		this.permits = permits;
+		this.intervalNanos = interval.toNanos();
+	}
+
+	public void warn(String key, String format, Object arg) {
+		if (delegate.isWarnEnabled() && acquire(key)) {
+			delegate.warn(format, arg);
+		}
+	}
+
+	public void warn(String key, String format, Object arg1, Object arg2) {
+		if (delegate.isWarnEnabled() && acquire(key)) {
+			delegate.warn(format, arg1, arg2);
+		}
+	}
+
+	private boolean acquire(String key) {
+		long suppressed = windows.computeIfAbsent(key, k -> new Window()).acquire(System.nanoTime());
+		if (suppressed < 0) {
+			return false;
+		}
+		if (suppressed > 0) {
+			delegate.warn("Suppressed {} similar messages key={}", suppressed, key);
+		}
+		return true;
+	}
+
+	private final class Window {
+
+		private long start = Long.MIN_VALUE;
+		private int used;
+		private long suppressed;
+
+		/**
+		 * Returns -1 if the message should be dropped, otherwise the number dropped since the last one let through.
+		 */
+		synchronized long acquire(long now) {
+			if (start == Long.MIN_VALUE || now - start >= intervalNanos) {
+				start = now;
+				used = 0;
+			}
+			if (used >= permits) {
+				suppressed++;
+				return -1;
+			}
+			used++;
+			long dropped = suppressed;
+			suppressed = 0;
+			return dropped;
+		}
+	}
+}
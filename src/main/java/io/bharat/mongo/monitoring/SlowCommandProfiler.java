@@ -0,0 +1,282 @@
+package io.bharat.mongo.monitoring;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.bson.BsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Driver {@link CommandListener} that finds the queries behind slow requests. Queries, aggregations, counts and
+ * writes slower than {@code mongo.profiler.slow-threshold} are grouped by {@link QueryShape query shape}. A sample
+ * of them is explained in the background, flagging collection scans and queries that examine many documents per
+ * document returned. {@code /actuator/slowops} lists the shapes by total time spent.
+ * <p>
+ * A fast command costs one copy of its filter, taken when it starts and dropped when it completes. Shape rendering,
+ * bookkeeping and explains only happen for slow commands. Explains run one at a time, at most once per shape per
+ * {@code explain-interval}; explains that cannot be queued are skipped.
+ */
+@Component
+public class SlowCommandProfiler implements CommandListener, DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(SlowCommandProfiler.class);
+	/** Guards against unbounded growth should the driver ever start a command without completing it. */
+	private static final int MAX_IN_FLIGHT = 10_000;
+
+	private final RateLimitedLogger warnings = new RateLimitedLogger(log, 5, Duration.ofMinutes(1));
+	private final ObjectProvider<MongoClient> client;
+	private final boolean enabled;
+	private final long thresholdNanos;
+	private final double explainSampleRate;
+	private final long explainIntervalNanos;
+	private final long explainMaxTimeMillis;
+	private final double examinedRatio;
+	private final int maxShapes;
+	private final ConcurrentMap<Integer, Started> inFlight = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, SlowOperation> operations = new ConcurrentHashMap<>();
+	private final ThreadPoolExecutor explainer;
+	private final MeterRegistry meterRegistry;
+	private final Counter untracked;
+
+	public SlowCommandProfiler(ObjectProvider<MongoClient> client,
+			@Value("${mongo.profiler.enabled:true}") boolean enabled,
+			@Value("${mongo.profiler.slow-threshold:100ms}") Duration threshold,
+			@Value("${mongo.profiler.explain-sample-rate:0.1}") double explainSampleRate,
+			@Value("${mongo.profiler.explain-interval:5m}") Duration explainInterval,
+			@Value("${mongo.profiler.explain-max-time:2s}") Duration explainMaxTime,
+			@Value("${mongo.profiler.examined-ratio:100}") double examinedRatio,
+			@Value("${mongo.profiler.max-shapes:200}") int maxShapes,
+			MeterRegistry meterRegistry) {
+		this.client = client;
+		this.enabled = enabled;
+		this.thresholdNanos = threshold.toNanos();
+		this.explainSampleRate = explainSampleRate;
+		this.explainIntervalNanos = explainInterval.toNanos();
+		this.explainMaxTimeMillis = explainMaxTime.toMillis();
+		this.examinedRatio = examinedRatio;
+		this.maxShapes = maxShapes;
+		this.meterRegistry = meterRegistry;
+		this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+				Thread.ofPlatform().name("slow-command-explain").daemon().factory());
+		this.untracked = Counter.builder("mongo.commands.slow.untracked")
+				.description("Slow commands not tracked because the shape table was full")
+				.register(meterRegistry);
+		if (enabled) {
+			log.info("Slow command profiler threshold={}ms explainSampleRate={} maxShapes={}",
+					threshold.toMillis(), explainSampleRate, maxShapes);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public Duration threshold() {
+		return Duration.ofNanos(thresholdNanos);
+	}
+
+	@Override
+	public void commandStarted(CommandStartedEvent event) {
+		if (!QueryShape.isExplainable(event.getCommandName()) || inFlight.size() >= MAX_IN_FLIGHT) {
+			return;
+		}
+		BsonDocument captured = QueryShape.capture(event.getCommandName(), event.getCommand());
+		if (captured != null) {
+			inFlight.put(event.getRequestId(), new Started(event.getDatabaseName(), captured));
+		}
+	}
+
+	@Override
+	public void commandSucceeded(CommandSucceededEvent event) {
+		completed(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+	}
+
+	@Override
+	public void commandFailed(CommandFailedEvent event) {
+		// Timed-out queries are the slowest of all
+		completed(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+	}
+
+	private void completed(int requestId, String commandName, long elapsedNanos) {
+		Started started = inFlight.remove(requestId);
+		if (started == null || elapsedNanos < thresholdNanos) {
+			return;
+		}
+		String namespace = started.database() + "." + started.command().getString(commandName).getValue();
+		String shape = QueryShape.of(started.command());
+		SlowOperation operation = operations.get(namespace + shape);
+		if (operation == null) {
+			if (operations.size() >= maxShapes) {
+				untracked.increment();
+				return;
+			}
+			operation = operations.computeIfAbsent(namespace + shape,
+					key -> new SlowOperation(namespace, commandName, shape));
+		}
+		operation.record(elapsedNanos);
+		Counter.builder("mongo.commands.slow")
+				.description("Commands slower than the profiler threshold")
+				.tag("command", commandName)
+				.register(meterRegistry)
+				.increment();
+		log.debug("Slow command ns={} command={} elapsed={}ms shape={}", namespace, commandName,
+				elapsedNanos / 1_000_000, shape);
+		if (operation.explainDue(explainIntervalNanos)
+				&& ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+			explain(operation, started, commandName);
+		}
+	}
+
+	private void explain(SlowOperation operation, Started started, String commandName) {
+		if (!operation.explaining.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			explainer.execute(() -> {
+				try {
+					BsonDocument result = client.getObject().getDatabase(started.database())
+							.runCommand(QueryShape.explain(commandName, started.command(), explainMaxTimeMillis),
+									BsonDocument.class);
+					ExplainFindings findings = ExplainFindings.of(result);
+					report(operation, findings);
+					operation.explained(findings);
+				} catch (RuntimeException ex) {
+					finding("failed");
+					log.debug("Explain failed ns={} shape={}", operation.namespace, operation.shape, ex);
+				} finally {
+					operation.explaining.set(false);
+				}
+			});
+		} catch (RejectedExecutionException ex) {
+			// The queue is full of other explains; a later slow command of this shape tries again
+			operation.explaining.set(false);
+			finding("skipped");
+		}
+	}
+
+	private void report(SlowOperation operation, ExplainFindings findings) {
+		if (findings.collectionScan()) {
+			finding("collscan");
+			warnings.warn("collscan", "Slow command scans the whole collection ns={} shape={}",
+					operation.namespace, operation.shape);
+		}
+		if (findings.examinedPerReturned() >= examinedRatio) {
+			finding("examined-ratio");
+			warnings.warn("examined-ratio", "Slow command examines many documents per result ns={} shape={}",
+					operation.namespace, operation.shape);
+		}
+		if (!findings.collectionScan() && findings.examinedPerReturned() < examinedRatio) {
+			finding("indexed");
+		}
+	}
+
+	private void finding(String finding) {
+		Counter.builder("mongo.commands.explained")
+				.description("Sampled explains of slow commands by finding")
+				.tag("finding", finding)
+				.register(meterRegistry)
+				.increment();
+	}
+
+	/**
+	 * Tracked shapes, by total time spent, slowest first.
+	 */
+	public List<Offender> offenders(int limit) {
+		return operations.values().stream()
+				.map(operation -> operation.offender(examinedRatio))
+				.sorted(Comparator.comparingDouble(Offender::totalMillis).reversed())
+				.limit(limit)
+				.toList();
+	}
+
+	public void reset() {
+		operations.clear();
+	}
+
+	@Override
+	public void destroy() {
+		explainer.shutdownNow();
+	}
+
+	private record Started(String database, BsonDocument command) {
+	}
+
+	public record Offender(
+			String namespace,
+			String command,
+			String shape,
+			long count,
+			double totalMillis,
+			double maxMillis,
+			Instant lastSeen,
+			ExplainFindings explain,
+			boolean collectionScan,
+			boolean highExaminedRatio) {
+	}
+
+	private static final class SlowOperation {
+
+		private final String namespace;
+		private final String command;
+		private final String shape;
+		private final AtomicBoolean explaining = new AtomicBoolean();
+		private long count;
+		private long totalNanos;
+		private long maxNanos;
+		private Instant lastSeen;
+		private ExplainFindings findings;
+		private long explainedAtNanos;
+
+		SlowOperation(String namespace, String command, String shape) {
+			this.namespace = namespace;
+			this.command = command;
+			this.shape = shape;
+		}
+
+		synchronized void record(long elapsedNanos) {
+			count++;
+			totalNanos += elapsedNanos;
+			maxNanos = Math.max(maxNanos, elapsedNanos);
+			lastSeen = Instant.now();
+		}
+
+		synchronized boolean explainDue(long intervalNanos) {
+			return findings == null || System.nanoTime() - explainedAtNanos >= intervalNanos;
+		}
+
+		synchronized void explained(ExplainFindings findings) {
+			this.findings = findings;
+			this.explainedAtNanos = System.nanoTime();
+		}
+
+		synchronized Offender offender(double examinedRatio) {
+			return new Offender(namespace, command, shape, count, totalNanos / 1e6, maxNanos / 1e6, lastSeen,
+					findings, findings != null && findings.collectionScan(),
+					findings != null && findings.examinedPerReturned() >= examinedRatio);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package io.bharat.mongo.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * The query shapes {@link SlowCommandProfiler} has seen over its threshold, slowest in total first, with their
+ * latest explain findings. {@code DELETE /actuator/slowops} starts over, e.g. after adding an index.
+ */
+@Component
+@Endpoint(id = "slowops")
+public class SlowOperationsEndpoint {
+
+	private static final int TOP = 25;
+
+	private final SlowCommandProfiler profiler;
+
+	public SlowOperationsEndpoint(SlowCommandProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	@ReadOperation
+	public Map<String, Object> offenders() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("enabled", profiler.isEnabled());
+		report.put("thresholdMillis", profiler.threshold().toMillis());
+		report.put("offenders", profiler.offenders(TOP));
+		return report;
+	}
+
+	@DeleteOperation
+	public void reset() {
+		profiler.reset();
+	}
+}
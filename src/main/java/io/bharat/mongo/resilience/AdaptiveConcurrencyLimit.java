@@ -0,0 +1,105 @@
+package io.bharat.mongo.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows the service's capacity from latency alone, after the gradient algorithm of
+ * Netflix's concurrency-limits.
+ * <p>
+ * Each completed request compares its latency with a long-term average. While latency stays near the average the
+ * limit grows by its square root, the queue the service is allowed to build. When latency rises, requests are
+ * queueing somewhere (threads, connection pool, DocumentDB) and the limit shrinks in proportion, down to half per
+ * sample. The average slowly follows sustained changes, so a new normal after a failover or an instance resize is
+ * learned rather than fought.
+ */
+public class AdaptiveConcurrencyLimit {
+
+	/** Shrinks the limit by at most half per sample, so one slow outlier cannot collapse it. */
+	private static final double MIN_GRADIENT = 0.5;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final double smoothing;
+	private final double longWindowFactor;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile int limit;
+	private double estimatedLimit;
+	private double longRttNanos;
+
+	/**
+	 * @param tolerance how much slower than the long-term average a request may be before the limit shrinks
+	 * @param smoothing weight of each new estimate, between 0 and 1
+	 * @param longWindow number of samples the long-term average spans
+	 */
+	public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+			int longWindow) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+		this.longWindowFactor = 2.0 / (longWindow + 1);
+		this.estimatedLimit = initialLimit;
+		this.limit = initialLimit;
+	}
+
+	/**
+	 * Takes an in-flight slot, or returns {@code false} when the limit is reached. A taken slot must be given back
+	 * with {@link #onSample} or {@link #release}.
+	 */
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= limit) {
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Gives back a slot without a latency sample, for requests whose latency says nothing about capacity.
+	 */
+	public void release() {
+		inFlight.decrementAndGet();
+	}
+
+	/**
+	 * Gives back a slot and updates the limit from the request's latency.
+	 *
+	 * @param inFlightAtStart requests in flight when this one started, itself included
+	 */
+	public void onSample(long rttNanos, int inFlightAtStart) {
+		inFlight.decrementAndGet();
+		synchronized (this) {
+			if (longRttNanos == 0) {
+				longRttNanos = rttNanos;
+				return;
+			}
+			longRttNanos += (rttNanos - longRttNanos) * longWindowFactor;
+			if (longRttNanos > 2 * rttNanos) {
+				// Latency recovered after a bad period; let the average catch up instead of growing without bound
+				longRttNanos *= 0.95;
+			}
+			// A service running far below its limit says nothing about whether a higher one would hold
+			if (inFlightAtStart < estimatedLimit / 2) {
+				return;
+			}
+			double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+			double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+			estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+					estimatedLimit * (1 - smoothing) + target * smoothing));
+			limit = (int) estimatedLimit;
+		}
+	}
+
+	public int limit() {
+		return limit;
+	}
+
+	public int inFlight() {
+		return inFlight.get();
+	}
+}
@@ -0,0 +1,96 @@
+package io.bharat.mongo.resilience;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.bharat.mongo.employee.api.PrerenderedErrors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds load above an {@link AdaptiveConcurrencyLimit} with a pre-rendered {@code 503}, before the request costs a
+ * token check or a Mongo call. Under overload the requests let in keep their normal latency, instead of every
+ * request queueing until all of them time out.
+ * <p>
+ * Runs in the Spring Security chain ahead of {@code JwtAuthenticationFilter}. Actuator requests are never limited,
+ * so health checks answer during overload. Requests that go async, such as change streams, hold a slot only until
+ * they detach from the servlet thread and give no latency sample.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+	private final boolean enabled;
+	private final AdaptiveConcurrencyLimit limit;
+	private final Counter rejected;
+
+	public ConcurrencyLimitFilter(@Value("${http.concurrency-limit.enabled:true}") boolean enabled,
+			@Value("${http.concurrency-limit.initial:64}") int initialLimit,
+			@Value("${http.concurrency-limit.min:8}") int minLimit,
+			@Value("${http.concurrency-limit.max:200}") int maxLimit,
+			@Value("${http.concurrency-limit.tolerance:1.5}") double tolerance,
+			@Value("${http.concurrency-limit.smoothing:0.2}") double smoothing,
+			@Value("${http.concurrency-limit.long-window:600}") int longWindow,
+			MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing, longWindow);
+		Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+				.description("Requests allowed in flight")
+				.register(meterRegistry);
+		Gauge.builder("http.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+				.description("Requests in flight")
+				.register(meterRegistry);
+		this.rejected = Counter.builder("http.concurrency.rejected")
+				.description("Requests shed with 503 because the concurrency limit was reached")
+				.register(meterRegistry);
+		log.info("HTTP concurrency limit enabled={} initial={} min={} max={}", enabled, initialLimit, minLimit,
+				maxLimit);
+	}
+
+	AdaptiveConcurrencyLimit limit() {
+		return limit;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !enabled || request.getRequestURI().startsWith(request.getContextPath() + "/actuator/");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!limit.tryAcquire()) {
+			rejected.increment();
+			log.debug("Shedding request limit={} uri={}", limit.limit(), request.getRequestURI());
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			PrerenderedErrors.SERVICE_UNAVAILABLE.write(response);
+			return;
+		}
+		int inFlightAtStart = limit.inFlight();
+		long start = System.nanoTime();
+		boolean sampled = false;
+		try {
+			filterChain.doFilter(request, response);
+			if (!request.isAsyncStarted()) {
+				limit.onSample(System.nanoTime() - start, inFlightAtStart);
+				sampled = true;
+			}
+		} finally {
+			if (!sampled) {
+				limit.release();
+			}
+		}
+	}
+}
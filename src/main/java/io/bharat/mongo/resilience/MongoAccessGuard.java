@@ -0,0 +1,147 @@
+package io.bharat.mongo.resilience;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+
+import io.bharat.mongo.monitoring.RateLimitedLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps every Spring Data repository call (see {@code MongoConfig}) in a bulkhead per {@link MongoOperationClass}
+ * and a shared {@link MongoCircuitBreaker}.
+ * <p>
+ * A call waits at most {@code mongo.bulkhead.max-wait} for a permit; when Mongo is slow, requests are turned away
+ * with {@code 503} instead of parking every servlet thread on the driver. Stream results are opened inside the
+ * bulkhead but read after it. Timeouts, socket errors and exceeded {@code maxTimeMS} budgets count towards opening
+ * the circuit.
+ */
+@Component
+public class MongoAccessGuard implements MethodInterceptor {
+
+	private static final Logger log = LoggerFactory.getLogger(MongoAccessGuard.class);
+	private static final RateLimitedLogger rejections = new RateLimitedLogger(log, 1, Duration.ofSeconds(10));
+
+	private final MongoCircuitBreaker circuitBreaker;
+	private final long maxWaitNanos;
+	private final Map<MongoOperationClass, Semaphore> bulkheads = new EnumMap<>(MongoOperationClass.class);
+	private final Map<MongoOperationClass, Counter> bulkheadRejections = new EnumMap<>(MongoOperationClass.class);
+	private final Counter circuitRejections;
+	private final Map<Method, MongoOperationClass> operationClasses = new ConcurrentHashMap<>();
+
+	public MongoAccessGuard(@Value("${mongo.bulkhead.read:64}") int readPermits,
+			@Value("${mongo.bulkhead.write:32}") int writePermits,
+			@Value("${mongo.bulkhead.bulk:8}") int bulkPermits,
+			@Value("${mongo.bulkhead.max-wait:100ms}") Duration maxWait,
+			@Value("${mongo.circuit.failure-threshold:5}") int failureThreshold,
+			@Value("${mongo.circuit.open-duration:10s}") Duration openDuration,
+			MeterRegistry meterRegistry) {
+		this.circuitBreaker = new MongoCircuitBreaker(failureThreshold, openDuration);
+		this.maxWaitNanos = maxWait.toNanos();
+		bulkheads.put(MongoOperationClass.READ, new Semaphore(readPermits));
+		bulkheads.put(MongoOperationClass.WRITE, new Semaphore(writePermits));
+		bulkheads.put(MongoOperationClass.BULK, new Semaphore(bulkPermits));
+		for (MongoOperationClass operation : MongoOperationClass.values()) {
+			Semaphore permits = bulkheads.get(operation);
+			int limit = permits.availablePermits();
+			String tag = operation.name().toLowerCase(Locale.ROOT);
+			Gauge.builder("mongo.bulkhead.in-use", permits, semaphore -> limit - semaphore.availablePermits())
+					.description("Repository calls holding a bulkhead permit")
+					.tag("operation", tag)
+					.register(meterRegistry);
+			bulkheadRejections.put(operation, Counter.builder("mongo.calls.rejected")
+					.description("Repository calls refused without reaching Mongo")
+					.tag("operation", tag)
+					.tag("reason", "bulkhead-full")
+					.register(meterRegistry));
+		}
+		this.circuitRejections = Counter.builder("mongo.calls.rejected")
+				.description("Repository calls refused without reaching Mongo")
+				.tag("operation", "any")
+				.tag("reason", "circuit-open")
+				.register(meterRegistry);
+		Gauge.builder("mongo.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+				.description("Mongo circuit breaker: 0 closed, 1 open, 2 half-open")
+				.register(meterRegistry);
+	}
+
+	public MongoCircuitBreaker circuitBreaker() {
+		return circuitBreaker;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Method method = invocation.getMethod();
+		if (method.getDeclaringClass() == Object.class) {
+			return invocation.proceed();
+		}
+		MongoOperationClass operation = operationClasses.computeIfAbsent(method, MongoOperationClass::of);
+		Semaphore permits = bulkheads.get(operation);
+		if (!acquire(permits)) {
+			bulkheadRejections.get(operation).increment();
+			rejections.warn("bulkhead-full", "Mongo bulkhead full operation={} method={}", operation,
+					method.getName());
+			throw new MongoUnavailableException("Too many concurrent " + operation + " calls to Mongo",
+					Duration.ofSeconds(1));
+		}
+		try {
+			if (!circuitBreaker.tryAcquire()) {
+				circuitRejections.increment();
+				rejections.warn("circuit-open", "Mongo circuit open, refusing method={}", method.getName());
+				throw new MongoUnavailableException("Mongo is unavailable", circuitBreaker.remainingOpen());
+			}
+			try {
+				Object result = invocation.proceed();
+				circuitBreaker.onSuccess();
+				return result;
+			} catch (Throwable ex) {
+				if (isTimeout(ex)) {
+					circuitBreaker.onFailure();
+				} else {
+					circuitBreaker.onSuccess();
+				}
+				throw ex;
+			}
+		} finally {
+			permits.release();
+		}
+	}
+
+	private boolean acquire(Semaphore permits) throws InterruptedException {
+		return permits.tryAcquire() || permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Whether Mongo did not answer in time, as opposed to answering with an error.
+	 */
+	static boolean isTimeout(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof DataAccessResourceFailureException || cause instanceof QueryTimeoutException
+					|| cause instanceof MongoTimeoutException || cause instanceof MongoSocketException
+					|| cause instanceof MongoExecutionTimeoutException) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
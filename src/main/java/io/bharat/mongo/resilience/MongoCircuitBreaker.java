@@ -0,0 +1,92 @@
+package io.bharat.mongo.resilience;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops sending calls to Mongo after {@code failureThreshold} consecutive timeouts, so request threads fail at once
+ * instead of each waiting out the driver's timeouts during a failover.
+ * <p>
+ * After {@code openDuration} one call is let through as a probe. Its success closes the circuit; a timeout opens it
+ * for another {@code openDuration}. Errors that come back from the server, such as duplicate keys, prove that Mongo
+ * is reachable and count as successes.
+ */
+public class MongoCircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private static final Logger log = LoggerFactory.getLogger(MongoCircuitBreaker.class);
+
+	private final int failureThreshold;
+	private final long openNanos;
+	private volatile State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+	private boolean probeInFlight;
+
+	public MongoCircuitBreaker(int failureThreshold, Duration openDuration) {
+		this.failureThreshold = failureThreshold;
+		this.openNanos = openDuration.toNanos();
+	}
+
+	public State state() {
+		return state;
+	}
+
+	/**
+	 * Whether a call may go ahead. Every permitted call must be followed by {@link #onSuccess()} or
+	 * {@link #onFailure()}.
+	 */
+	public boolean tryAcquire() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		synchronized (this) {
+			if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+				state = State.HALF_OPEN;
+				probeInFlight = false;
+			}
+			if (state == State.HALF_OPEN && !probeInFlight) {
+				probeInFlight = true;
+				return true;
+			}
+			return state == State.CLOSED;
+		}
+	}
+
+	/**
+	 * Time until a probe is let through, for {@code Retry-After}.
+	 */
+	public synchronized Duration remainingOpen() {
+		return state == State.OPEN
+				? Duration.ofNanos(Math.max(0, openNanos - (System.nanoTime() - openedAt)))
+				: Duration.ZERO;
+	}
+
+	public void onSuccess() {
+		if (state == State.CLOSED && consecutiveFailures == 0) {
+			return;
+		}
+		synchronized (this) {
+			consecutiveFailures = 0;
+			if (state != State.CLOSED) {
+				log.info("Mongo circuit closed");
+				state = State.CLOSED;
+			}
+		}
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+		if (state == State.HALF_OPEN || state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+			log.warn("Mongo circuit opened consecutiveFailures={} openFor={}", consecutiveFailures,
+					Duration.ofNanos(openNanos));
+			state = State.OPEN;
+			openedAt = System.nanoTime();
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package io.bharat.mongo.resilience;
+
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the {@link MongoCircuitBreaker} as {@code mongoCircuit} in {@code /actuator/health}: {@code OUT_OF_SERVICE}
+ * while open, so a load balancer can route around the instance, and {@code UP} otherwise. It reads in-memory state
+ * and answers even while Mongo does not.
+ */
+@Component
+public class MongoCircuitHealthIndicator implements HealthIndicator {
+
+	private final MongoCircuitBreaker circuitBreaker;
+
+	public MongoCircuitHealthIndicator(MongoAccessGuard guard) {
+		this.circuitBreaker = guard.circuitBreaker();
+	}
+
+	@Override
+	public Health health() {
+		MongoCircuitBreaker.State state = circuitBreaker.state();
+		Health.Builder health = state == MongoCircuitBreaker.State.OPEN ? Health.outOfService() : Health.up();
+		health.withDetail("state", state);
+		if (state == MongoCircuitBreaker.State.OPEN) {
+			health.withDetail("retryIn", circuitBreaker.remainingOpen().toString());
+		}
+		return health.build();
+	}
+}
@@ -0,0 +1,36 @@
+package io.bharat.mongo.resilience;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * Repository calls grouped by cost, each with its own bulkhead so a burst of expensive calls cannot take the
+ * capacity that by-id reads and single writes need.
+ */
+public enum MongoOperationClass {
+	/** Point and paged reads. */
+	READ,
+	/** Single-document writes. */
+	WRITE,
+	/** Calls that scan or write many documents: bulk inserts and updates, aggregations, streams. */
+	BULK;
+
+	private static final Set<String> BULK_METHODS = Set.of("insertUnordered", "bulkUpdate", "countForBulkUpdate",
+			"countByValue", "streamByFilter", "streamDocumentsByFilter", "saveAll", "deleteAll", "deleteAllById");
+
+	/**
+	 * Classifies a repository method by name, the same naming Spring Data derives its queries from.
+	 */
+	public static MongoOperationClass of(Method method) {
+		String name = method.getName();
+		if (BULK_METHODS.contains(name)
+				|| name.equals("insert") && Iterable.class.isAssignableFrom(method.getParameterTypes()[0])) {
+			return BULK;
+		}
+		if (name.startsWith("save") || name.startsWith("insert") || name.startsWith("delete")
+				|| name.startsWith("update")) {
+			return WRITE;
+		}
+		return READ;
+	}
+}
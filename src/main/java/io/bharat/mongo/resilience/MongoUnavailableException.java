@@ -0,0 +1,22 @@
+package io.bharat.mongo.resilience;
+
+import java.time.Duration;
+
+/**
+ * A Mongo call was refused without reaching the database: the circuit breaker is open or the operation's bulkhead
+ * is full. Answered with {@code 503} and a {@code Retry-After}. Thrown in bursts during an outage, so it carries no
+ * stack trace.
+ */
+public class MongoUnavailableException extends RuntimeException {
+
+	private final Duration retryAfter;
+
+	public MongoUnavailableException(String message, Duration retryAfter) {
+		super(message, null, false, false);
+		this.retryAfter = retryAfter;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
@@ -0,0 +1,42 @@
+package io.bharat.mongo.security;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.access.AccessDeniedHandler;
+
+import io.bharat.mongo.employee.api.PrerenderedErrors;
+import io.bharat.mongo.monitoring.RateLimitedLogger;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers requests rejected by the filter chain with the same {@code ApiError} bodies the controllers use:
+ * 401 without valid credentials and 403 without the required authority.
+ */
+class ApiErrorSecurityHandler implements AuthenticationEntryPoint, AccessDeniedHandler {
+
+	private static final Logger log = LoggerFactory.getLogger(ApiErrorSecurityHandler.class);
+	private static final RateLimitedLogger rejected = new RateLimitedLogger(log, 10, Duration.ofSeconds(10));
+
+	@Override
+	public void commence(HttpServletRequest request, HttpServletResponse response,
+			AuthenticationException authException) throws IOException {
+		rejected.warn("unauthorized", "Unauthenticated request path={} reason={}", request.getRequestURI(),
+				authException.getMessage());
+		PrerenderedErrors.UNAUTHORIZED.write(response);
+	}
+
+	@Override
+	public void handle(HttpServletRequest request, HttpServletResponse response,
+			AccessDeniedException accessDeniedException) throws IOException {
+		rejected.warn("forbidden", "Access denied path={} reason={}", request.getRequestURI(),
+				accessDeniedException.getMessage());
+		PrerenderedErrors.FORBIDDEN.write(response);
+	}
+}
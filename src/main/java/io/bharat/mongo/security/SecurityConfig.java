@@ -18,18 +18,23 @@ import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.bharat.mongo.resilience.ConcurrencyLimitFilter;
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
 	@Bean
-	public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter)
-			throws Exception {
+	public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter,
+			ConcurrencyLimitFilter concurrencyLimitFilter) throws Exception {
 		http
 				.csrf(csrf -> csrf.disable())
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.authorizeHttpRequests(auth -> auth
+						// Streamed responses finish on an async dispatch; the request was authorized when it started
+						.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 						.requestMatchers(
 								"/api/auth/login",
 								"/api/auth/refresh",
@@ -42,7 +47,13 @@ public class SecurityConfig {
 								"/error")
 						.permitAll()
 						.anyRequest().authenticated())
-				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+				.exceptionHandling(exceptions -> {
+					ApiErrorSecurityHandler handler = new ApiErrorSecurityHandler();
+					exceptions.authenticationEntryPoint(handler).accessDeniedHandler(handler);
+				})
+				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+				// Shed excess load before paying for token validation
+				.addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class);
 
 		return http.build();
 	}
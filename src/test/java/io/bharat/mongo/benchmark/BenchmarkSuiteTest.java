@@ -0,0 +1,39 @@
+package io.bharat.mongo.benchmark;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks in this package with the GC profiler, so results include allocation per operation
+ * ({@code gc.alloc.rate.norm}). Only active in the {@code benchmark} profile:
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test -Dbenchmark.include=ErrorPath
+ * </pre>
+ *
+ * JSON results are written to {@code target/benchmarks/results.json}.
+ */
+@Tag("benchmark")
+class BenchmarkSuiteTest {
+
+	@Test
+	void runBenchmarks() throws RunnerException {
+		File output = new File("target/benchmarks/results.json");
+		output.getParentFile().mkdirs();
+		Options options = new OptionsBuilder()
+				.include(BenchmarkSuiteTest.class.getPackageName() + "." + System.getProperty("benchmark.include", ""))
+				.addProfiler(GCProfiler.class)
+				.resultFormat(ResultFormatType.JSON)
+				.result(output.getPath())
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,82 @@
+package io.bharat.mongo.benchmark;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.bharat.mongo.employee.api.ApiError;
+import io.bharat.mongo.employee.api.PrerenderedErrors;
+import io.bharat.mongo.employee.exception.NotFoundException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Cost of answering a missing employee: throwing the exception a few frames deep, catching it and producing the
+ * response body. {@code legacy} is the previous path (stack trace, HashMap, Jackson), {@code prerendered} the current
+ * one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+	/**
+	 * Frames between the handler and the service; a servlet request through security filters is well over 100.
+	 */
+	@Param({ "20", "150" })
+	public int depth;
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().build();
+	private final String id = "6650f1c2e4b0a1b2c3d4e5f6";
+
+	@Benchmark
+	public byte[] legacy() {
+		try {
+			return lookup(depth, true);
+		} catch (LegacyNotFoundException ex) {
+			Map<String, String> errors = new HashMap<>();
+			return objectMapper.writeValueAsBytes(
+					new ApiError(Instant.now(), 404, "Not Found", ex.getMessage(), errors));
+		}
+	}
+
+	@Benchmark
+	public byte[] prerendered() {
+		try {
+			return lookup(depth, false);
+		} catch (NotFoundException ex) {
+			return PrerenderedErrors.renderNotFound(ex.getMessage());
+		}
+	}
+
+	private byte[] lookup(int remaining, boolean legacy) {
+		if (remaining == 0) {
+			throw legacy
+					? new LegacyNotFoundException("Employee not found: " + id)
+					: new NotFoundException("Employee not found: " + id);
+		}
+		return lookup(remaining - 1, legacy);
+	}
+
+	static class LegacyNotFoundException extends RuntimeException {
+
+		LegacyNotFoundException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package io.bharat.mongo.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.SmartHttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+
+import io.bharat.mongo.employee.api.EmployeeProtobufHttpMessageConverter;
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+
+/**
+ * Cost of writing a page of employees through the HTTP message converter for each negotiable format. The encoded size
+ * of the page is printed once per fork as {@code payloadBytes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+	private static final ResolvableType LIST_TYPE = ResolvableType.forClassWithGenerics(List.class,
+			EmployeeResponse.class);
+
+	@Param({ "json", "smile", "cbor", "protobuf" })
+	public String format;
+
+	/** Page size; 500 is the largest page the list endpoint serves. */
+	@Param({ "20", "500" })
+	public int employees;
+
+	private final BufferOutputMessage output = new BufferOutputMessage();
+	private SmartHttpMessageConverter<Object> converter;
+	private MediaType mediaType;
+	private List<EmployeeResponse> page;
+
+	@Setup
+	public void setUp() throws IOException {
+		switch (format) {
+			case "json" -> converter = new JacksonJsonHttpMessageConverter();
+			case "smile" -> converter = new JacksonSmileHttpMessageConverter();
+			case "cbor" -> converter = new JacksonCborHttpMessageConverter();
+			case "protobuf" -> converter = new EmployeeProtobufHttpMessageConverter();
+			default -> throw new IllegalArgumentException(format);
+		}
+		mediaType = converter.getSupportedMediaTypes().get(0);
+		page = new ArrayList<>(employees);
+		for (int i = 0; i < employees; i++) {
+			page.add(new EmployeeResponse(String.format("6650f1c2e4b0a1b2c3%06x", i), "First" + i, "Last" + i,
+					"employee" + i + "@example.com", "Engineering", "Backend Engineer",
+					new BigDecimal("85000.00").add(BigDecimal.valueOf(i)), LocalDate.of(2020, 1, 1).plusDays(i)));
+		}
+		System.out.printf("format=%s employees=%d payloadBytes=%d%n", format, employees, write());
+	}
+
+	@Benchmark
+	public int write() throws IOException {
+		output.reset();
+		converter.write(page, LIST_TYPE, mediaType, output, null);
+		return output.body.size();
+	}
+
+	/** Reuses one buffer so the measurement is the encoder, not growing the output. */
+	static final class BufferOutputMessage implements HttpOutputMessage {
+
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream(256 * 1024);
+		private final HttpHeaders headers = new HttpHeaders();
+
+		void reset() {
+			body.reset();
+			headers.clear();
+		}
+
+		@Override
+		public OutputStream getBody() {
+			return body;
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+	}
+}
@@ -4,9 +4,19 @@ import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest.Changes;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest.Match;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateResponse;
+import io.bharat.mongo.employee.dto.EmployeeLookupRequest;
+import io.bharat.mongo.employee.dto.EmployeeLookupResponse;
 import io.bharat.mongo.employee.dto.EmployeeRequest;
 import io.bharat.mongo.employee.dto.EmployeeResponse;
 import io.bharat.mongo.testsupport.BaseApiTest;
@@ -53,5 +63,63 @@ class EmployeeApiCrudTest extends BaseApiTest {
 				.statusCode(HttpStatus.NOT_FOUND.value())
 				.body("message", equalTo("Employee not found: " + created.id()));
 	}
-}
 
+	@Test
+	void lookup_returnsEmployeesInRequestOrder_andListsMissingIds() {
+		EmployeeResponse first = employees.create(EmployeeRequests.randomEmployee());
+		EmployeeResponse second = employees.create(EmployeeRequests.randomEmployee());
+		String unknown = "6650f1c2e4b0a1b2c3d4e5f6";
+
+		EmployeeLookupResponse lookup = given(authSpec)
+				.body(new EmployeeLookupRequest(List.of(second.id(), unknown, first.id())))
+				.when()
+				.post(env.employeesPath() + "/lookup")
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.as(EmployeeLookupResponse.class);
+
+		assertThat(lookup.employees()).extracting(EmployeeResponse::id).containsExactly(second.id(), first.id());
+		assertThat(lookup.missing()).containsExactly(unknown);
+	}
+
+	@Test
+	void bulkUpdate_dryRunCounts_thenRaisesSalariesInDepartment() {
+		String department = "Bulk-" + UUID.randomUUID().toString().substring(0, 8);
+		EmployeeResponse first = employees.create(inDepartment(EmployeeRequests.randomEmployee(), department));
+		employees.create(inDepartment(EmployeeRequests.randomEmployee(), department));
+		Match match = new Match(department, null, null);
+		Changes raise = new Changes(null, null, new BigDecimal("10"), null);
+
+		EmployeeBulkUpdateResponse dryRun = bulkUpdate(new EmployeeBulkUpdateRequest(match, raise, true));
+		assertThat(dryRun).isEqualTo(new EmployeeBulkUpdateResponse(true, 2, 0));
+
+		EmployeeBulkUpdateResponse applied = bulkUpdate(new EmployeeBulkUpdateRequest(match, raise, false));
+		assertThat(applied).isEqualTo(new EmployeeBulkUpdateResponse(false, 2, 2));
+
+		EmployeeResponse fetched = given(authSpec)
+				.when()
+				.get(env.employeesPath() + "/" + first.id())
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.as(EmployeeResponse.class);
+		assertThat(fetched.salary()).isEqualByComparingTo("99000.00");
+	}
+
+	private EmployeeBulkUpdateResponse bulkUpdate(EmployeeBulkUpdateRequest request) {
+		return given(authSpec)
+				.body(request)
+				.when()
+				.post(env.employeesPath() + "/bulk-update")
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.as(EmployeeBulkUpdateResponse.class);
+	}
+
+	private static EmployeeRequest inDepartment(EmployeeRequest request, String department) {
+		return new EmployeeRequest(request.firstName(), request.lastName(), request.email(), department,
+				request.jobTitle(), request.salary(), request.dateOfJoining());
+	}
+}
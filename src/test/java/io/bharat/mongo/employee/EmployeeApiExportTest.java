@@ -0,0 +1,89 @@
+package io.bharat.mongo.employee;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import io.bharat.mongo.employee.dto.EmployeeRequest;
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.dto.ExportJobResponse;
+import io.bharat.mongo.employee.model.JobStatus;
+import io.bharat.mongo.testsupport.BaseApiTest;
+import io.bharat.mongo.testsupport.EmployeeRequests;
+
+class EmployeeApiExportTest extends BaseApiTest {
+
+	@Test
+	void export_completes_and_supports_range_downloads() throws Exception {
+		EmployeeRequest base = EmployeeRequests.randomEmployee();
+		String department = "Export-" + base.firstName();
+		EmployeeResponse created = employees.create(new EmployeeRequest(base.firstName(), base.lastName(),
+				base.email(), department, base.jobTitle(), base.salary(), base.dateOfJoining()));
+
+		ExportJobResponse submitted = given(authSpec)
+				.body(Map.of("format", "CSV", "department", department))
+				.when()
+				.post(env.employeesPath() + "/exports")
+				.then()
+				.statusCode(HttpStatus.ACCEPTED.value())
+				.extract()
+				.as(ExportJobResponse.class);
+
+		ExportJobResponse finished = awaitCompletion(submitted.id());
+		assertThat(finished.status()).isEqualTo(JobStatus.COMPLETED);
+		assertThat(finished.rowsWritten()).isEqualTo(1);
+
+		byte[] file = given(authSpec)
+				.when()
+				.get(env.employeesPath() + "/exports/" + submitted.id() + "/file")
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+				.extract()
+				.asByteArray();
+		assertThat(gunzip(file)).contains(created.email());
+
+		byte[] range = given(authSpec)
+				.header(HttpHeaders.RANGE, "bytes=0-9")
+				.when()
+				.get(env.employeesPath() + "/exports/" + submitted.id() + "/file")
+				.then()
+				.statusCode(HttpStatus.PARTIAL_CONTENT.value())
+				.extract()
+				.asByteArray();
+		assertThat(range).hasSize(10).startsWith(file[0], file[1]);
+	}
+
+	private ExportJobResponse awaitCompletion(String id) throws InterruptedException {
+		ExportJobResponse job = null;
+		for (int attempt = 0; attempt < 50; attempt++) {
+			job = given(authSpec)
+					.when()
+					.get(env.employeesPath() + "/exports/" + id)
+					.then()
+					.statusCode(HttpStatus.OK.value())
+					.extract()
+					.as(ExportJobResponse.class);
+			if (job.status() == JobStatus.COMPLETED || job.status() == JobStatus.FAILED) {
+				return job;
+			}
+			Thread.sleep(100);
+		}
+		return job;
+	}
+
+	private static String gunzip(byte[] bytes) throws IOException {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import io.bharat.mongo.employee.migration.EmployeeLayoutMigration;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeStorageLayout;
+import io.bharat.mongo.testsupport.BaseApiTest;
+
+/**
+ * Switches a scratch collection to the compact layout while it carries the unique email index under both key names,
+ * as the employees collection does once the reconciler has built the new layout's indexes.
+ */
+class EmployeeApiLayoutMigrationTest extends BaseApiTest {
+
+	private static final String COLLECTION = "employeesLayoutMigrationTest";
+
+	@Autowired
+	private MongoTemplate mongoTemplate;
+
+	@BeforeEach
+	void createCollection() {
+		mongoTemplate.dropCollection(COLLECTION);
+		for (int i = 0; i < 3; i++) {
+			mongoTemplate.insert(new Document("firstName", "Layout" + i).append("email", "layout" + i + "@example.com"),
+					COLLECTION);
+		}
+	}
+
+	@AfterEach
+	void dropCollection() {
+		mongoTemplate.dropCollection(COLLECTION);
+	}
+
+	@Test
+	void compactSwitch_renamesEveryEmployee_whileBothUniqueEmailIndexesExist() {
+		mongoTemplate.indexOps(COLLECTION).createIndex(declaredEmailIndex("email"));
+		// Built over documents that all lack the key, as the reconciler does before the migration has run
+		mongoTemplate.indexOps(COLLECTION).createIndex(declaredEmailIndex("em"));
+		MongoTemplate named = mock(MongoTemplate.class);
+		when(named.getCollectionName(Employee.class)).thenReturn(COLLECTION);
+		EmployeeLayoutMigration migration = new EmployeeLayoutMigration(named, new EmployeeStorageLayout(true));
+
+		for (Document document : mongoTemplate.find(new Query(migration.pending()), Document.class, COLLECTION)) {
+			Update update = migration.migrate(document);
+			mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(document.get("_id"))), update, COLLECTION);
+		}
+
+		List<Document> migrated = mongoTemplate.findAll(Document.class, COLLECTION);
+		assertThat(migrated).hasSize(3)
+				.allSatisfy(document -> assertThat(document).containsKeys("fn", "em").doesNotContainKey("email"));
+		assertThat(mongoTemplate.count(new Query(migration.pending()), COLLECTION)).isZero();
+	}
+
+	/**
+	 * The unique email index as declared on {@link Employee}, on the given key.
+	 */
+	private Index declaredEmailIndex(String key) {
+		MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+		Document options = new MongoPersistentEntityIndexResolver(mappingContext)
+				.resolveIndexForEntity(mappingContext.getRequiredPersistentEntity(Employee.class)).stream()
+				.map(IndexDefinitionHolder::getIndexOptions)
+				.filter(candidate -> "email".equals(candidate.getString("name")))
+				.findFirst()
+				.orElseThrow();
+		Index index = new Index(key, Direction.ASC).named(key + "_unique");
+		if (options.getBoolean("unique", false)) {
+			index.unique();
+		}
+		if (options.getBoolean("sparse", false)) {
+			index.sparse();
+		}
+		return index;
+	}
+}
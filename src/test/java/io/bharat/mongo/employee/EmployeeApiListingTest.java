@@ -3,14 +3,20 @@ package io.bharat.mongo.employee;
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 
+import io.bharat.mongo.employee.dto.EmployeeFacetsResponse;
+import io.bharat.mongo.employee.dto.EmployeeRequest;
 import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.dto.FacetCount;
 import io.bharat.mongo.testsupport.BaseApiTest;
 import io.bharat.mongo.testsupport.EmployeeRequests;
 
@@ -36,5 +42,70 @@ class EmployeeApiListingTest extends BaseApiTest {
 		assertThat(ids).contains(first.id(), second.id());
 		assertThat(response.length).isGreaterThanOrEqualTo(2);
 	}
-}
 
+	@Test
+	void paged_list_reports_exact_total_count() {
+		employees.create(EmployeeRequests.randomEmployee());
+		employees.create(EmployeeRequests.randomEmployee());
+
+		var response = given(authSpec)
+				.queryParam("size", 1)
+				.queryParam("count", "exact")
+				.when()
+				.get(env.employeesPath())
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract();
+
+		assertThat(response.as(EmployeeResponse[].class)).hasSize(1);
+		assertThat(Long.parseLong(response.header("X-Total-Count"))).isGreaterThanOrEqualTo(2);
+	}
+
+	@Test
+	void sorted_list_withoutFilterOrPaging_isOrderedBySalary() {
+		EmployeeRequest base = EmployeeRequests.randomEmployee();
+		employees.create(new EmployeeRequest(base.firstName(), base.lastName(), base.email(), base.department(),
+				base.jobTitle(), new BigDecimal("10.00"), base.dateOfJoining()));
+		base = EmployeeRequests.randomEmployee();
+		employees.create(new EmployeeRequest(base.firstName(), base.lastName(), base.email(), base.department(),
+				base.jobTitle(), new BigDecimal("9999999.00"), base.dateOfJoining()));
+
+		EmployeeResponse[] response = given(authSpec)
+				.queryParam("sort", "salary,desc")
+				.when()
+				.get(env.employeesPath())
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.as(EmployeeResponse[].class);
+
+		assertThat(response).hasSizeGreaterThanOrEqualTo(2)
+				.isSortedAccordingTo(Comparator.comparing(EmployeeResponse::salary,
+						Comparator.nullsLast(Comparator.reverseOrder())));
+	}
+
+	@Test
+	void facets_countEmployeesPerDepartment_andReflectNewEmployees() {
+		String department = "Facet-" + UUID.randomUUID().toString().substring(0, 8);
+		EmployeeRequest base = EmployeeRequests.randomEmployee();
+		employees.create(new EmployeeRequest(base.firstName(), base.lastName(), base.email(), department,
+				base.jobTitle(), base.salary(), base.dateOfJoining()));
+		assertThat(facets().departments()).contains(new FacetCount(department, 1));
+
+		base = EmployeeRequests.randomEmployee();
+		employees.create(new EmployeeRequest(base.firstName(), base.lastName(), base.email(), department,
+				base.jobTitle(), base.salary(), base.dateOfJoining()));
+
+		assertThat(facets().departments()).contains(new FacetCount(department, 2));
+	}
+
+	private EmployeeFacetsResponse facets() {
+		return given(authSpec)
+				.when()
+				.get(env.employeesPath() + "/facets")
+				.then()
+				.statusCode(HttpStatus.OK.value())
+				.extract()
+				.as(EmployeeFacetsResponse.class);
+	}
+}
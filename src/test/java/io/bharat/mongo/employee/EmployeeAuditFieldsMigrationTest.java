@@ -0,0 +1,75 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import io.bharat.mongo.config.CompactFieldNamingStrategy;
+import io.bharat.mongo.config.MongoConfig;
+import io.bharat.mongo.employee.migration.EmployeeAuditFieldsMigration;
+import io.bharat.mongo.employee.model.Employee;
+
+class EmployeeAuditFieldsMigrationTest {
+
+	private final EmployeeAuditFieldsMigration migration = migration();
+
+	@Test
+	void legacyEmployee_getsCreatedAtFromItsObjectId() {
+		ObjectId id = new ObjectId();
+
+		Document set = migration.migrate(new Document("_id", id)).getUpdateObject().get("$set", Document.class);
+
+		assertThat(set.get("ca")).isEqualTo(id.getDate());
+		assertThat(set.get("lm")).isInstanceOf(Date.class);
+	}
+
+	@Test
+	void existingCreatedAt_isKept() {
+		Document set = migration.migrate(new Document("_id", new ObjectId()).append("ca", new Date(0)))
+				.getUpdateObject().get("$set", Document.class);
+
+		assertThat(set).containsOnlyKeys("lm");
+		assertThat(migration.pending().getCriteriaObject()).isEqualTo(new Document("$or", List.of(
+				new Document("lm", new Document("$exists", false)),
+				new Document("ca", new Document("$exists", false)))));
+	}
+
+	@Test
+	void importedEmployeeWithoutCreatedAt_keepsItsLastModifiedAt() {
+		ObjectId id = new ObjectId();
+
+		Document set = migration.migrate(new Document("_id", id).append("lm", new Date(0)))
+				.getUpdateObject().get("$set", Document.class);
+
+		assertThat(set).containsOnlyKeys("ca");
+		assertThat(set.get("ca")).isEqualTo(id.getDate());
+	}
+
+	private static EmployeeAuditFieldsMigration migration() {
+		MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		context.setFieldNamingStrategy(new CompactFieldNamingStrategy());
+		context.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getCollectionName(Employee.class)).thenReturn("employees");
+		when(mongoTemplate.getConverter()).thenReturn(converter);
+		return new EmployeeAuditFieldsMigration(mongoTemplate);
+	}
+}
@@ -0,0 +1,170 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import io.bharat.mongo.employee.api.EmployeeEventController;
+import io.bharat.mongo.employee.service.EmployeeChangeBroadcaster;
+import io.bharat.mongo.employee.service.EmployeeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeChangeStreamTest {
+
+	private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private EmployeeChangeBroadcaster broadcaster;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		broadcaster = new EmployeeChangeBroadcaster(3, 2, Duration.ofMinutes(1), meterRegistry);
+		mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeEventController(broadcaster))
+				.setMessageConverters(new StringHttpMessageConverter(), new JacksonJsonHttpMessageConverter())
+				.build();
+	}
+
+	@AfterEach
+	void tearDown() {
+		broadcaster.destroy();
+	}
+
+	@Test
+	void writes_arePushedToSubscribers() throws Exception {
+		MockHttpServletResponse stream = open(get("/api/employees/events"));
+
+		broadcaster.onEmployeeChanged(EmployeeChangedEvent.updated("emp1"));
+
+		// The event is written in parts; the data line comes last
+		String frames = awaitContent(stream, "\"employeeId\":\"emp1\"");
+		assertThat(frames).contains("event:updated", "\"type\":\"UPDATED\"");
+		assertThat(EVENT_ID.matcher(frames).find()).isTrue();
+	}
+
+	@Test
+	void reconnect_withLastEventId_replaysOnlyMissedEvents() throws Exception {
+		MockHttpServletResponse first = open(get("/api/employees/events"));
+		broadcaster.onEmployeeChanged(EmployeeChangedEvent.created("emp1"));
+		String lastSeen = lastEventId(awaitContent(first, "emp1"));
+
+		broadcaster.onEmployeeChanged(EmployeeChangedEvent.deleted("emp2"));
+		MockHttpServletResponse resumed = open(get("/api/employees/events").header("Last-Event-ID", lastSeen));
+
+		String frames = awaitContent(resumed, "emp2");
+		assertThat(frames).contains("event:deleted").doesNotContain("emp1");
+	}
+
+	@Test
+	void reconnect_outsideTheResumeWindow_getsReset() throws Exception {
+		MockHttpServletResponse unknownRun = open(get("/api/employees/events").param("lastEventId", "0badcafe:7"));
+		assertThat(awaitContent(unknownRun, "event:reset")).doesNotContain("id:");
+
+		MockHttpServletResponse first = open(get("/api/employees/events"));
+		broadcaster.onEmployeeChanged(EmployeeChangedEvent.created("emp1"));
+		String lastSeen = lastEventId(awaitContent(first, "emp1"));
+		// Two missed events fill the client buffer of two, so they are not replayed
+		broadcaster.onEmployeeChanged(EmployeeChangedEvent.created("emp2"));
+		broadcaster.onEmployeeChanged(EmployeeChangedEvent.created("emp3"));
+
+		MockHttpServletResponse tooFarBehind = open(get("/api/employees/events").header("Last-Event-ID", lastSeen));
+		assertThat(awaitContent(tooFarBehind, "event:reset")).doesNotContain("emp2");
+	}
+
+	@Test
+	void idleStreams_getHeartbeatComments() throws Exception {
+		MockHttpServletResponse stream = open(get("/api/employees/events"));
+
+		broadcaster.sendHeartbeats();
+
+		assertThat(awaitContent(stream, ":heartbeat")).doesNotContain("event:");
+		assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+	}
+
+	@Test
+	void stalledSubscriber_isDisconnected_withoutBlockingPublishers() throws Exception {
+		CountDownLatch stall = new CountDownLatch(1);
+		MockMvc stalledClient = MockMvcBuilders.standaloneSetup(new EmployeeEventController(broadcaster))
+				.setMessageConverters(new StringHttpMessageConverter(), new JacksonJsonHttpMessageConverter() {
+					@Override
+					protected void writeInternal(Object object, ResolvableType type, HttpOutputMessage output,
+							Map<String, Object> hints) throws IOException {
+						// The socket stops accepting bytes
+						awaitQuietly(stall);
+						super.writeInternal(object, type, output, hints);
+					}
+				})
+				.build();
+		stalledClient.perform(get("/api/employees/events")).andExpect(request().asyncStarted());
+		assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+
+		try {
+			// One frame stuck in the send plus a full buffer of two; the next one overflows
+			assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+				for (int i = 0; i < 4; i++) {
+					broadcaster.onEmployeeChanged(EmployeeChangedEvent.updated("emp" + i));
+				}
+			});
+
+			assertThat(broadcaster.subscriberCount()).isZero();
+			assertThat(meterRegistry.counter("employee.events.disconnects", "reason", "slow-consumer").count())
+					.isEqualTo(1);
+		} finally {
+			stall.countDown();
+		}
+	}
+
+	private MockHttpServletResponse open(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult result = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+		return result.getResponse();
+	}
+
+	private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		String content = response.getContentAsString();
+		while (!content.contains(expected) && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+			content = response.getContentAsString();
+		}
+		assertThat(content).contains(expected);
+		return content;
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String lastEventId(String frames) {
+		Matcher matcher = EVENT_ID.matcher(frames);
+		String last = null;
+		while (matcher.find()) {
+			last = matcher.group(1);
+		}
+		return last;
+	}
+}
@@ -0,0 +1,127 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.bharat.mongo.employee.dto.EmployeeChangesResponse;
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.exception.ChangesCursorExpiredException;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.service.EmployeeChangesService;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeChangesServiceTest {
+
+	private static final Instant T1 = Instant.now().minus(Duration.ofHours(2)).truncatedTo(ChronoUnit.MILLIS);
+	private static final Instant T2 = T1.plusSeconds(60);
+
+	@Mock
+	private EmployeeRepository repository;
+
+	private EmployeeChangesService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new EmployeeChangesService(repository, Duration.ofSeconds(5), Duration.ofDays(30));
+	}
+
+	@Test
+	void initialSync_pagesThroughEmployees_withoutTombstones() {
+		when(repository.findModifiedSince(eq(Instant.EPOCH), eq(""), any(), eq(3)))
+				.thenReturn(List.of(employee("a", T1), employee("b", T1), employee("c", T2)));
+
+		EmployeeChangesResponse response = service.changes(null, 2);
+
+		assertThat(response.upserts()).extracting(EmployeeResponse::id).containsExactly("a", "b");
+		assertThat(response.deletes()).isEmpty();
+		assertThat(response.nextCursor()).isEqualTo(T1.toEpochMilli() + "_b");
+		assertThat(response.hasMore()).isTrue();
+		verify(repository, never()).findDeletedSince(any(), anyString(), any(), anyInt());
+	}
+
+	@Test
+	void resumedSync_mergesUpsertsAndDeletes_inChangeOrder() {
+		Instant after = T1.minusSeconds(1);
+		String cursor = after.toEpochMilli() + "_z";
+		when(repository.findModifiedSince(eq(after), eq("z"), any(), eq(11)))
+				.thenReturn(List.of(employee("a", T1), employee("c", T2)));
+		when(repository.findDeletedSince(eq(after), eq("z"), any(), eq(11)))
+				.thenReturn(List.of(new EmployeeTombstone("b", T1)));
+
+		EmployeeChangesResponse response = service.changes(cursor, 10);
+
+		assertThat(response.upserts()).extracting(EmployeeResponse::id).containsExactly("a", "c");
+		assertThat(response.deletes()).containsExactly("b");
+		assertThat(response.nextCursor()).isEqualTo(T2.toEpochMilli() + "_c");
+		assertThat(response.hasMore()).isFalse();
+	}
+
+	@Test
+	void noChanges_movesTheCursorUpToTheSettleWindow() {
+		String cursor = T2.toEpochMilli() + "_c";
+		when(repository.findModifiedSince(any(), anyString(), any(), anyInt())).thenReturn(List.of());
+		when(repository.findDeletedSince(any(), anyString(), any(), anyInt())).thenReturn(List.of());
+		long settled = Instant.now().minusSeconds(5).toEpochMilli();
+
+		EmployeeChangesResponse response = service.changes(cursor, 10);
+
+		assertThat(response.nextCursor()).endsWith("_");
+		assertThat(Long.parseLong(response.nextCursor().substring(0, response.nextCursor().length() - 1)))
+				.isBetween(settled - 1, settled + 1_000);
+		assertThat(response.hasMore()).isFalse();
+	}
+
+	@Test
+	void idlePolling_keepsWorking_pastTheTombstoneRetention() throws InterruptedException {
+		EmployeeChangesService shortRetention = new EmployeeChangesService(repository, Duration.ZERO,
+				Duration.ofSeconds(1));
+		when(repository.findModifiedSince(any(), anyString(), any(), anyInt())).thenReturn(List.of());
+		when(repository.findDeletedSince(any(), anyString(), any(), anyInt())).thenReturn(List.of());
+		String first = Instant.now().minusMillis(600).toEpochMilli() + "_c";
+
+		String next = shortRetention.changes(first, 10).nextCursor();
+		Thread.sleep(600);
+
+		// The first cursor is now past the retention, but nothing was missed with the one returned by the idle poll
+		assertThatThrownBy(() -> shortRetention.changes(first, 10)).isInstanceOf(ChangesCursorExpiredException.class);
+		assertThat(shortRetention.changes(next, 10).deletes()).isEmpty();
+	}
+
+	@Test
+	void cursorOlderThanTombstoneRetention_isRejected() {
+		String cursor = Instant.now().minus(Duration.ofDays(31)).toEpochMilli() + "_a";
+
+		assertThatThrownBy(() -> service.changes(cursor, 10))
+				.isInstanceOf(ChangesCursorExpiredException.class);
+		verify(repository, never()).findModifiedSince(any(), anyString(), any(), anyInt());
+	}
+
+	private static Employee employee(String id, Instant lastModifiedAt) {
+		Employee employee = new Employee(id, "Jane", "Doe", id + "@example.com", "Engineering", "Engineer",
+				BigDecimal.valueOf(100000), LocalDate.of(2023, 1, 15));
+		employee.setLastModifiedAt(lastModifiedAt);
+		return employee;
+	}
+}
@@ -0,0 +1,218 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+
+import io.bharat.mongo.employee.api.EmployeeController;
+import io.bharat.mongo.employee.api.EmployeeDocumentsHttpMessageConverter;
+import io.bharat.mongo.employee.api.EmployeeProtobufHttpMessageConverter;
+import io.bharat.mongo.employee.api.GlobalExceptionHandler;
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.dto.EmployeeLookupResponse;
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeStorageLayout;
+import io.bharat.mongo.employee.service.EmployeeChangesService;
+import io.bharat.mongo.employee.service.EmployeeCountService;
+import io.bharat.mongo.employee.service.EmployeeDocumentList;
+import io.bharat.mongo.employee.service.EmployeeFacetService;
+import io.bharat.mongo.employee.service.EmployeeJsonTranscoder;
+import io.bharat.mongo.employee.service.EmployeeService;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+class EmployeeContentNegotiationTest {
+
+	private static final EmployeeResponse ADA = new EmployeeResponse("6650f1c2e4b0a1b2c3d4e5f6", "Ada", "Lovelace",
+			"ada@example.com", "Engineering", "Analyst", new BigDecimal("120000.50"), LocalDate.of(2021, 3, 4));
+	private static final EmployeeResponse GRACE = new EmployeeResponse("6650f1c2e4b0a1b2c3d4e5f7", "Grace", "Hopper",
+			"grace@example.com", "", null, null, null);
+
+	private final EmployeeService employeeService = mock(EmployeeService.class);
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		when(employeeService.findAll(any(EmployeeFilter.class), any())).thenReturn(List.of(ADA, GRACE));
+		when(employeeService.findById(ADA.id())).thenReturn(ADA);
+		when(employeeService.findByIds(List.of(ADA.id(), "gone")))
+				.thenReturn(new EmployeeLookupResponse(List.of(ADA), List.of("gone")));
+		// Same order as the application: custom converter beans first, then Spring's defaults
+		mockMvc = MockMvcBuilders
+				.standaloneSetup(new EmployeeController(employeeService, mock(EmployeeCountService.class),
+						mock(EmployeeFacetService.class), mock(EmployeeChangesService.class)))
+				.setMessageConverters(new EmployeeDocumentsHttpMessageConverter(JsonMapper.builder().build()),
+						new EmployeeProtobufHttpMessageConverter(), new ByteArrayHttpMessageConverter(),
+						new JacksonJsonHttpMessageConverter(), new JacksonSmileHttpMessageConverter(),
+						new JacksonCborHttpMessageConverter())
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void wildcardAccept_getsJson() throws Exception {
+		mockMvc.perform(get("/api/employees").accept(MediaType.ALL))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+		mockMvc.perform(get("/api/employees"))
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void smileAndCbor_roundTripThroughJackson() throws Exception {
+		byte[] smile = mockMvc.perform(get("/api/employees/" + ADA.id()).accept("application/x-jackson-smile"))
+				.andExpect(content().contentType("application/x-jackson-smile"))
+				.andReturn().getResponse().getContentAsByteArray();
+		byte[] cbor = mockMvc.perform(get("/api/employees/" + ADA.id()).accept(MediaType.APPLICATION_CBOR))
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertThat(SmileMapper.builder().build().readValue(smile, EmployeeResponse.class)).isEqualTo(ADA);
+		assertThat(CBORMapper.builder().build().readValue(cbor, EmployeeResponse.class)).isEqualTo(ADA);
+	}
+
+	@Test
+	void storedDocuments_areWrittenAsTheSameJson_andDecodedForOtherFormats() throws Exception {
+		String mapped = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_JSON))
+				.andReturn().getResponse().getContentAsString();
+		MappingMongoConverter converter = EmployeeJsonTranscoderTest.converter(false);
+		EmployeeJsonTranscoder transcoder = spy(new EmployeeJsonTranscoder(converter,
+				new EmployeeStorageLayout(false), true));
+		List<RawBsonDocument> documents = new ArrayList<>();
+		for (EmployeeResponse employee : List.of(ADA, GRACE)) {
+			documents.add(EmployeeJsonTranscoderTest.raw(EmployeeJsonTranscoderTest.stored(converter,
+					new Employee(null, employee.firstName(), employee.lastName(), employee.email(),
+							employee.department(), employee.jobTitle(), employee.salary(), employee.dateOfJoining()))
+					.append("_id", new ObjectId(employee.id()))));
+		}
+		when(employeeService.findAll(any(EmployeeFilter.class), any()))
+				.thenReturn(new EmployeeDocumentList(documents, transcoder));
+
+		mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(content().string(mapped));
+		verify(transcoder).jsonOutput(any());
+		byte[] smile = mockMvc.perform(get("/api/employees").accept("application/x-jackson-smile"))
+				.andExpect(content().contentType("application/x-jackson-smile"))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertThat(SmileMapper.builder().build().readValue(smile, EmployeeResponse[].class))
+				.containsExactly(ADA, GRACE);
+	}
+
+	@Test
+	void protobufList_followsSchema() throws Exception {
+		byte[] body = mockMvc.perform(get("/api/employees").accept(MediaType.APPLICATION_PROTOBUF))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROTOBUF))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		CodedInputStream in = CodedInputStream.newInstance(body);
+		List<EmployeeResponse> employees = new ArrayList<>();
+		while (!in.isAtEnd()) {
+			int tag = in.readTag();
+			assertThat(WireFormat.getTagFieldNumber(tag)).isEqualTo(1);
+			assertThat(WireFormat.getTagWireType(tag)).isEqualTo(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			int limit = in.pushLimit(in.readRawVarint32());
+			employees.add(readEmployee(in));
+			in.popLimit(limit);
+		}
+
+		// Empty and missing fields are left off the wire and decode to proto3 defaults
+		assertThat(employees).containsExactly(ADA, new EmployeeResponse(GRACE.id(), "Grace", "Hopper",
+				"grace@example.com", "", "", null, null));
+	}
+
+	@Test
+	void protobufSingleEmployee_isBareMessage() throws Exception {
+		byte[] body = mockMvc.perform(get("/api/employees/" + ADA.id()).accept(MediaType.APPLICATION_PROTOBUF))
+				.andExpect(content().contentType(MediaType.APPLICATION_PROTOBUF))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertThat(readEmployee(CodedInputStream.newInstance(body))).isEqualTo(ADA);
+	}
+
+	@Test
+	void protobufLookup_listsEmployeesThenMissingIds() throws Exception {
+		byte[] body = mockMvc.perform(post("/api/employees/lookup").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":[\"" + ADA.id() + "\",\"gone\"]}")
+				.accept(MediaType.APPLICATION_PROTOBUF))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_PROTOBUF))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		CodedInputStream in = CodedInputStream.newInstance(body);
+		assertThat(WireFormat.getTagFieldNumber(in.readTag())).isEqualTo(1);
+		int limit = in.pushLimit(in.readRawVarint32());
+		assertThat(readEmployee(in)).isEqualTo(ADA);
+		in.popLimit(limit);
+		assertThat(WireFormat.getTagFieldNumber(in.readTag())).isEqualTo(2);
+		assertThat(in.readString()).isEqualTo("gone");
+		assertThat(in.isAtEnd()).isTrue();
+	}
+
+	@Test
+	void errors_areJsonWhateverWasNegotiated() throws Exception {
+		mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content("{}")
+				.accept(MediaType.APPLICATION_PROTOBUF))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.message").value("Validation failed"));
+		mockMvc.perform(post("/api/employees").contentType(MediaType.APPLICATION_JSON).content("{}")
+				.accept(MediaType.APPLICATION_CBOR))
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON));
+	}
+
+	private static EmployeeResponse readEmployee(CodedInputStream in) throws IOException {
+		String[] strings = { "", "", "", "", "", "" };
+		BigDecimal salary = null;
+		LocalDate dateOfJoining = null;
+		int tag;
+		while ((tag = in.readTag()) != 0) {
+			int field = WireFormat.getTagFieldNumber(tag);
+			if (field <= 6) {
+				strings[field - 1] = in.readString();
+			} else if (field == 7) {
+				salary = new BigDecimal(in.readString());
+			} else if (field == 8) {
+				dateOfJoining = LocalDate.ofEpochDay(in.readInt32());
+			} else {
+				in.skipField(tag);
+			}
+		}
+		return new EmployeeResponse(strings[0], strings[1], strings[2], strings[3], strings[4], strings[5], salary,
+				dateOfJoining);
+	}
+}
@@ -4,11 +4,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest.Changes;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest.Match;
 import io.bharat.mongo.employee.dto.EmployeeRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
@@ -64,5 +68,47 @@ class EmployeeControllerValidationTest {
 
 		assertThat(violations).anyMatch(v -> v.getPropertyPath().toString().equals("salary"));
 	}
-}
 
+	@Test
+	void bulkUpdate_withoutMatchConditions_triggersViolation() {
+		EmployeeBulkUpdateRequest request = new EmployeeBulkUpdateRequest(new Match(null, null, List.of()),
+				new Changes("Revenue", null, null, null), false);
+
+		Set<ConstraintViolation<EmployeeBulkUpdateRequest>> violations = validator.validate(request);
+
+		assertThat(violations).anyMatch(v -> v.getMessage().equals("match needs department, jobTitle or ids"));
+	}
+
+	@Test
+	void bulkUpdate_withBothSalaryChanges_triggersViolation() {
+		EmployeeBulkUpdateRequest request = new EmployeeBulkUpdateRequest(new Match("Sales", null, null),
+				new Changes(null, null, BigDecimal.TEN, BigDecimal.ONE), false);
+
+		Set<ConstraintViolation<EmployeeBulkUpdateRequest>> violations = validator.validate(request);
+
+		assertThat(violations).extracting(ConstraintViolation::getMessage)
+				.containsExactly("use either salaryPercent or salaryAmount, not both");
+	}
+
+	@Test
+	void bulkUpdate_withoutChanges_triggersViolation() {
+		EmployeeBulkUpdateRequest request = new EmployeeBulkUpdateRequest(new Match("Sales", null, null),
+				new Changes(null, null, null, null), false);
+
+		Set<ConstraintViolation<EmployeeBulkUpdateRequest>> violations = validator.validate(request);
+
+		assertThat(violations).extracting(ConstraintViolation::getMessage)
+				.containsExactly("changes needs department, jobTitle, salaryPercent or salaryAmount");
+	}
+
+	@Test
+	void bulkUpdate_withBlankJobTitle_triggersViolation() {
+		EmployeeBulkUpdateRequest request = new EmployeeBulkUpdateRequest(new Match("Sales", null, null),
+				new Changes(null, " ", null, null), false);
+
+		Set<ConstraintViolation<EmployeeBulkUpdateRequest>> violations = validator.validate(request);
+
+		assertThat(violations).extracting(ConstraintViolation::getMessage)
+				.containsExactly("jobTitle must not be blank");
+	}
+}
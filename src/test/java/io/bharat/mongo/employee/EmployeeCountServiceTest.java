@@ -0,0 +1,66 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.service.CountMode;
+import io.bharat.mongo.employee.service.EmployeeChangedEvent;
+import io.bharat.mongo.employee.service.EmployeeCountService;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeCountServiceTest {
+
+	private static final EmployeeFilter ENGINEERING = new EmployeeFilter("Engineering", null);
+
+	@Mock
+	private EmployeeRepository repository;
+
+	private EmployeeCountService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new EmployeeCountService(repository, Duration.ofMinutes(1), 100);
+	}
+
+	@Test
+	void approximateUnfiltered_usesEstimatedCount() {
+		when(repository.estimatedCount()).thenReturn(42L);
+
+		assertThat(service.count(EmployeeFilter.NONE, CountMode.APPROXIMATE)).isEqualTo(42L);
+		verify(repository, never()).countByFilter(EmployeeFilter.NONE);
+	}
+
+	@Test
+	void approximateFiltered_isCachedUntilAWrite() {
+		when(repository.countByFilter(ENGINEERING)).thenReturn(7L, 8L);
+
+		assertThat(service.count(ENGINEERING, CountMode.APPROXIMATE)).isEqualTo(7L);
+		assertThat(service.count(new EmployeeFilter(" Engineering ", ""), CountMode.APPROXIMATE)).isEqualTo(7L);
+		verify(repository, times(1)).countByFilter(ENGINEERING);
+
+		service.onEmployeeChanged(EmployeeChangedEvent.created("emp1"));
+
+		assertThat(service.count(ENGINEERING, CountMode.APPROXIMATE)).isEqualTo(8L);
+	}
+
+	@Test
+	void exact_alwaysCountsDocuments() {
+		when(repository.countByFilter(ENGINEERING)).thenReturn(7L, 9L);
+
+		assertThat(service.count(ENGINEERING, CountMode.EXACT)).isEqualTo(7L);
+		assertThat(service.count(ENGINEERING, CountMode.EXACT)).isEqualTo(9L);
+	}
+}
@@ -0,0 +1,63 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.bharat.mongo.employee.dto.EmployeeFacetsResponse;
+import io.bharat.mongo.employee.dto.FacetCount;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.service.EmployeeChangedEvent;
+import io.bharat.mongo.employee.service.EmployeeFacetService;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeFacetServiceTest {
+
+	private static final List<FacetCount> DEPARTMENTS = List.of(new FacetCount("Engineering", 3));
+	private static final List<FacetCount> JOB_TITLES = List.of(new FacetCount("Engineer", 2),
+			new FacetCount("Manager", 1));
+
+	@Mock
+	private EmployeeRepository repository;
+
+	private EmployeeFacetService service;
+
+	@BeforeEach
+	void setUp() {
+		when(repository.countByValue("department")).thenReturn(DEPARTMENTS);
+		when(repository.countByValue("jobTitle")).thenReturn(JOB_TITLES);
+		service = new EmployeeFacetService(repository, Duration.ofMinutes(1));
+	}
+
+	@Test
+	void facets_areCached() {
+		EmployeeFacetsResponse first = service.facets();
+		EmployeeFacetsResponse second = service.facets();
+
+		assertThat(first).isEqualTo(new EmployeeFacetsResponse(DEPARTMENTS, JOB_TITLES));
+		assertThat(second).isEqualTo(first);
+		verify(repository, times(1)).countByValue("department");
+		verify(repository, times(1)).countByValue("jobTitle");
+	}
+
+	@Test
+	void anyWrite_dropsCachedFacets() {
+		service.facets();
+
+		service.onEmployeeChanged(EmployeeChangedEvent.created("emp1"));
+		service.facets();
+
+		verify(repository, times(2)).countByValue("department");
+		verify(repository, times(2)).countByValue("jobTitle");
+	}
+}
@@ -0,0 +1,132 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.mongodb.ReadPreference;
+
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.service.EmployeeHedgedReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeHedgedReadsTest {
+
+	private static final Employee EMPLOYEE = new Employee("emp1", "Jane", "Doe", "jane.doe@example.com",
+			"Engineering", "Engineer", BigDecimal.valueOf(100000), LocalDate.of(2023, 1, 15));
+
+	@Mock
+	private EmployeeRepository repository;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private EmployeeHedgedReads hedgedReads;
+
+	@BeforeEach
+	void setUp() {
+		hedgedReads = new EmployeeHedgedReads(repository, true, "secondaryPreferred", "primary", 0.95,
+				Duration.ofMillis(20), 0.0, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		hedgedReads.destroy();
+	}
+
+	@Test
+	void noHedge_untilThePercentileIsKnown_thenOnlyForSlowReads() throws Exception {
+		assertThat(hedgedReads.hedgeDelay()).isGreaterThan(Duration.ofDays(1));
+		when(repository.findByIdFrom(anyString(), eq(ReadPreference.secondaryPreferred())))
+				.thenReturn(Optional.of(EMPLOYEE));
+
+		warmUp();
+
+		assertThat(hedgedReads.hedgeDelay()).isEqualTo(Duration.ofMillis(20));
+		assertThat(outcome("not-needed")).isEqualTo(128);
+		assertThat(outcome("hedge-won")).isZero();
+	}
+
+	@Test
+	void slowFirstRead_losesToTheHedge_andIsCancelled() throws Exception {
+		CountDownLatch cancelled = new CountDownLatch(1);
+		when(repository.findByIdFrom(anyString(), eq(ReadPreference.secondaryPreferred())))
+				.thenReturn(Optional.of(EMPLOYEE));
+		warmUp();
+		when(repository.findByIdFrom("slow", ReadPreference.secondaryPreferred())).thenAnswer(invocation -> {
+			try {
+				Thread.sleep(5_000);
+			} catch (InterruptedException ex) {
+				cancelled.countDown();
+			}
+			return Optional.empty();
+		});
+		when(repository.findByIdFrom("slow", ReadPreference.primary())).thenReturn(Optional.of(EMPLOYEE));
+
+		long start = System.nanoTime();
+		assertThat(hedgedReads.findById("slow")).contains(EMPLOYEE);
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+		assertThat(cancelled.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(outcome("hedge-won")).isEqualTo(1);
+	}
+
+	@Test
+	void hedgesStop_whenTheBudgetIsSpent() throws Exception {
+		when(repository.findByIdFrom(anyString(), eq(ReadPreference.secondaryPreferred())))
+				.thenReturn(Optional.of(EMPLOYEE));
+		warmUp();
+		when(repository.findByIdFrom("slow", ReadPreference.secondaryPreferred())).thenAnswer(invocation -> {
+			Thread.sleep(60);
+			return Optional.of(EMPLOYEE);
+		});
+		when(repository.findByIdFrom("slow", ReadPreference.primary())).thenReturn(Optional.of(EMPLOYEE));
+
+		// A budget of zero leaves only the initial burst of ten hedges
+		for (int i = 0; i < 12; i++) {
+			assertThat(hedgedReads.findById("slow")).contains(EMPLOYEE);
+		}
+
+		assertThat(outcome("hedge-won") + outcome("first-won")).isEqualTo(10);
+		assertThat(outcome("over-budget")).isEqualTo(2);
+	}
+
+	@Test
+	void readsSecondaries_unlessBothPreferencesArePrimary() {
+		assertThat(hedgedReads.readsSecondaries()).isTrue();
+		assertThat(hedgedReads("primary", "primaryPreferred").readsSecondaries()).isTrue();
+		assertThat(hedgedReads("primary", "primary").readsSecondaries()).isFalse();
+	}
+
+	private EmployeeHedgedReads hedgedReads(String readPreference, String hedgeReadPreference) {
+		EmployeeHedgedReads reads = new EmployeeHedgedReads(repository, false, readPreference, hedgeReadPreference,
+				0.95, Duration.ofMillis(20), 0.0, meterRegistry);
+		reads.destroy();
+		return reads;
+	}
+
+	private void warmUp() {
+		for (int i = 0; i < 128; i++) {
+			hedgedReads.findById("emp" + i);
+		}
+	}
+
+	private double outcome(String outcome) {
+		return meterRegistry.get("employee.read.hedging").tag("outcome", outcome).counter().count();
+	}
+}
@@ -0,0 +1,207 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.auditing.IsNewAwareAuditingHandler;
+import org.springframework.data.mapping.context.PersistentEntities;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import io.bharat.mongo.employee.dto.ImportJobResponse;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.JobStatus;
+import io.bharat.mongo.employee.repository.BulkInsertResult;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.service.EmployeeImportService;
+import io.bharat.mongo.employee.service.EmployeeWriteDurability;
+import io.bharat.mongo.employee.service.ImportFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+	private static final String HEADER = "firstName,lastName,email,department,jobTitle,salary,dateOfJoining\n";
+
+	@Mock
+	private EmployeeRepository repository;
+
+	@Mock
+	private ApplicationEventPublisher events;
+
+	private EmployeeImportService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new EmployeeImportService(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+				JsonMapper.builder().build(), events, new EmployeeWriteDurability("majority", "majority", "majority",
+						"majority", "fast", 2, Duration.ZERO, new SimpleMeterRegistry()),
+				2, 10, 5);
+	}
+
+	@Test
+	void csvImport_insertsValidRows_inChunks() {
+		when(repository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+		when(repository.insertUnordered(anyList()))
+				.thenAnswer(invocation -> new BulkInsertResult(
+						invocation.<List<Employee>>getArgument(0).size(), Map.of()));
+
+		ImportJobResponse job = service.importEmployees(ImportFormat.CSV, stream(HEADER
+				+ "Jane,Doe,Jane@Example.com,Engineering,Developer,100,2023-01-15\n"
+				+ "\"Smith, Jr\",\"O\"\"Neil\",john@example.com,Engineering,\"Lead\nDeveloper\",200,2023-01-15\r\n"
+				+ "Ann,Lee,ann@example.com,Sales,Rep,300,2023-01-15"));
+
+		assertThat(job.status()).isEqualTo(JobStatus.COMPLETED);
+		assertThat(job.rowsRead()).isEqualTo(3);
+		assertThat(job.inserted()).isEqualTo(3);
+		assertThat(job.rejected()).isZero();
+		verify(repository, times(2)).insertUnordered(anyList());
+	}
+
+	@Test
+	void csvImport_setsCreatedAt_whichAuditingSkipsForEmployeesWithIds() {
+		when(repository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+		ArgumentCaptor<List<Employee>> inserted = ArgumentCaptor.captor();
+		when(repository.insertUnordered(inserted.capture()))
+				.thenAnswer(invocation -> new BulkInsertResult(invocation.<List<Employee>>getArgument(0).size(),
+						Map.of()));
+
+		service.importEmployees(ImportFormat.CSV, stream(HEADER
+				+ "Jane,Doe,jane@example.com,Engineering,Developer,100,2023-01-15\n"));
+
+		// What the auditing callback does to the documents on insert
+		IsNewAwareAuditingHandler auditing = new IsNewAwareAuditingHandler(
+				PersistentEntities.of(EmployeeJsonTranscoderTest.converter(false).getMappingContext()));
+		Employee employee = inserted.getValue().get(0);
+		auditing.markAudited(employee);
+		assertThat(employee.getId()).isNotNull();
+		assertThat(employee.getCreatedAt()).isNotNull();
+		assertThat(employee.getLastModifiedAt()).isNotNull();
+		Employee withoutCreatedAt = new Employee("6650f1c2e4b0a1b2c3d4e5f6", null, null, null, null, null, null, null);
+		auditing.markAudited(withoutCreatedAt);
+		assertThat(withoutCreatedAt.getCreatedAt()).isNull();
+	}
+
+	@Test
+	void csvImport_reportsInvalidAndDuplicateRows() {
+		when(repository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@example.com"));
+		when(repository.insertUnordered(anyList()))
+				.thenAnswer(invocation -> new BulkInsertResult(
+						invocation.<List<Employee>>getArgument(0).size(), Map.of()));
+
+		ImportJobResponse job = service.importEmployees(ImportFormat.CSV, stream(HEADER
+				+ ",Doe,jane@example.com,Engineering,Developer,100,2023-01-15\n"
+				+ "Jane,Doe,jane@example.com,Engineering,Developer,abc,2023-01-15\n"
+				+ "Jane,Doe,taken@example.com,Engineering,Developer,100,2023-01-15\n"));
+
+		assertThat(job.inserted()).isZero();
+		assertThat(job.rejected()).isEqualTo(3);
+		assertThat(job.errors()).extracting(error -> error.errors().keySet().iterator().next())
+				.containsExactly("firstName", "salary", "email");
+	}
+
+	@Test
+	void csvImport_retriesChunkAfterNetworkError_andCountsDocumentsTheFirstAttemptWrote() {
+		when(repository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+		when(repository.insertUnordered(anyList()))
+				.thenThrow(new DataAccessResourceFailureException("connection reset"))
+				.thenAnswer(invocation -> new BulkInsertResult(1, Map.of(0, new BulkInsertResult.Failure(11000,
+						"E11000 duplicate key error", Set.of("_id")))));
+
+		ImportJobResponse job = service.importEmployees(ImportFormat.CSV, stream(HEADER
+				+ "Jane,Doe,jane@example.com,Engineering,Developer,100,2023-01-15\n"
+				+ "Ann,Lee,ann@example.com,Sales,Rep,300,2023-01-15\n"));
+
+		assertThat(job.inserted()).isEqualTo(2);
+		assertThat(job.rejected()).isZero();
+		ArgumentCaptor<List<Employee>> attempts = ArgumentCaptor.captor();
+		verify(repository, times(2)).insertUnordered(attempts.capture());
+		assertThat(attempts.getAllValues().get(1)).extracting(Employee::getId)
+				.doesNotContainNull()
+				.isEqualTo(attempts.getAllValues().get(0).stream().map(Employee::getId).toList());
+	}
+
+	@Test
+	void csvImport_looksUpIds_whenTheServerDoesNotNameTheDuplicateKey() {
+		when(repository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+		ArgumentCaptor<List<Employee>> attempt = ArgumentCaptor.captor();
+		when(repository.insertUnordered(attempt.capture()))
+				.thenAnswer(invocation -> new BulkInsertResult(0, Map.of(
+						0, new BulkInsertResult.Failure(11000, "duplicate key"),
+						1, new BulkInsertResult.Failure(11000, "duplicate key"))));
+		// The first document was written by an earlier attempt; the second lost its email to a concurrent writer
+		when(repository.findExistingIds(anyCollection()))
+				.thenAnswer(invocation -> Set.of(attempt.getValue().get(0).getId()));
+
+		ImportJobResponse job = service.importEmployees(ImportFormat.CSV, stream(HEADER
+				+ "Jane,Doe,jane@example.com,Engineering,Developer,100,2023-01-15\n"
+				+ "Ann,Lee,ann@example.com,Sales,Rep,300,2023-01-15\n"));
+
+		assertThat(job.inserted()).isEqualTo(1);
+		assertThat(job.rejected()).isEqualTo(1);
+		assertThat(job.errors()).extracting(error -> error.errors().keySet().iterator().next())
+				.containsExactly("email");
+	}
+
+	@Test
+	void csvImport_failsJob_whenHeaderIncomplete() {
+		ImportJobResponse job = service.importEmployees(ImportFormat.CSV, stream("firstName,lastName\nJane,Doe\n"));
+
+		assertThat(job.status()).isEqualTo(JobStatus.FAILED);
+		assertThat(job.failureReason()).contains("email");
+	}
+
+	@Test
+	void ndjsonImport_rejectsMalformedLines_andInFileDuplicates() {
+		when(repository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+		when(repository.insertUnordered(anyList()))
+				.thenAnswer(invocation -> new BulkInsertResult(
+						invocation.<List<Employee>>getArgument(0).size(), Map.of()));
+
+		ImportJobResponse job = service.importEmployees(ImportFormat.NDJSON, stream("""
+				{"firstName":"Jane","lastName":"Doe","email":"jane@example.com","department":"Eng",\
+				"jobTitle":"Dev","salary":10,"dateOfJoining":"2023-01-15"}
+
+				{"firstName":
+				{"firstName":"Jane","lastName":"Doe","email":"JANE@example.com","department":"Eng",\
+				"jobTitle":"Dev","salary":10,"dateOfJoining":"2023-01-15"}
+				"""));
+
+		assertThat(job.status()).isEqualTo(JobStatus.COMPLETED);
+		assertThat(job.rowsRead()).isEqualTo(3);
+		assertThat(job.inserted()).isEqualTo(1);
+		assertThat(job.errors()).extracting(error -> error.row()).containsExactly(2L, 3L);
+	}
+
+	@Test
+	void findJob_returnsProgressOfRecentImports() {
+		ImportJobResponse job = service.importEmployees(ImportFormat.CSV, stream(HEADER));
+
+		assertThat(service.findJob(job.id())).hasValueSatisfying(found -> assertThat(found.status())
+				.isEqualTo(JobStatus.COMPLETED));
+		assertThat(service.recentJobs()).hasSize(1);
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
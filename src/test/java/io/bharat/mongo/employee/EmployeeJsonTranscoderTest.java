@@ -0,0 +1,151 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import io.bharat.mongo.config.CompactFieldNamingStrategy;
+import io.bharat.mongo.config.MongoConfig;
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeStorageLayout;
+import io.bharat.mongo.employee.service.EmployeeDocumentList;
+import io.bharat.mongo.employee.service.EmployeeJsonTranscoder;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+class EmployeeJsonTranscoderTest {
+
+	private static final ObjectMapper JSON = JsonMapper.builder().build();
+
+	private final MappingMongoConverter converter = converter(false);
+	private final EmployeeJsonTranscoder transcoder = new EmployeeJsonTranscoder(converter,
+			new EmployeeStorageLayout(false), true);
+
+	@Test
+	void json_matchesJacksonOutputOfTheMappedEmployee() {
+		Employee employee = new Employee(null, "Zoë \"Z\"\t☃ 😀", "O'Brien\n", "zoe@example.com", "R&D",
+				"</script>", new BigDecimal("120000.50"), LocalDate.of(2021, 3, 4));
+		Document document = stored(converter, employee);
+		document.put("_id", new ObjectId("6650F1C2E4B0A1B2C3D4E5F6"));
+
+		assertTranscodedLikeEntityPath(document);
+	}
+
+	@Test
+	void missingFieldsAndStringIds_matchEntityPath() {
+		assertTranscodedLikeEntityPath(new Document("_id", "emp-1").append("email", "a@example.com")
+				.append("department", null).append("lastModifiedAt", new Date()));
+		assertTranscodedLikeEntityPath(new Document("_id", new ObjectId())
+				.append("dateOfJoining", stored(converter, new Employee(null, null, null, null, null, null, null,
+						LocalDate.of(1999, 12, 31))).get("dateOfJoining")));
+	}
+
+	@Test
+	void unmigratedSalaries_areWrittenAsNumbers_likeEntityPath() {
+		for (Object salary : List.of("75000.00", "5E+3", 1234.5d, 42, 7_000_000_000L)) {
+			assertTranscodedLikeEntityPath(new Document("_id", new ObjectId()).append("salary", salary));
+		}
+	}
+
+	@Test
+	void compactLayout_readsDocumentsNotYetRewritten() {
+		MappingMongoConverter compact = converter(true);
+		EmployeeJsonTranscoder compactTranscoder = new EmployeeJsonTranscoder(compact,
+				new EmployeeStorageLayout(true), true);
+		Employee employee = new Employee(null, "Ada", "Lovelace", "ada@example.com", "Engineering", "Analyst",
+				new BigDecimal("100.00"), LocalDate.of(2020, 1, 2));
+		ObjectId id = new ObjectId();
+		Document standard = stored(converter, employee).append("_id", id);
+		Document rewritten = stored(compact, employee).append("_id", id);
+		// Half-migrated: the active key wins over the old one
+		Document both = new Document(standard).append("fn", "Augusta");
+
+		EmployeeResponse expected = response(converter.read(Employee.class, standard));
+		assertThat(compactTranscoder.toResponse(raw(standard))).isEqualTo(expected);
+		assertThat(compactTranscoder.toResponse(raw(rewritten))).isEqualTo(expected);
+		assertThat(json(compactTranscoder, raw(both))).contains("\"firstName\":\"Augusta\"");
+		assertThat(compactTranscoder.projection().keySet())
+				.contains("_id", "fn", "firstName", "sal", "salary", "doj", "dateOfJoining")
+				.doesNotContain("ca", "lm", "createdAt", "lastModifiedAt");
+	}
+
+	@Test
+	void documentList_writesAJsonArray_andDecodesElementsOnAccess() {
+		Document ada = stored(converter, new Employee(null, "Ada", null, "ada@example.com", null, null,
+				new BigDecimal("1.10"), null)).append("_id", new ObjectId());
+		Document grace = new Document("_id", new ObjectId()).append("firstName", "Grace");
+		EmployeeDocumentList employees = new EmployeeDocumentList(List.of(raw(ada), raw(grace)), transcoder);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		try (JsonGenerator generator = JSON.createGenerator(out)) {
+			employees.writeJson(generator);
+		}
+
+		List<EmployeeResponse> expected = List.of(response(converter.read(Employee.class, ada)),
+				response(converter.read(Employee.class, grace)));
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(JSON.writeValueAsString(expected));
+		assertThat(employees).containsExactlyElementsOf(expected);
+	}
+
+	private void assertTranscodedLikeEntityPath(Document document) {
+		EmployeeResponse expected = response(converter.read(Employee.class, document));
+
+		assertThat(json(transcoder, raw(document))).isEqualTo(JSON.writeValueAsString(expected));
+		assertThat(transcoder.toResponse(raw(document))).isEqualTo(expected);
+	}
+
+	private static String json(EmployeeJsonTranscoder transcoder, RawBsonDocument document) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonGenerator generator = JSON.createGenerator(out)) {
+			transcoder.jsonOutput(generator).write(document);
+		}
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	static RawBsonDocument raw(Document document) {
+		return new RawBsonDocument(document, new DocumentCodec());
+	}
+
+	static Document stored(MappingMongoConverter converter, Employee employee) {
+		Document document = new Document();
+		converter.write(employee, document);
+		return document;
+	}
+
+	static MappingMongoConverter converter(boolean compact) {
+		MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		if (compact) {
+			context.setFieldNamingStrategy(new CompactFieldNamingStrategy());
+		}
+		context.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	private static EmployeeResponse response(Employee employee) {
+		return new EmployeeResponse(employee.getId(), employee.getFirstName(), employee.getLastName(),
+				employee.getEmail(), employee.getDepartment(), employee.getJobTitle(), employee.getSalary(),
+				employee.getDateOfJoining());
+	}
+}
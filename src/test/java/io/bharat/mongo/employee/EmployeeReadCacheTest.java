@@ -0,0 +1,68 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.bharat.mongo.employee.dto.EmployeeResponse;
+import io.bharat.mongo.employee.service.EmployeeChangedEvent;
+import io.bharat.mongo.employee.service.EmployeeReadCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeReadCacheTest {
+
+	private static final EmployeeResponse JANE = new EmployeeResponse("emp1", "Jane", "Doe", "jane.doe@example.com",
+			"Engineering", "Backend Engineer", BigDecimal.valueOf(120000), LocalDate.of(2023, 1, 15));
+
+	@Test
+	void disabledCache_storesNothing() {
+		EmployeeReadCache cache = cache(false);
+
+		cache.put(JANE, cache.generation());
+
+		assertThat(cache.get("emp1")).isNull();
+		assertThat(cache.getAll(List.of("emp1"))).isEmpty();
+	}
+
+	@Test
+	void updateOrDelete_evictsEmployee() {
+		EmployeeReadCache cache = cache(true);
+		cache.put(JANE, cache.generation());
+		assertThat(cache.getAll(List.of("emp1", "emp2"))).containsOnlyKeys("emp1");
+
+		cache.onEmployeeChanged(EmployeeChangedEvent.updated("emp1"));
+
+		assertThat(cache.get("emp1")).isNull();
+	}
+
+	@Test
+	void readThatRacedAWrite_isNotStored() {
+		EmployeeReadCache cache = cache(true);
+		long readStarted = cache.generation();
+
+		cache.onEmployeeChanged(EmployeeChangedEvent.deleted("emp1"));
+		cache.put(JANE, readStarted);
+
+		assertThat(cache.get("emp1")).isNull();
+	}
+
+	@Test
+	void createsAndImports_keepCachedEmployees() {
+		EmployeeReadCache cache = cache(true);
+		cache.put(JANE, cache.generation());
+
+		cache.onEmployeeChanged(EmployeeChangedEvent.created("emp2"));
+		cache.onEmployeeChanged(EmployeeChangedEvent.imported());
+
+		assertThat(cache.get("emp1")).isEqualTo(JANE);
+	}
+
+	private static EmployeeReadCache cache(boolean enabled) {
+		return new EmployeeReadCache(enabled, Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+	}
+}
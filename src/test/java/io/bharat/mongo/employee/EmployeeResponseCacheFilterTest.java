@@ -0,0 +1,184 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import io.bharat.mongo.employee.api.EmployeeResponseCacheFilter;
+import io.bharat.mongo.employee.service.EmployeeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class EmployeeResponseCacheFilterTest {
+
+	private static final String BODY = "[" + "{\"id\":\"emp1\",\"department\":\"Engineering\"},".repeat(100)
+			+ "{\"id\":\"emp2\"}]";
+
+	private final AtomicInteger renders = new AtomicInteger();
+	private final HttpServlet controller = new HttpServlet() {
+		@Override
+		protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+			renders.incrementAndGet();
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.setHeader("X-Total-Count", "101");
+			response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+		}
+	};
+
+	@Test
+	void repeatedQuery_isServedFromCache_regardlessOfParameterOrder() throws Exception {
+		EmployeeResponseCacheFilter filter = filter(true);
+
+		MockHttpServletResponse first = get(filter, "department=Engineering&page=0");
+		MockHttpServletResponse second = get(filter, "page=0&department=Engineering");
+
+		assertThat(renders).hasValue(1);
+		assertThat(second.getContentAsString()).isEqualTo(BODY).isEqualTo(first.getContentAsString());
+		assertThat(second.getHeader("X-Total-Count")).isEqualTo("101");
+		assertThat(second.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+		assertThat(second.getHeader(HttpHeaders.ETAG)).isNotBlank().isEqualTo(first.getHeader(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void gzipClients_getThePrecompressedCopy() throws Exception {
+		EmployeeResponseCacheFilter filter = filter(true);
+		get(filter, "page=0");
+
+		MockHttpServletRequest request = request("page=0");
+		request.addHeader(HttpHeaders.ACCEPT_ENCODING, "br, gzip");
+		MockHttpServletResponse response = execute(filter, request);
+
+		assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(response.getContentLength()).isLessThan(BODY.length());
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+			assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+		}
+	}
+
+	@Test
+	void matchingIfNoneMatch_returnsNotModified() throws Exception {
+		EmployeeResponseCacheFilter filter = filter(true);
+		String etag = get(filter, "page=0").getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletRequest request = request("page=0");
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+		MockHttpServletResponse response = execute(filter, request);
+
+		assertThat(response.getStatus()).isEqualTo(304);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+	}
+
+	@Test
+	void anyWrite_dropsCachedResponses() throws Exception {
+		EmployeeResponseCacheFilter filter = filter(true);
+		get(filter, "page=0");
+
+		filter.onEmployeeChanged(EmployeeChangedEvent.created("emp3"));
+		get(filter, "page=0");
+
+		assertThat(renders).hasValue(2);
+	}
+
+	@Test
+	void bodyOverTheEntryLimit_isWrittenThroughAsItIsProduced_andNotCached() throws Exception {
+		EmployeeResponseCacheFilter filter = filter(true);
+		byte[] chunk = BODY.getBytes(StandardCharsets.UTF_8);
+		int chunks = 40;
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicInteger writtenBeforeTheEnd = new AtomicInteger();
+		HttpServlet largeListing = new HttpServlet() {
+			@Override
+			protected void doGet(HttpServletRequest request, HttpServletResponse wrapped) throws IOException {
+				renders.incrementAndGet();
+				wrapped.setContentType(MediaType.APPLICATION_JSON_VALUE);
+				for (int i = 0; i < chunks; i++) {
+					wrapped.getOutputStream().write(chunk);
+				}
+				writtenBeforeTheEnd.set(response.getContentAsByteArray().length);
+			}
+		};
+
+		filter.doFilter(request("page=0"), response, new MockFilterChain(largeListing));
+
+		assertThat(chunks * chunk.length).isGreaterThan((int) DataSize.ofKilobytes(64).toBytes());
+		assertThat(writtenBeforeTheEnd).hasValue(chunks * chunk.length);
+		assertThat(response.getContentAsByteArray()).hasSize(chunks * chunk.length);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+
+		filter.doFilter(request("page=0"), new MockHttpServletResponse(), new MockFilterChain(largeListing));
+		assertThat(renders).hasValue(2);
+	}
+
+	@Test
+	void bodyWrittenThroughTheWriter_isCached() throws Exception {
+		EmployeeResponseCacheFilter filter = filter(true);
+		HttpServlet writerController = new HttpServlet() {
+			@Override
+			protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				renders.incrementAndGet();
+				response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+				response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+				response.getWriter().write(BODY);
+			}
+		};
+
+		filter.doFilter(request("page=0"), new MockHttpServletResponse(), new MockFilterChain(writerController));
+		MockHttpServletResponse second = get(filter, "page=0");
+
+		assertThat(renders).hasValue(1);
+		assertThat(second.getContentAsString()).isEqualTo(BODY);
+	}
+
+	@Test
+	void disabledCache_rendersEveryRequest() throws Exception {
+		EmployeeResponseCacheFilter filter = filter(false);
+
+		get(filter, "page=0");
+		MockHttpServletResponse second = get(filter, "page=0");
+
+		assertThat(renders).hasValue(2);
+		assertThat(second.getHeader(HttpHeaders.ETAG)).isNull();
+	}
+
+	private MockHttpServletResponse get(EmployeeResponseCacheFilter filter, String query) throws Exception {
+		return execute(filter, request(query));
+	}
+
+	private MockHttpServletResponse execute(EmployeeResponseCacheFilter filter, MockHttpServletRequest request)
+			throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain(controller));
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String query) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+		request.setServletPath("/api/employees");
+		request.setQueryString(query);
+		for (String pair : query.split("&")) {
+			String[] parts = pair.split("=");
+			request.addParameter(parts[0], parts[1]);
+		}
+		return request;
+	}
+
+	private static EmployeeResponseCacheFilter filter(boolean enabled) {
+		return new EmployeeResponseCacheFilter(enabled, Duration.ofMinutes(1), DataSize.ofMegabytes(1),
+				DataSize.ofKilobytes(64), new SimpleMeterRegistry());
+	}
+}
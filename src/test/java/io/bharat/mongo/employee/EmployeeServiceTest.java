@@ -3,29 +3,58 @@ package io.bharat.mongo.employee;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest.Changes;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest.Match;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateResponse;
+import io.bharat.mongo.employee.dto.EmployeeFilter;
+import io.bharat.mongo.employee.dto.EmployeeLookupResponse;
 import io.bharat.mongo.employee.dto.EmployeeRequest;
 import io.bharat.mongo.employee.dto.EmployeeResponse;
 import io.bharat.mongo.employee.exception.DuplicateEmailException;
 import io.bharat.mongo.employee.exception.NotFoundException;
 import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+import io.bharat.mongo.employee.repository.BulkUpdateResult;
 import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.repository.EmployeeTombstoneRepository;
+import io.bharat.mongo.employee.service.EmployeeChangedEvent;
+import io.bharat.mongo.employee.service.EmployeeDocumentList;
+import io.bharat.mongo.employee.service.EmployeeHedgedReads;
+import io.bharat.mongo.employee.service.EmployeeJsonTranscoder;
+import io.bharat.mongo.employee.service.EmployeeReadCache;
 import io.bharat.mongo.employee.service.EmployeeService;
+import io.bharat.mongo.employee.service.EmployeeWriteCoalescer;
+import io.bharat.mongo.employee.service.EmployeeWriteDurability;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeServiceTest {
@@ -33,6 +62,31 @@ class EmployeeServiceTest {
 	@Mock
 	private EmployeeRepository repository;
 
+	@Mock
+	private EmployeeTombstoneRepository tombstones;
+
+	@Mock
+	private EmployeeWriteCoalescer writeCoalescer;
+
+	@Mock
+	private ApplicationEventPublisher events;
+
+	@Mock
+	private EmployeeReadCache readCache;
+
+	@Mock
+	private EmployeeHedgedReads hedgedReads;
+
+	@Mock
+	private EmployeeJsonTranscoder transcoder;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Spy
+	private EmployeeWriteDurability durability = new EmployeeWriteDurability("majority", "majority", "majority",
+			"majority", "fast", 2, Duration.ZERO, new SimpleMeterRegistry());
+
 	@InjectMocks
 	private EmployeeService service;
 
@@ -51,6 +105,7 @@ class EmployeeServiceTest {
 		assertThat(response.id()).isEqualTo("abc123");
 		assertThat(response.email()).isEqualTo("jane.doe@example.com");
 		verify(repository).save(any(Employee.class));
+		verify(events).publishEvent(EmployeeChangedEvent.created("abc123"));
 	}
 
 	@Test
@@ -64,6 +119,17 @@ class EmployeeServiceTest {
 		verify(repository, never()).save(any());
 	}
 
+	@Test
+	void createEmployee_throws_whenConcurrentWriteTookTheEmail() {
+		when(repository.existsByEmail(anyString())).thenReturn(false);
+		when(repository.save(any(Employee.class))).thenThrow(new DuplicateKeyException("E11000 index: email"));
+
+		assertThatThrownBy(() -> service.create(sampleRequest()))
+				.isInstanceOf(DuplicateEmailException.class);
+
+		verify(events, never()).publishEvent(any(Object.class));
+	}
+
 	@Test
 	void updateEmployee_updatesFields_whenFound() {
 		Employee existing = sampleEmployee();
@@ -101,6 +167,17 @@ class EmployeeServiceTest {
 				.isInstanceOf(NotFoundException.class);
 	}
 
+	@Test
+	void delete_leavesTombstone() {
+		when(repository.findById("emp1")).thenReturn(Optional.of(sampleEmployee()));
+
+		service.delete("emp1");
+
+		verify(repository).delete(any(Employee.class));
+		verify(tombstones).save(argThat((EmployeeTombstone tombstone) -> tombstone.getId().equals("emp1")));
+		verify(events).publishEvent(EmployeeChangedEvent.deleted("emp1"));
+	}
+
 	@Test
 	void delete_throws_whenMissing() {
 		when(repository.findById("missing")).thenReturn(Optional.empty());
@@ -111,7 +188,7 @@ class EmployeeServiceTest {
 
 	@Test
 	void list_returnsMappedEmployees() {
-		when(repository.findAll()).thenReturn(List.of(sampleEmployee()));
+		when(repository.findAll(Sort.unsorted())).thenReturn(List.of(sampleEmployee()));
 
 		List<EmployeeResponse> employees = service.findAll();
 
@@ -119,13 +196,134 @@ class EmployeeServiceTest {
 		assertThat(employees.get(0).firstName()).isEqualTo("Jane");
 	}
 
+	@Test
+	void list_keepsTheSort_whenUnfilteredAndUnpaged() {
+		Sort bySalary = Sort.by(Sort.Direction.DESC, "salary");
+		when(repository.findAll(bySalary)).thenReturn(List.of(sampleEmployee()));
+
+		List<EmployeeResponse> employees = service.findAll(EmployeeFilter.NONE, Pageable.unpaged(bySalary));
+
+		assertThat(employees).hasSize(1);
+	}
+
+	@Test
+	void list_passesStoredDocumentsThrough_whenEnabled() {
+		Document projection = new Document("_id", 1);
+		RawBsonDocument stored = RawBsonDocument.parse("{_id: 'emp1', firstName: 'Jane'}");
+		when(transcoder.isEnabled()).thenReturn(true);
+		when(transcoder.projection()).thenReturn(projection);
+		when(repository.findDocumentsByFilter(EmployeeFilter.NONE, Pageable.unpaged(), projection))
+				.thenReturn(List.of(stored));
+
+		List<EmployeeResponse> employees = service.findAll();
+
+		assertThat(employees).isInstanceOf(EmployeeDocumentList.class).hasSize(1);
+		verify(repository, never()).findAll(any(Sort.class));
+	}
+
+	@Test
+	void findByIds_keepsRequestOrder_andReportsMissing() {
+		when(repository.findAllById(List.of("emp2", "emp1", "gone")))
+				.thenReturn(List.of(sampleEmployee(), employee("emp2", "john.doe@example.com")));
+
+		EmployeeLookupResponse lookup = service.findByIds(List.of("emp2", "emp1", "gone", "emp2"));
+
+		assertThat(lookup.employees()).extracting(EmployeeResponse::id).containsExactly("emp2", "emp1");
+		assertThat(lookup.missing()).containsExactly("gone");
+	}
+
+	@Test
+	void findByIds_onlyQueriesUncachedIds() {
+		EmployeeResponse cached = new EmployeeResponse("emp1", "Jane", "Doe", "jane.doe@example.com", "Engineering",
+				"Backend Engineer", BigDecimal.valueOf(120000), LocalDate.of(2023, 1, 15));
+		when(readCache.getAll(any())).thenReturn(Map.of("emp1", cached));
+		when(repository.findAllById(List.of("emp2"))).thenReturn(List.of(employee("emp2", "john.doe@example.com")));
+
+		EmployeeLookupResponse lookup = service.findByIds(List.of("emp1", "emp2"));
+
+		assertThat(lookup.employees()).extracting(EmployeeResponse::id).containsExactly("emp1", "emp2");
+		assertThat(lookup.missing()).isEmpty();
+		verify(repository).findAllById(List.of("emp2"));
+	}
+
+	@Test
+	void findByIds_matchesObjectIdsCaseInsensitively() {
+		Employee stored = employee("6650f1c2e4b0a1b2c3d4e5f6", "john.doe@example.com");
+		when(repository.findAllById(List.of("6650f1c2e4b0a1b2c3d4e5f6"))).thenReturn(List.of(stored));
+
+		EmployeeLookupResponse lookup = service.findByIds(List.of("6650F1C2E4B0A1B2C3D4E5F6"));
+
+		assertThat(lookup.employees()).hasSize(1);
+		assertThat(lookup.missing()).isEmpty();
+	}
+
+	@Test
+	void findById_returnsCachedEmployee_withoutQuery() {
+		EmployeeResponse cached = new EmployeeResponse("emp1", "Jane", "Doe", "jane.doe@example.com", "Engineering",
+				"Backend Engineer", BigDecimal.valueOf(120000), LocalDate.of(2023, 1, 15));
+		when(readCache.get("emp1")).thenReturn(cached);
+
+		assertThat(service.findById("emp1")).isSameAs(cached);
+		verify(repository, never()).findById(anyString());
+	}
+
+	@Test
+	void findById_doesNotCacheHedgedReads_thatMayComeFromASecondary() {
+		when(hedgedReads.isEnabled()).thenReturn(true);
+		when(hedgedReads.readsSecondaries()).thenReturn(true);
+		when(hedgedReads.findById("emp1")).thenReturn(Optional.of(sampleEmployee()));
+
+		assertThat(service.findById("emp1").id()).isEqualTo("emp1");
+		verify(readCache, never()).put(any(), anyLong());
+	}
+
+	@Test
+	void findById_cachesHedgedReads_fromThePrimary() {
+		when(hedgedReads.isEnabled()).thenReturn(true);
+		when(hedgedReads.readsSecondaries()).thenReturn(false);
+		when(hedgedReads.findById("emp1")).thenReturn(Optional.of(sampleEmployee()));
+
+		EmployeeResponse employee = service.findById("emp1");
+
+		verify(readCache).put(employee, 0L);
+	}
+
+	@Test
+	void bulkUpdate_dryRun_onlyCounts() {
+		EmployeeBulkUpdateRequest request = new EmployeeBulkUpdateRequest(new Match("Sales", null, null),
+				new Changes("Revenue", null, null, null), true);
+		when(repository.countForBulkUpdate(request)).thenReturn(42L);
+
+		EmployeeBulkUpdateResponse response = service.bulkUpdate(request);
+
+		assertThat(response).isEqualTo(new EmployeeBulkUpdateResponse(true, 42, 0));
+		verify(repository, never()).bulkUpdate(any());
+		verify(events, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void bulkUpdate_reportsCounts_andPublishesChange() {
+		EmployeeBulkUpdateRequest request = new EmployeeBulkUpdateRequest(new Match("Sales", null, null),
+				new Changes(null, null, new BigDecimal("5"), null), false);
+		when(repository.bulkUpdate(request)).thenReturn(new BulkUpdateResult(10, 9));
+
+		EmployeeBulkUpdateResponse response = service.bulkUpdate(request);
+
+		assertThat(response).isEqualTo(new EmployeeBulkUpdateResponse(false, 10, 9));
+		verify(events).publishEvent(EmployeeChangedEvent.bulkUpdated());
+	}
+
 	private EmployeeRequest sampleRequest() {
 		return new EmployeeRequest("Jane", "Doe", "jane.doe@example.com", "Engineering", "Backend Engineer",
 				BigDecimal.valueOf(120000), LocalDate.of(2023, 1, 15));
 	}
 
 	private Employee sampleEmployee() {
-		return new Employee("emp1", "Jane", "Doe", "jane.doe@example.com", "Engineering", "Backend Engineer",
+		return employee("emp1", "jane.doe@example.com");
+	}
+
+	private Employee employee(String id, String email) {
+		return new Employee(id, "Jane", "Doe", email, "Engineering", "Backend Engineer",
 				BigDecimal.valueOf(120000), LocalDate.of(2023, 1, 15));
 	}
 }
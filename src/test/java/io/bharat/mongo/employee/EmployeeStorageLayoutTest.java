@@ -0,0 +1,74 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import io.bharat.mongo.config.CompactFieldNamingStrategy;
+import io.bharat.mongo.config.MongoConfig;
+import io.bharat.mongo.employee.migration.EmployeeLayoutMigration;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeStorageLayout;
+
+class EmployeeStorageLayoutTest {
+
+	@Test
+	void compactLayout_writesShortKeys() {
+		Document document = new Document();
+		compactConverter().write(sampleEmployee(), document);
+
+		assertThat(document).containsKeys("fn", "ln", "em", "dp", "jt", "sal", "doj")
+				.doesNotContainKeys("firstName", "department", "dateOfJoining");
+	}
+
+	@Test
+	void layouts_renameEachOthersKeys() {
+		assertThat(new EmployeeStorageLayout(true).renames()).containsEntry("firstName", "fn")
+				.containsEntry("salary", "sal")
+				.hasSize(9);
+		assertThat(new EmployeeStorageLayout(false).renames()).containsEntry("fn", "firstName");
+	}
+
+	@Test
+	void migration_renamesOnlyKeysPresentInTheDocument() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getCollectionName(Employee.class)).thenReturn("employees");
+		EmployeeLayoutMigration migration = new EmployeeLayoutMigration(mongoTemplate, new EmployeeStorageLayout(true));
+
+		Update update = migration.migrate(new Document("firstName", "Jane").append("email", "jane@example.com"));
+
+		assertThat(migration.id()).isEqualTo("employee-layout-compact");
+		assertThat(update.getUpdateObject().get("$rename", Document.class))
+				.isEqualTo(new Document("firstName", "fn").append("email", "em"));
+		assertThat(migration.migrate(new Document("fn", "Jane"))).isNull();
+	}
+
+	private static MappingMongoConverter compactConverter() {
+		MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		context.setFieldNamingStrategy(new CompactFieldNamingStrategy());
+		context.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		return converter;
+	}
+
+	private static Employee sampleEmployee() {
+		return new Employee(null, "Jane", "Doe", "jane@example.com", "Engineering", "Developer",
+				new BigDecimal("100"), LocalDate.of(2023, 1, 15));
+	}
+}
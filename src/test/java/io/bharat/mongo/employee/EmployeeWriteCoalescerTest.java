@@ -0,0 +1,129 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.bharat.mongo.employee.exception.DuplicateEmailException;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.BulkInsertResult;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.employee.service.EmployeeWriteCoalescer;
+import io.bharat.mongo.employee.service.EmployeeWriteDurability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeWriteCoalescerTest {
+
+	private final EmployeeRepository repository = mock(EmployeeRepository.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final EmployeeWriteDurability durability = new EmployeeWriteDurability("majority", "majority",
+			"majority", "majority", "fast", 2, Duration.ZERO, meterRegistry);
+	private EmployeeWriteCoalescer coalescer;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		if (coalescer != null) {
+			coalescer.destroy();
+		}
+	}
+
+	@Test
+	void concurrentCreates_areFlushedTogether_andEachCallerGetsItsOwnOutcome() throws Exception {
+		List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		when(repository.insertUnordered(anyList())).thenAnswer(invocation -> {
+			List<Employee> batch = invocation.getArgument(0);
+			batchSizes.add(batch.size());
+			int taken = indexOf(batch, "taken@example.com");
+			return taken < 0
+					? new BulkInsertResult(batch.size(), Map.of())
+					: new BulkInsertResult(batch.size() - 1,
+							Map.of(taken, new BulkInsertResult.Failure(11000, "E11000 duplicate key")));
+		});
+		coalescer = new EmployeeWriteCoalescer(repository, durability, meterRegistry, true, Duration.ofMillis(200),
+				8, 1, 100);
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<CompletableFuture<Employee>> results = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			String email = i == 2 ? "taken@example.com" : "user" + i + "@example.com";
+			results.add(CompletableFuture.supplyAsync(() -> {
+				awaitQuietly(start);
+				return coalescer.insert(employee(email));
+			}));
+		}
+		start.countDown();
+
+		assertThat(results.get(0).get().getId()).isNotBlank();
+		// the id is assigned before the insert, so auditing would not fill createdAt
+		assertThat(results.get(0).get().getCreatedAt()).isNotNull();
+		assertThat(results.get(1).get().getEmail()).isEqualTo("user1@example.com");
+		assertThat(results.get(3).get().getId()).isNotEqualTo(results.get(0).get().getId());
+		assertThatThrownBy(results.get(2)::join).hasCauseInstanceOf(DuplicateEmailException.class);
+		assertThat(batchSizes).containsExactly(4);
+		assertThat(meterRegistry.summary("employee.create.batch.size").max()).isEqualTo(4);
+	}
+
+	@Test
+	void sameEmailTwiceInOneBatch_rejectsTheSecond() throws Exception {
+		when(repository.insertUnordered(anyList()))
+				.thenAnswer(invocation -> new BulkInsertResult(((List<?>) invocation.getArgument(0)).size(), Map.of()));
+		coalescer = new EmployeeWriteCoalescer(repository, durability, meterRegistry, true, Duration.ofMillis(200),
+				2, 1, 100);
+
+		CompletableFuture<Employee> first = CompletableFuture
+				.supplyAsync(() -> coalescer.insert(employee("a@example.com")));
+		CompletableFuture<Employee> second = CompletableFuture
+				.supplyAsync(() -> coalescer.insert(employee("a@example.com")));
+
+		CompletableFuture.allOf(first, second).exceptionally(ex -> null).join();
+		long failed = List.of(first, second).stream().filter(CompletableFuture::isCompletedExceptionally).count();
+		assertThat(failed).isEqualTo(1);
+	}
+
+	@Test
+	void batchLevelFailure_isPropagatedToEveryCaller() {
+		when(repository.insertUnordered(anyList())).thenThrow(new IllegalStateException("connection reset"));
+		coalescer = new EmployeeWriteCoalescer(repository, durability, meterRegistry, true, Duration.ofMillis(1),
+				8, 1, 100);
+
+		assertThatThrownBy(() -> coalescer.insert(employee("x@example.com")))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("connection reset");
+	}
+
+	private static int indexOf(List<Employee> batch, String email) {
+		for (int i = 0; i < batch.size(); i++) {
+			if (email.equals(batch.get(i).getEmail())) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Employee employee(String email) {
+		Employee employee = new Employee();
+		employee.setEmail(email);
+		return employee;
+	}
+}
@@ -0,0 +1,73 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+
+import com.mongodb.WriteConcern;
+
+import io.bharat.mongo.config.DurabilityScope;
+import io.bharat.mongo.config.DurabilityTier;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.service.EmployeeWriteDurability;
+import io.bharat.mongo.employee.service.WriteOperation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeWriteDurabilityTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final EmployeeWriteDurability durability = new EmployeeWriteDurability("majority", "fast", "default",
+			"fast", "fast", 2, Duration.ZERO, meterRegistry);
+
+	@Test
+	void writes_resolveTheWriteConcernOfTheirTier() {
+		MongoAction save = new MongoAction(WriteConcern.ACKNOWLEDGED, MongoActionOperation.SAVE, "employees",
+				Employee.class, null, null);
+
+		assertThat(durability.execute(WriteOperation.CREATE, () -> DurabilityScope.resolver().resolve(save)))
+				.isEqualTo(WriteConcern.MAJORITY.withJournal(true));
+		assertThat(durability.execute(WriteOperation.UPDATE, () -> DurabilityScope.resolver().resolve(save)))
+				.isEqualTo(WriteConcern.W1.withJournal(false));
+		assertThat(durability.execute(WriteOperation.DELETE, () -> DurabilityScope.resolver().resolve(save)))
+				.isEqualTo(WriteConcern.ACKNOWLEDGED);
+		assertThat(DurabilityScope.current()).isEqualTo(DurabilityTier.DEFAULT);
+	}
+
+	@Test
+	void fastIdempotentWrite_isRetriedAfterNetworkError() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = durability.execute(WriteOperation.UPDATE, () -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw new DataAccessResourceFailureException("connection reset");
+			}
+			return "saved";
+		});
+
+		assertThat(result).isEqualTo("saved");
+		assertThat(meterRegistry.counter("employee.write.retries", "operation", "update").count()).isEqualTo(2);
+		assertThat(meterRegistry.timer("employee.write", "operation", "update", "tier", "fast", "outcome", "success")
+				.count()).isEqualTo(1);
+	}
+
+	@Test
+	void nonIdempotentWrite_isNotRetried_evenOnTheFastTier() {
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThatThrownBy(() -> durability.execute(WriteOperation.BULK_UPDATE, () -> {
+			attempts.incrementAndGet();
+			throw new DataAccessResourceFailureException("connection reset");
+		})).isInstanceOf(DataAccessResourceFailureException.class);
+
+		assertThat(attempts).hasValue(1);
+		assertThat(meterRegistry.timer("employee.write", "operation", "bulk-update", "tier", "fast", "outcome",
+				"failure").count()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,51 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import io.bharat.mongo.employee.api.ApiError;
+import io.bharat.mongo.employee.api.PrerenderedErrors;
+import io.bharat.mongo.employee.exception.NotFoundException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+class PrerenderedErrorsTest {
+
+	private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+	@Test
+	void fixedBodies_matchApiErrorShape() {
+		ApiError unauthorized = objectMapper.readValue(PrerenderedErrors.UNAUTHORIZED.render(), ApiError.class);
+		ApiError forbidden = objectMapper.readValue(PrerenderedErrors.FORBIDDEN.render(), ApiError.class);
+
+		assertThat(unauthorized.status()).isEqualTo(401);
+		assertThat(unauthorized.error()).isEqualTo("Unauthorized");
+		assertThat(unauthorized.message()).isEqualTo("Authentication required");
+		assertThat(unauthorized.validationErrors()).isEqualTo(Map.of());
+		assertThat(unauthorized.timestamp()).isNotNull();
+		assertThat(forbidden.status()).isEqualTo(403);
+		assertThat(forbidden.message()).isEqualTo("Access denied");
+	}
+
+	@Test
+	void notFound_escapesTheMessage() {
+		ResponseEntity<byte[]> response = PrerenderedErrors.notFound("Employee not found: \"x\\y\n");
+
+		ApiError body = objectMapper.readValue(response.getBody(), ApiError.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(body.error()).isEqualTo("Not Found");
+		assertThat(body.message()).isEqualTo("Employee not found: \"x\\y\n");
+	}
+
+	@Test
+	void domainExceptions_haveNoStackTrace() {
+		assertThat(new NotFoundException("Employee not found: 1").getStackTrace()).isEmpty();
+	}
+}
@@ -0,0 +1,72 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import io.bharat.mongo.config.MongoConfig;
+import io.bharat.mongo.employee.migration.SalaryDecimal128Migration;
+import io.bharat.mongo.employee.model.Employee;
+
+class SalaryDecimal128MigrationTest {
+
+	private final MappingMongoConverter converter = converter();
+
+	@Test
+	void salary_isWrittenAsDecimal128() {
+		Employee employee = new Employee();
+		employee.setSalary(new BigDecimal("120000.50"));
+
+		Document document = new Document();
+		converter.write(employee, document);
+
+		assertThat(document.get("salary")).isEqualTo(new Decimal128(new BigDecimal("120000.50")));
+	}
+
+	@Test
+	void legacyStringSalary_isStillReadable() {
+		Employee employee = converter.read(Employee.class,
+				new Document("_id", new ObjectId()).append("salary", "99.90"));
+
+		assertThat(employee.getSalary()).isEqualByComparingTo("99.90");
+	}
+
+	@Test
+	void migration_rewritesStringSalary_andSkipsGarbage() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.getCollectionName(Employee.class)).thenReturn("employees");
+		when(mongoTemplate.getConverter()).thenReturn(converter);
+		SalaryDecimal128Migration migration = new SalaryDecimal128Migration(mongoTemplate);
+
+		Update update = migration.migrate(new Document("_id", new ObjectId()).append("salary", " 1500.25 "));
+
+		assertThat(update.getUpdateObject().get("$set", Document.class).get("salary"))
+				.isEqualTo(new Decimal128(new BigDecimal("1500.25")));
+		assertThat(migration.migrate(new Document("salary", "n/a"))).isNull();
+		assertThat(migration.pending().getCriteriaObject().toJson()).contains("\"$type\"");
+	}
+
+	private static MappingMongoConverter converter() {
+		MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		context.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		return converter;
+	}
+}
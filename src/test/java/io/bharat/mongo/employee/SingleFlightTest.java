@@ -0,0 +1,143 @@
+package io.bharat.mongo.employee;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.bharat.mongo.employee.exception.NotFoundException;
+import io.bharat.mongo.employee.service.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SingleFlightTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SingleFlight<String, Object> flight = new SingleFlight<>("test", meterRegistry);
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallsForSameKey_shareOneExecution() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger executions = new AtomicInteger();
+		Object value = new Object();
+
+		List<CompletableFuture<Object>> callers = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			callers.add(CompletableFuture.supplyAsync(() -> flight.execute("emp1", () -> {
+				executions.incrementAndGet();
+				awaitQuietly(release);
+				return value;
+			}), executor));
+		}
+		awaitCount("collapsed", 7);
+		release.countDown();
+
+		for (CompletableFuture<Object> caller : callers) {
+			assertThat(caller.get(5, TimeUnit.SECONDS)).isSameAs(value);
+		}
+		assertThat(executions).hasValue(1);
+		assertThat(count("executed")).isEqualTo(1);
+	}
+
+	@Test
+	void failure_isDeliveredToFollowers_andNotRemembered() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> flight.execute("missing", () -> {
+			awaitQuietly(release);
+			throw new NotFoundException("Employee not found: missing");
+		}), executor);
+		awaitCount("executed", 1);
+		CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> flight.execute("missing", Object::new),
+				executor);
+		awaitCount("collapsed", 1);
+		release.countDown();
+
+		assertThatThrownBy(leader::join).hasCauseInstanceOf(NotFoundException.class);
+		assertThatThrownBy(follower::join).hasCauseInstanceOf(NotFoundException.class);
+		assertThat(flight.execute("missing", () -> "found")).isEqualTo("found");
+	}
+
+	@Test
+	void forget_makesLaterCallersStartAFreshExecution() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Object> stale = CompletableFuture.supplyAsync(() -> flight.execute("emp1", () -> {
+			awaitQuietly(release);
+			return "before write";
+		}), executor);
+		awaitCount("executed", 1);
+
+		flight.forget("emp1");
+
+		assertThat(flight.execute("emp1", () -> "after write")).isEqualTo("after write");
+		release.countDown();
+		assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+	}
+
+	@Test
+	void interruptedLeader_letsFollowersRetry() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		Thread leader = new Thread(() -> {
+			try {
+				flight.execute("emp1", () -> {
+					started.countDown();
+					try {
+						Thread.sleep(10_000);
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new IllegalStateException("interrupted");
+					}
+					return "never";
+				});
+			} catch (IllegalStateException expected) {
+				// leader sees its own failure
+			}
+		});
+		leader.start();
+		started.await();
+		CompletableFuture<Object> follower = CompletableFuture
+				.supplyAsync(() -> flight.execute("emp1", () -> "retried"), executor);
+		awaitCount("collapsed", 1);
+
+		leader.interrupt();
+
+		assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("retried");
+		// the follower that took over is still one collapsed call, not an extra execution
+		assertThat(count("collapsed")).isEqualTo(1);
+		assertThat(count("executed")).isEqualTo(1);
+	}
+
+	private double count(String result) {
+		return meterRegistry.counter("singleflight.calls", "name", "test", "result", result).count();
+	}
+
+	private void awaitCount(String result, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (count(result) < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertThat(count(result)).isEqualTo(expected);
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
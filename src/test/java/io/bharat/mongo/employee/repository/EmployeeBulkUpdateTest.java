@@ -0,0 +1,114 @@
+package io.bharat.mongo.employee.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.RelaxedTypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import io.bharat.mongo.config.CompactFieldNamingStrategy;
+import io.bharat.mongo.config.MongoConfig;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest.Changes;
+import io.bharat.mongo.employee.dto.EmployeeBulkUpdateRequest.Match;
+import io.bharat.mongo.employee.model.Employee;
+
+/**
+ * Renders bulk updates the way MongoTemplate maps them, using the compact layout so that every field reference has to
+ * go through the mapping.
+ */
+class EmployeeBulkUpdateTest {
+
+	private static final String ID = "6650f1c2e4b0a1b2c3d4e5f6";
+	private static final Instant NOW = Instant.parse("2026-01-15T10:00:00Z");
+	private static final Document STAMP = new Document("$set",
+			new Document("lm", new Document("$literal", Date.from(NOW))));
+
+	private final MongoMappingContext mappingContext = compactMappingContext();
+	private final QueryMapper queryMapper = new QueryMapper(converter(mappingContext));
+
+	@Test
+	void departmentMove_setsLiteralValues() {
+		EmployeeBulkUpdateRequest request = request(new Match("Sales", null, null),
+				new Changes("$salary", "Account Executive", null, null));
+
+		assertThat(mappedQuery(request)).isEqualTo(new Document("dp", "Sales"));
+		assertThat(mappedPipeline(request)).containsExactly(
+				new Document("$set", new Document("dp", new Document("$literal", "$salary"))),
+				new Document("$set", new Document("jt", new Document("$literal", "Account Executive"))),
+				STAMP);
+	}
+
+	@Test
+	void percentageRaise_multipliesStoredSalary_andRoundsToCents() {
+		EmployeeBulkUpdateRequest request = request(new Match(null, "Engineer", List.of(ID)),
+				new Changes(null, null, new BigDecimal("3.5"), null));
+
+		Document query = mappedQuery(request);
+		assertThat(query.get("jt")).isEqualTo("Engineer");
+		assertThat(query.get("_id")).isEqualTo(new Document("$in", List.of(new ObjectId(ID))));
+		assertThat(query.get("sal", Document.class).get("$type", List.class))
+				.containsExactlyInAnyOrder("double", "int", "long", "decimal");
+		assertThat(mappedPipeline(request)).containsExactly(new Document("$set", new Document("sal",
+				new Document("$round", List.of(
+						new Document("$multiply", List.of("$sal", new Decimal128(new BigDecimal("1.035")))), 2)))),
+				STAMP);
+	}
+
+	@Test
+	void salaryCut_skipsSalariesThatWouldGoNegative() {
+		EmployeeBulkUpdateRequest request = request(new Match("Sales", null, null),
+				new Changes(null, null, null, new BigDecimal("-500")));
+
+		assertThat(mappedQuery(request).get("sal", Document.class).get("$gte"))
+				.isEqualTo(new Decimal128(new BigDecimal("500")));
+		assertThat(mappedPipeline(request)).containsExactly(new Document("$set", new Document("sal",
+				new Document("$add", List.of("$sal", new Decimal128(new BigDecimal("-500")))))), STAMP);
+	}
+
+	private Document mappedQuery(EmployeeBulkUpdateRequest request) {
+		return queryMapper.getMappedObject(EmployeeRepositoryImpl.bulkUpdateQuery(request).getQueryObject(),
+				mappingContext.getPersistentEntity(Employee.class));
+	}
+
+	private List<Document> mappedPipeline(EmployeeBulkUpdateRequest request) {
+		String salaryField = mappingContext.getRequiredPersistentEntity(Employee.class)
+				.getRequiredPersistentProperty("salary")
+				.getFieldName();
+		return EmployeeRepositoryImpl.bulkUpdateFor(request.changes(), salaryField, NOW)
+				.toPipeline(new RelaxedTypeBasedAggregationOperationContext(Employee.class, mappingContext,
+						queryMapper));
+	}
+
+	private static EmployeeBulkUpdateRequest request(Match match, Changes changes) {
+		return new EmployeeBulkUpdateRequest(match, changes, false);
+	}
+
+	private static MongoMappingContext compactMappingContext() {
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(new MongoConfig().mongoCustomConversions().getSimpleTypeHolder());
+		context.setFieldNamingStrategy(new CompactFieldNamingStrategy());
+		context.afterPropertiesSet();
+		return context;
+	}
+
+	private static MappingMongoConverter converter(MongoMappingContext context) {
+		MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		return converter;
+	}
+}
@@ -0,0 +1,24 @@
+package io.bharat.mongo.employee.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+
+class EmployeeFacetAggregationTest {
+
+	@Test
+	void groupsStringValues_afterSortingOnTheField() {
+		List<Document> pipeline = EmployeeRepositoryImpl.countByValueAggregation("dp")
+				.toPipeline(Aggregation.DEFAULT_CONTEXT);
+
+		assertThat(pipeline).containsExactly(
+				new Document("$match", new Document("dp", new Document("$type", List.of("string")))),
+				new Document("$sort", new Document("dp", 1)),
+				new Document("$group", new Document("_id", "$dp").append("count", new Document("$sum", 1))),
+				new Document("$sort", new Document("_id", 1)));
+	}
+}
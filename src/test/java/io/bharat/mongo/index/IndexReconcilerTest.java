@@ -0,0 +1,147 @@
+package io.bharat.mongo.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+
+import io.bharat.mongo.config.CompactFieldNamingStrategy;
+import io.bharat.mongo.config.MongoConfig;
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+import io.bharat.mongo.employee.model.ExportJob;
+import io.bharat.mongo.index.IndexReconciler.DeclaredIndex;
+import io.bharat.mongo.index.IndexStatus.State;
+
+class IndexReconcilerTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final Map<String, List<Document>> existing = new HashMap<>();
+	private final Map<String, IndexOperations> indexOps = new HashMap<>();
+	private IndexReconciler reconciler;
+
+	@BeforeEach
+	void setUp() {
+		MongoCustomConversions conversions = new MongoConfig().mongoCustomConversions();
+		MongoMappingContext context = new MongoMappingContext();
+		context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+		context.setFieldNamingStrategy(new CompactFieldNamingStrategy());
+		context.setInitialEntitySet(Set.of(Employee.class, EmployeeTombstone.class, ExportJob.class));
+		context.setEnvironment(new MockEnvironment().withProperty("employee.changes.tombstone-retention", "7d"));
+		context.afterPropertiesSet();
+		MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+		converter.setCustomConversions(conversions);
+		converter.afterPropertiesSet();
+		when(mongoTemplate.getConverter()).thenReturn(converter);
+
+		when(mongoTemplate.getCollection(anyString())).thenAnswer(invocation -> collection(invocation.getArgument(0)));
+		when(mongoTemplate.indexOps(anyString())).thenAnswer(invocation -> indexOps
+				.computeIfAbsent(invocation.getArgument(0), name -> mock(IndexOperations.class)));
+		reconciler = new IndexReconciler(mongoTemplate, true, true);
+	}
+
+	@Test
+	void declarations_areResolvedToStoredFieldNames() {
+		Map<String, DeclaredIndex> declared = reconciler.declaredIndexes().stream()
+				.collect(Collectors.toMap(DeclaredIndex::name, Function.identity()));
+
+		assertThat(declared.get("department_salary").keys()).isEqualTo(Document.parse("{dp: 1, sal: 1}"));
+		assertThat(declared.get("lastModifiedAt_id").keys()).isEqualTo(Document.parse("{lm: 1, _id: 1}"));
+		assertThat(declared.get("email").options()).containsEntry("unique", true).containsEntry("sparse", true);
+		assertThat(declared.get("deletedAt_ttl").options()).containsEntry("expireAfterSeconds", 604800L);
+		assertThat(declared.get("expiresAt_ttl").collection()).isEqualTo("employeeExports");
+		assertThat(declared.get("expiresAt_ttl").options()).containsEntry("expireAfterSeconds", 0L);
+		assertThat(reconciler.collections())
+				.containsExactlyInAnyOrder("employees", "employeeTombstones", "employeeExports");
+	}
+
+	@Test
+	void reconcile_buildsMissing_andReportsDriftAndUndeclaredIndexes() {
+		existing.put("employees", List.of(
+				Document.parse("{name: '_id_', key: {_id: 1}}"),
+				Document.parse("{name: 'dp_1_sal_1', key: {dp: 1, sal: 1.0}}"),
+				Document.parse("{name: 'em_1', key: {em: 1}, sparse: true}"),
+				Document.parse("{name: 'legacy_1', key: {legacy: 1}}")));
+		existing.put("employeeTombstones", List.of(
+				Document.parse("{name: 'deletedAt_1', key: {deletedAt: 1}, expireAfterSeconds: 2592000}")));
+		IndexOperations employees = indexOps.computeIfAbsent("employees", name -> mock(IndexOperations.class));
+		when(employees.createIndex(any(IndexDefinition.class))).thenAnswer(invocation -> {
+			if (((DeclaredIndex) invocation.getArgument(0)).name().equals("salary")) {
+				throw new DuplicateKeyException("E11000");
+			}
+			return invocation.<DeclaredIndex>getArgument(0).name();
+		});
+
+		Map<String, IndexStatus> statuses = reconciler.reconcile().stream()
+				.collect(Collectors.toMap(IndexStatus::name, Function.identity()));
+
+		assertThat(statuses.get("dp_1_sal_1").state()).isEqualTo(State.PRESENT);
+		assertThat(statuses.get("em_1").state()).isEqualTo(State.DRIFTED);
+		assertThat(statuses.get("em_1").detail()).isEqualTo("unique: declared=true actual=null");
+		assertThat(statuses.get("legacy_1").state()).isEqualTo(State.UNDECLARED);
+		assertThat(statuses.get("deletedAt_1").detail())
+				.isEqualTo("expireAfterSeconds: declared=604800 actual=2592000");
+		assertThat(statuses.get("jobTitle").state()).isEqualTo(State.CREATED);
+		assertThat(statuses.get("lastModifiedAt_id").state()).isEqualTo(State.CREATED);
+		assertThat(statuses.get("salary").state()).isEqualTo(State.FAILED);
+		assertThat(statuses.get("expiresAt_ttl").state()).isEqualTo(State.CREATED);
+		assertThat(statuses).doesNotContainKey("_id_");
+
+		ArgumentCaptor<IndexDefinition> created = ArgumentCaptor.forClass(IndexDefinition.class);
+		verify(employees, times(3)).createIndex(created.capture());
+		assertThat(created.getAllValues()).extracting(IndexDefinition::getIndexKeys)
+				.contains(Document.parse("{jt: 1}"), Document.parse("{lm: 1, _id: 1}"));
+		assertThat(reconciler.statuses()).hasSize(statuses.size());
+	}
+
+	@Test
+	void missingIndexes_areOnlyReported_whenBuildingIsOff() {
+		reconciler = new IndexReconciler(mongoTemplate, true, false);
+
+		List<IndexStatus> statuses = reconciler.reconcile();
+
+		assertThat(statuses).extracting(IndexStatus::state).containsOnly(State.MISSING);
+		assertThat(indexOps).isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private MongoCollection<Document> collection(String name) {
+		MongoCollection<Document> collection = mock(MongoCollection.class);
+		ListIndexesIterable<Document> indexes = mock(ListIndexesIterable.class);
+		when(collection.listIndexes()).thenReturn(indexes);
+		when(indexes.into(any())).thenAnswer(invocation -> {
+			List<Document> target = invocation.getArgument(0);
+			target.addAll(existing.getOrDefault(name, new ArrayList<>()));
+			return target;
+		});
+		return collection;
+	}
+}
@@ -0,0 +1,123 @@
+package io.bharat.mongo.loadtest;
+
+import static io.restassured.RestAssured.given;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.springframework.http.HttpStatus;
+
+import io.bharat.mongo.employee.dto.EmployeeRequest;
+import io.bharat.mongo.testsupport.AuthClient;
+import io.bharat.mongo.testsupport.EmployeeDataHelper;
+import io.bharat.mongo.testsupport.EmployeeRequests;
+import io.bharat.mongo.testsupport.TestEnvironment;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Drives the employee API through the functional test support classes. Ids of seeded and created employees are
+ * kept in a pool so get, update and delete target existing documents.
+ */
+public class EmployeeApiDriver implements LoadDriver {
+
+	private final RequestSpecification baseSpec;
+	private final RequestSpecification authSpec;
+	private final TestEnvironment env;
+	private final EmployeeDataHelper employees;
+	private final List<String> ids = new ArrayList<>();
+
+	public EmployeeApiDriver(RequestSpecification baseSpec, RequestSpecification authSpec, TestEnvironment env,
+			EmployeeDataHelper employees) {
+		this.baseSpec = baseSpec;
+		this.authSpec = authSpec;
+		this.env = env;
+		this.employees = employees;
+	}
+
+	public void seed(int count) {
+		for (int i = 0; i < count; i++) {
+			create();
+		}
+	}
+
+	/**
+	 * Adds employees inserted outside the API, such as a bulk-seeded dataset, to the id pool.
+	 */
+	public void track(Collection<String> existingIds) {
+		synchronized (ids) {
+			ids.addAll(existingIds);
+		}
+	}
+
+	@Override
+	public boolean execute(LoadOperation operation) {
+		return switch (operation) {
+			case LOGIN -> new AuthClient(baseSpec, env).login() != null;
+			case LIST -> list();
+			case GET -> withExistingId(this::get);
+			case CREATE -> create();
+			case UPDATE -> withExistingId(this::update);
+			case DELETE -> delete();
+		};
+	}
+
+	private boolean list() {
+		return given(authSpec)
+				.when()
+				.get(env.employeesPath())
+				.statusCode() == HttpStatus.OK.value();
+	}
+
+	private boolean get(String id) {
+		return given(authSpec)
+				.when()
+				.get(env.employeesPath() + "/" + id)
+				.statusCode() == HttpStatus.OK.value();
+	}
+
+	private boolean create() {
+		String id = employees.create(EmployeeRequests.randomEmployee()).id();
+		synchronized (ids) {
+			ids.add(id);
+		}
+		return true;
+	}
+
+	private boolean update(String id) {
+		EmployeeRequest request = EmployeeRequests.randomEmployee();
+		return given(authSpec)
+				.body(request)
+				.when()
+				.put(env.employeesPath() + "/" + id)
+				.statusCode() == HttpStatus.OK.value();
+	}
+
+	private boolean delete() {
+		String id;
+		synchronized (ids) {
+			if (ids.isEmpty()) {
+				id = null;
+			} else {
+				int index = ThreadLocalRandom.current().nextInt(ids.size());
+				id = ids.get(index);
+				ids.set(index, ids.get(ids.size() - 1));
+				ids.remove(ids.size() - 1);
+			}
+		}
+		if (id == null) {
+			return create();
+		}
+		return employees.delete(id) == HttpStatus.NO_CONTENT.value();
+	}
+
+	private boolean withExistingId(Predicate<String> operation) {
+		String id;
+		synchronized (ids) {
+			id = ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+		}
+		return id == null ? list() : operation.test(id);
+	}
+}
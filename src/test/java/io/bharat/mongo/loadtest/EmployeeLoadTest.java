@@ -0,0 +1,46 @@
+package io.bharat.mongo.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.bharat.mongo.testsupport.BaseApiTest;
+
+/**
+ * Open-model load run against the application and the local MongoDB from {@code compose.yaml}. Excluded from the
+ * default build; run with {@code ./mvnw test -Pload -Dload.rate=200 -Dload.duration=120s}.
+ */
+@Tag("load")
+class EmployeeLoadTest extends BaseApiTest {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeLoadTest.class);
+
+	@Test
+	void run_configured_operation_mix() throws Exception {
+		LoadProfile profile = LoadProfile.fromSystemProperties();
+		EmployeeApiDriver driver = new EmployeeApiDriver(baseSpec, authSpec, env, employees);
+		driver.seed(profile.seedEmployees());
+
+		LoadGenerator generator = new LoadGenerator(driver, profile.mix(), profile.ratePerSecond(),
+				profile.maxInFlight());
+		LatencyRecorder recorder = new LatencyRecorder();
+		generator.run(profile.warmup(), recorder);
+		recorder.snapshot();
+
+		long start = System.nanoTime();
+		generator.run(profile.duration(), recorder);
+		double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+		LoadReport report = LoadReport.of(recorder.snapshot(), elapsedSeconds);
+		Path directory = report.write(Path.of("target", "load-reports"), profile);
+		log.info("Load run '{}' at {}/s mix={}\n{}\nReport written to {}", profile.name(), profile.ratePerSecond(),
+				profile.mix(), report.toTable(), directory);
+
+		assertThat(report.operations()).isNotEmpty();
+	}
+}
@@ -0,0 +1,110 @@
+package io.bharat.mongo.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.repository.EmployeeRepository;
+import io.bharat.mongo.testsupport.BaseApiTest;
+
+/**
+ * Performance regression suite: bulk-seeds a large dataset into the local MongoDB from {@code compose.yaml}, runs
+ * each {@link PerfWorkload#FIXED fixed workload} through the HTTP stack and compares the percentiles and error rates
+ * with {@code src/test/resources/perf/baseline.properties}. A metric without a baseline fails the run, so a missing or
+ * renamed entry cannot turn the suite into a no-op. Excluded from the default build; run with
+ * {@code ./mvnw test -Pperf}.
+ */
+@Tag("perf")
+class EmployeePerfRegressionTest extends BaseApiTest {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeePerfRegressionTest.class);
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+	private static final List<String> DEPARTMENTS = List.of("Engineering", "Sales", "Marketing", "Finance", "HR",
+			"Support", "Operations", "Legal");
+	private static final int SEED_BATCH = 1000;
+
+	@Autowired
+	private EmployeeRepository repository;
+
+	private final List<String> seeded = new ArrayList<>();
+
+	@Test
+	void fixed_workloads_stay_within_baseline() throws Exception {
+		int seedEmployees = Integer.getInteger("perf.seed", 20_000);
+		Duration warmup = Duration.parse("PT" + System.getProperty("perf.warmup", "10s"));
+		Duration duration = Duration.parse("PT" + System.getProperty("perf.duration", "30s"));
+		PerfBaseline baseline = PerfBaseline.fromClasspath(System.getProperty("perf.baseline",
+				"perf/baseline.properties"));
+		seed(seedEmployees);
+
+		Path directory = Path.of("target", "perf-reports", LocalDateTime.now().format(TIMESTAMP));
+		Map<String, List<OperationStats>> results = new LinkedHashMap<>();
+		for (PerfWorkload workload : PerfWorkload.FIXED) {
+			EmployeeApiDriver driver = new EmployeeApiDriver(baseSpec, authSpec, env, employees);
+			driver.track(seeded);
+			LoadGenerator generator = new LoadGenerator(driver, workload.mix(), workload.ratePerSecond(), 1000);
+			LatencyRecorder recorder = new LatencyRecorder();
+			generator.run(warmup, recorder);
+			recorder.snapshot();
+
+			long start = System.nanoTime();
+			generator.run(duration, recorder);
+			double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+			LoadReport report = LoadReport.of(recorder.snapshot(), elapsedSeconds);
+			report.writeTo(directory.resolve(workload.name()), workload.profile(warmup, duration, seedEmployees));
+			results.put(workload.name(), report.operations());
+			log.info("Perf workload '{}' at {}/s\n{}", workload.name(), workload.ratePerSecond(), report.toTable());
+		}
+
+		PerfComparison comparison = baseline.compare(results);
+		comparison.write(directory);
+		log.info("Perf comparison against baseline\n{}\nReport written to {}", comparison.toTable(), directory);
+		assertThat(comparison.missingBaselines())
+				.as("metrics without a baseline, record them from %s",
+						directory.resolve("baseline-candidate.properties"))
+				.isZero();
+		assertThat(comparison.regressions())
+				.as("performance regressions, see %s", directory.resolve("diff.csv"))
+				.isEmpty();
+	}
+
+	@AfterAll
+	void removeSeededEmployees() {
+		for (int from = 0; from < seeded.size(); from += SEED_BATCH) {
+			repository.deleteAllById(seeded.subList(from, Math.min(seeded.size(), from + SEED_BATCH)));
+		}
+	}
+
+	private void seed(int count) {
+		for (int from = 0; from < count; from += SEED_BATCH) {
+			List<Employee> batch = new ArrayList<>();
+			for (int i = from; i < Math.min(count, from + SEED_BATCH); i++) {
+				String id = new ObjectId().toHexString();
+				batch.add(new Employee(id, "Perf" + i, "Seed" + i, "perf.seed." + id + "@example.com",
+						DEPARTMENTS.get(i % DEPARTMENTS.size()), "Engineer",
+						BigDecimal.valueOf(50_000 + (i % 100) * 1_000L), LocalDate.of(2020, 1, 1).plusDays(i % 1500)));
+				seeded.add(id);
+			}
+			repository.insertUnordered(batch);
+		}
+	}
+}
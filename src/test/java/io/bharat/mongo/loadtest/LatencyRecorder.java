@@ -0,0 +1,73 @@
+package io.bharat.mongo.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Per-operation HdrHistogram recorders. Response time is measured from the intended start time, so a stalled
+ * server shows up as latency instead of silently lowering the offered load (coordinated omission).
+ */
+public final class LatencyRecorder {
+
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+	private final Map<LoadOperation, Recorder> responseTimes = new EnumMap<>(LoadOperation.class);
+	private final Map<LoadOperation, Recorder> serviceTimes = new EnumMap<>(LoadOperation.class);
+	private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+	private final LongAdder dropped = new LongAdder();
+
+	public LatencyRecorder() {
+		for (LoadOperation operation : LoadOperation.values()) {
+			responseTimes.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+			serviceTimes.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+			errors.put(operation, new LongAdder());
+		}
+	}
+
+	public void record(LoadOperation operation, long intendedStartNanos, long actualStartNanos, long endNanos,
+			boolean success) {
+		responseTimes.get(operation).recordValue(micros(endNanos - intendedStartNanos));
+		serviceTimes.get(operation).recordValue(micros(endNanos - actualStartNanos));
+		if (!success) {
+			errors.get(operation).increment();
+		}
+	}
+
+	/**
+	 * Counts a request that could not be issued because the in-flight cap was reached.
+	 */
+	public void dropped() {
+		dropped.increment();
+	}
+
+	/**
+	 * Returns and resets the histograms recorded since the previous call.
+	 */
+	public Snapshot snapshot() {
+		Map<LoadOperation, Histogram> response = new EnumMap<>(LoadOperation.class);
+		Map<LoadOperation, Histogram> service = new EnumMap<>(LoadOperation.class);
+		Map<LoadOperation, Long> errorCounts = new EnumMap<>(LoadOperation.class);
+		for (LoadOperation operation : LoadOperation.values()) {
+			response.put(operation, responseTimes.get(operation).getIntervalHistogram());
+			service.put(operation, serviceTimes.get(operation).getIntervalHistogram());
+			errorCounts.put(operation, errors.get(operation).sumThenReset());
+		}
+		return new Snapshot(response, service, errorCounts, dropped.sumThenReset());
+	}
+
+	private static long micros(long nanos) {
+		return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+	}
+
+	public record Snapshot(
+			Map<LoadOperation, Histogram> responseTimes,
+			Map<LoadOperation, Histogram> serviceTimes,
+			Map<LoadOperation, Long> errors,
+			long dropped) {
+	}
+}
@@ -0,0 +1,13 @@
+package io.bharat.mongo.loadtest;
+
+/**
+ * Executes a single operation against the system under test.
+ */
+@FunctionalInterface
+public interface LoadDriver {
+
+	/**
+	 * @return {@code true} when the operation completed with the expected status
+	 */
+	boolean execute(LoadOperation operation);
+}
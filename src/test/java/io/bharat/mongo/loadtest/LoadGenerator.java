@@ -0,0 +1,69 @@
+package io.bharat.mongo.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are issued on a fixed arrival schedule regardless of how quickly earlier
+ * requests complete, each on its own virtual thread. Latency is recorded against the scheduled start time.
+ */
+public final class LoadGenerator {
+
+	private final LoadDriver driver;
+	private final OperationMix mix;
+	private final double ratePerSecond;
+	private final int maxInFlight;
+
+	public LoadGenerator(LoadDriver driver, OperationMix mix, double ratePerSecond, int maxInFlight) {
+		if (ratePerSecond <= 0) {
+			throw new IllegalArgumentException("Arrival rate must be positive");
+		}
+		this.driver = driver;
+		this.mix = mix;
+		this.ratePerSecond = ratePerSecond;
+		this.maxInFlight = maxInFlight;
+	}
+
+	/**
+	 * Issues load for the given duration and waits for all in-flight requests before returning.
+	 */
+	public void run(Duration duration, LatencyRecorder recorder) {
+		long intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		Semaphore inFlight = new Semaphore(maxInFlight);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (long i = 0;; i++) {
+				long intendedStart = start + i * intervalNanos;
+				if (intendedStart >= end) {
+					break;
+				}
+				long wait = intendedStart - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				LoadOperation operation = mix.next();
+				if (!inFlight.tryAcquire()) {
+					recorder.dropped();
+					continue;
+				}
+				executor.execute(() -> {
+					long actualStart = System.nanoTime();
+					boolean success = false;
+					try {
+						success = driver.execute(operation);
+					} catch (RuntimeException | AssertionError ex) {
+						success = false;
+					} finally {
+						recorder.record(operation, intendedStart, actualStart, System.nanoTime(), success);
+						inFlight.release();
+					}
+				});
+			}
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package io.bharat.mongo.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+class LoadGeneratorTest {
+
+	@Test
+	void mix_parsesWeights_andSkipsZeroWeights() {
+		OperationMix mix = OperationMix.parse("get=3, list=1, delete=0");
+
+		assertThat(mix.toString()).isEqualTo("list=1,get=3");
+		for (int i = 0; i < 100; i++) {
+			assertThat(mix.next()).isIn(LoadOperation.LIST, LoadOperation.GET);
+		}
+	}
+
+	@Test
+	void generator_issuesRequestsAtFixedRate_andChargesStallsToLatency() {
+		AtomicBoolean stalled = new AtomicBoolean();
+		LoadDriver driver = operation -> {
+			// The first request stalls; later arrivals must not wait for it (open model).
+			if (stalled.compareAndSet(false, true)) {
+				sleep(300);
+			}
+			return true;
+		};
+		LatencyRecorder recorder = new LatencyRecorder();
+
+		new LoadGenerator(driver, OperationMix.parse("get=1"), 100, 1000).run(Duration.ofMillis(500), recorder);
+
+		Histogram histogram = recorder.snapshot().responseTimes().get(LoadOperation.GET);
+		assertThat(histogram.getTotalCount()).isBetween(45L, 50L);
+		assertThat(histogram.getMaxValue()).isGreaterThanOrEqualTo(Duration.ofMillis(300).toNanos() / 1000);
+		assertThat(histogram.getValueAtPercentile(50)).isLessThan(Duration.ofMillis(100).toNanos() / 1000);
+	}
+
+	@Test
+	void generator_countsDroppedRequests_whenInFlightCapReached() {
+		LatencyRecorder recorder = new LatencyRecorder();
+
+		new LoadGenerator(operation -> {
+			sleep(200);
+			return true;
+		}, OperationMix.parse("list=1"), 100, 2).run(Duration.ofMillis(100), recorder);
+
+		LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+		assertThat(snapshot.responseTimes().get(LoadOperation.LIST).getTotalCount()).isEqualTo(2);
+		assertThat(snapshot.dropped()).isEqualTo(8);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package io.bharat.mongo.loadtest;
+
+import java.util.Locale;
+
+public enum LoadOperation {
+	LOGIN,
+	LIST,
+	GET,
+	CREATE,
+	UPDATE,
+	DELETE;
+
+	public static LoadOperation parse(String name) {
+		return valueOf(name.trim().toUpperCase(Locale.ROOT));
+	}
+
+	public String label() {
+		return name().toLowerCase(Locale.ROOT);
+	}
+}
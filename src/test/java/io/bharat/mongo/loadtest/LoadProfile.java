@@ -0,0 +1,28 @@
+package io.bharat.mongo.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from system properties so runs can be tuned from the Maven command line.
+ */
+public record LoadProfile(
+		String name,
+		double ratePerSecond,
+		Duration warmup,
+		Duration duration,
+		OperationMix mix,
+		int seedEmployees,
+		int maxInFlight) {
+
+	public static LoadProfile fromSystemProperties() {
+		return new LoadProfile(
+				System.getProperty("load.name", "employee-mix"),
+				Double.parseDouble(System.getProperty("load.rate", "50")),
+				Duration.parse("PT" + System.getProperty("load.warmup", "10s")),
+				Duration.parse("PT" + System.getProperty("load.duration", "60s")),
+				OperationMix.parse(System.getProperty("load.mix",
+						"list=20,get=50,create=10,update=10,delete=5,login=5")),
+				Integer.getInteger("load.seed", 200),
+				Integer.getInteger("load.max-in-flight", 1000));
+	}
+}
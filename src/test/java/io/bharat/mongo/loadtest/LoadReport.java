@@ -0,0 +1,104 @@
+package io.bharat.mongo.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+/**
+ * Writes a load run to {@code target/load-reports/<name>/<timestamp>/}: a {@code summary.csv} with one row per
+ * operation, an HdrHistogram percentile distribution ({@code .hgrm}) per operation, and a {@code latency.hlog}
+ * holding the raw histograms so runs can be compared or merged later with standard HdrHistogram tooling.
+ */
+public final class LoadReport {
+
+	private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final List<OperationStats> operations;
+	private final long dropped;
+	private final Map<LoadOperation, Histogram> histograms;
+
+	private LoadReport(List<OperationStats> operations, long dropped, Map<LoadOperation, Histogram> histograms) {
+		this.operations = operations;
+		this.dropped = dropped;
+		this.histograms = histograms;
+	}
+
+	public static LoadReport of(LatencyRecorder.Snapshot snapshot, double elapsedSeconds) {
+		List<OperationStats> operations = new ArrayList<>();
+		snapshot.responseTimes().forEach((operation, histogram) -> {
+			if (histogram.getTotalCount() > 0) {
+				operations.add(OperationStats.of(operation, histogram, snapshot.errors().get(operation),
+						elapsedSeconds));
+			}
+		});
+		return new LoadReport(List.copyOf(operations), snapshot.dropped(), snapshot.responseTimes());
+	}
+
+	public List<OperationStats> operations() {
+		return operations;
+	}
+
+	public long dropped() {
+		return dropped;
+	}
+
+	public String toTable() {
+		StringBuilder table = new StringBuilder(String.format("%-8s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+				"op", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+		for (OperationStats stats : operations) {
+			table.append(String.format("%-8s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+					stats.operation().label(), stats.count(), stats.errors(), stats.throughputPerSecond(),
+					stats.p50(), stats.p90(), stats.p99(), stats.p999(), stats.max()));
+		}
+		table.append("dropped (in-flight cap reached): ").append(dropped);
+		return table.toString();
+	}
+
+	public Path write(Path baseDirectory, LoadProfile profile) throws IOException {
+		Path directory = baseDirectory.resolve(profile.name()).resolve(LocalDateTime.now().format(TIMESTAMP));
+		writeTo(directory, profile);
+		return directory;
+	}
+
+	/**
+	 * Writes the report files into the given directory rather than a new timestamped one.
+	 */
+	public void writeTo(Path directory, LoadProfile profile) throws IOException {
+		Files.createDirectories(directory);
+
+		List<String> lines = new ArrayList<>();
+		lines.add("# rate=" + profile.ratePerSecond() + "/s duration=" + profile.duration() + " mix=" + profile.mix()
+				+ " dropped=" + dropped);
+		lines.add(OperationStats.CSV_HEADER);
+		operations.forEach(stats -> lines.add(stats.toCsv()));
+		Files.write(directory.resolve("summary.csv"), lines, StandardCharsets.UTF_8);
+
+		try (PrintStream hlog = new PrintStream(Files.newOutputStream(directory.resolve("latency.hlog")), false,
+				StandardCharsets.UTF_8)) {
+			HistogramLogWriter writer = new HistogramLogWriter(hlog);
+			writer.outputLogFormatVersion();
+			writer.outputLegend();
+			for (OperationStats stats : operations) {
+				Histogram histogram = histograms.get(stats.operation());
+				histogram.setTag(stats.operation().label());
+				writer.outputIntervalHistogram(histogram);
+				try (PrintStream hgrm = new PrintStream(
+						Files.newOutputStream(directory.resolve(stats.operation().label() + ".hgrm")), false,
+						StandardCharsets.UTF_8)) {
+					// Values are recorded in microseconds; scale the distribution output to milliseconds.
+					histogram.outputPercentileDistribution(hgrm, 1000.0);
+				}
+			}
+		}
+	}
+}
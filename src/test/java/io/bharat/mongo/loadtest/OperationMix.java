@@ -0,0 +1,68 @@
+package io.bharat.mongo.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted operation mix, parsed from e.g. {@code list=40,get=40,create=10,update=5,delete=4,login=1}.
+ */
+public final class OperationMix {
+
+	private final LoadOperation[] operations;
+	private final int[] cumulativeWeights;
+	private final int totalWeight;
+
+	private OperationMix(Map<LoadOperation, Integer> weights) {
+		this.operations = weights.keySet().toArray(LoadOperation[]::new);
+		this.cumulativeWeights = new int[operations.length];
+		int total = 0;
+		for (int i = 0; i < operations.length; i++) {
+			total += weights.get(operations[i]);
+			cumulativeWeights[i] = total;
+		}
+		if (total <= 0) {
+			throw new IllegalArgumentException("Operation mix needs at least one positive weight");
+		}
+		this.totalWeight = total;
+	}
+
+	public static OperationMix parse(String spec) {
+		Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+		for (String entry : spec.split(",")) {
+			String[] parts = entry.split("=");
+			if (parts.length != 2) {
+				throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation=weight");
+			}
+			int weight = Integer.parseInt(parts[1].trim());
+			if (weight > 0) {
+				weights.put(LoadOperation.parse(parts[0]), weight);
+			}
+		}
+		return new OperationMix(weights);
+	}
+
+	public LoadOperation next() {
+		int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (pick < cumulativeWeights[i]) {
+				return operations[i];
+			}
+		}
+		return operations[operations.length - 1];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder description = new StringBuilder();
+		int previous = 0;
+		for (int i = 0; i < operations.length; i++) {
+			if (i > 0) {
+				description.append(',');
+			}
+			description.append(operations[i].label()).append('=').append(cumulativeWeights[i] - previous);
+			previous = cumulativeWeights[i];
+		}
+		return description.toString();
+	}
+}
@@ -0,0 +1,43 @@
+package io.bharat.mongo.loadtest;
+
+import java.util.Locale;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Summary of one operation's response-time histogram, in milliseconds.
+ */
+public record OperationStats(
+		LoadOperation operation,
+		long count,
+		long errors,
+		double throughputPerSecond,
+		double p50,
+		double p90,
+		double p99,
+		double p999,
+		double max) {
+
+	static final String CSV_HEADER = "operation,count,errors,throughput_per_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+	static OperationStats of(LoadOperation operation, Histogram histogram, long errors, double elapsedSeconds) {
+		return new OperationStats(operation,
+				histogram.getTotalCount(),
+				errors,
+				histogram.getTotalCount() / elapsedSeconds,
+				millis(histogram.getValueAtPercentile(50)),
+				millis(histogram.getValueAtPercentile(90)),
+				millis(histogram.getValueAtPercentile(99)),
+				millis(histogram.getValueAtPercentile(99.9)),
+				millis(histogram.getMaxValue()));
+	}
+
+	String toCsv() {
+		return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f",
+				operation.label(), count, errors, throughputPerSecond, p50, p90, p99, p999, max);
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+}
@@ -0,0 +1,103 @@
+package io.bharat.mongo.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import io.bharat.mongo.loadtest.PerfComparison.Check;
+
+/**
+ * Stored latency baselines of the performance regression suite, keyed {@code <workload>.<operation>.<metric>}, with
+ * the tolerances a run may deviate by before it counts as a regression. Tolerances can be overridden with
+ * {@code -Dperf.tolerance.<name>}.
+ * <p>
+ * A latency regresses when it exceeds the baseline by more than {@code tolerance.latency} (relative) and by more than
+ * {@code tolerance.latency-slack-ms}, so sub-millisecond jitter on fast operations does not fail the build. Any
+ * operation regresses when more than {@code tolerance.error-rate} of its requests fail. Throughput is not compared:
+ * the workloads offer a fixed rate, so throughput only shows the rate that was offered.
+ */
+public final class PerfBaseline {
+
+	static final List<String> LATENCY_METRICS = List.of("p50", "p90", "p99");
+	static final String ERROR_RATE = "error-rate";
+
+	private final Properties values;
+	private final double latencyTolerance;
+	private final double latencySlackMillis;
+	private final double maxErrorRate;
+
+	PerfBaseline(Properties values) {
+		this.values = values;
+		this.latencyTolerance = tolerance("latency", 0.25);
+		this.latencySlackMillis = tolerance("latency-slack-ms", 2.0);
+		this.maxErrorRate = tolerance("error-rate", 0.001);
+	}
+
+	public static PerfBaseline fromClasspath(String resource) {
+		try (InputStream in = PerfBaseline.class.getClassLoader().getResourceAsStream(resource)) {
+			Properties values = new Properties();
+			if (in != null) {
+				values.load(in);
+			}
+			return new PerfBaseline(values);
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to load " + resource, e);
+		}
+	}
+
+	private double tolerance(String name, double defaultValue) {
+		String override = System.getProperty("perf.tolerance." + name);
+		if (override != null && !override.isBlank()) {
+			return Double.parseDouble(override.trim());
+		}
+		return Double.parseDouble(values.getProperty("tolerance." + name, Double.toString(defaultValue)).trim());
+	}
+
+	/**
+	 * Compares each workload's measured operations with the baseline.
+	 */
+	public PerfComparison compare(Map<String, List<OperationStats>> results) {
+		List<Check> checks = new ArrayList<>();
+		results.forEach((workload, operations) -> {
+			for (OperationStats stats : operations) {
+				String prefix = workload + "." + stats.operation().label() + ".";
+				for (String metric : LATENCY_METRICS) {
+					Double baseline = baseline(prefix + metric);
+					double actual = latency(stats, metric);
+					Double limit = baseline == null ? null
+							: Math.max(baseline * (1 + latencyTolerance), baseline + latencySlackMillis);
+					checks.add(Check.upperBound(workload, stats.operation(), metric, baseline, actual, limit));
+				}
+				checks.add(Check.upperBound(workload, stats.operation(), ERROR_RATE, 0.0,
+						(double) stats.errors() / stats.count(), maxErrorRate));
+			}
+		});
+		return new PerfComparison(checks, tolerances());
+	}
+
+	private Double baseline(String key) {
+		String value = values.getProperty(key);
+		return value == null || value.isBlank() ? null : Double.valueOf(value.trim());
+	}
+
+	private Map<String, Double> tolerances() {
+		Map<String, Double> tolerances = new LinkedHashMap<>();
+		tolerances.put("latency", latencyTolerance);
+		tolerances.put("latency-slack-ms", latencySlackMillis);
+		tolerances.put("error-rate", maxErrorRate);
+		return tolerances;
+	}
+
+	static double latency(OperationStats stats, String metric) {
+		return switch (metric) {
+			case "p50" -> stats.p50();
+			case "p90" -> stats.p90();
+			case "p99" -> stats.p99();
+			default -> throw new IllegalArgumentException("Unknown latency metric " + metric);
+		};
+	}
+}
@@ -0,0 +1,91 @@
+package io.bharat.mongo.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.bharat.mongo.loadtest.PerfComparison.Check;
+import io.bharat.mongo.loadtest.PerfComparison.Verdict;
+
+class PerfBaselineTest {
+
+	@Test
+	void slowerPercentile_beyondToleranceAndSlack_isARegression() {
+		PerfBaseline baseline = baseline("list.list.p50=10", "list.list.p99=40");
+
+		PerfComparison comparison = baseline.compare(Map.of("list",
+				List.of(stats(LoadOperation.LIST, 12.4, 60.0, 50, 0))));
+
+		assertThat(comparison.regressions()).extracting(Check::metric).containsExactly("p99");
+		assertThat(check(comparison, "p50").limit()).isEqualTo(12.5);
+		assertThat(check(comparison, "p99").changeDescription()).isEqualTo("+50.0%");
+	}
+
+	@Test
+	void fastOperations_getAnAbsoluteSlack() {
+		PerfBaseline baseline = baseline("get-by-id.get.p50=1.0");
+
+		PerfComparison comparison = baseline.compare(Map.of("get-by-id",
+				List.of(stats(LoadOperation.GET, 2.9, 3.0, 200, 0))));
+
+		assertThat(check(comparison, "p50").verdict()).isEqualTo(Verdict.OK);
+		assertThat(check(comparison, "p50").limit()).isEqualTo(3.0);
+	}
+
+	@Test
+	void errors_areRegressions_butThroughputIsNotCompared() {
+		PerfBaseline baseline = baseline("create.create.throughput=50");
+
+		PerfComparison comparison = baseline.compare(Map.of("create",
+				List.of(stats(LoadOperation.CREATE, 5, 9, 40, 3))));
+
+		assertThat(comparison.regressions()).extracting(Check::metric).containsExactly(PerfBaseline.ERROR_RATE);
+		assertThat(comparison.checks()).extracting(Check::metric).doesNotContain("throughput");
+	}
+
+	@Test
+	void missingBaselines_areCounted_andRunIsWrittenAsCandidate(@TempDir Path directory) throws Exception {
+		PerfComparison comparison = baseline().compare(Map.of("list",
+				List.of(stats(LoadOperation.LIST, 8, 30, 50, 0))));
+
+		assertThat(comparison.regressions()).isEmpty();
+		assertThat(comparison.missingBaselines()).isEqualTo(3);
+
+		comparison.write(directory);
+		assertThat(Files.readAllLines(directory.resolve("diff.csv")))
+				.contains("list,list,p99,-,30.000,-,-,NO_BASELINE");
+		Properties candidate = new Properties();
+		try (var in = Files.newInputStream(directory.resolve("baseline-candidate.properties"))) {
+			candidate.load(in);
+		}
+		assertThat(candidate).containsEntry("list.list.p50", "8.000")
+				.containsEntry("tolerance.latency", "0.25")
+				.doesNotContainKey("list.list.error-rate")
+				.doesNotContainKey("list.list.throughput");
+	}
+
+	private static PerfBaseline baseline(String... entries) {
+		Properties values = new Properties();
+		for (String entry : entries) {
+			String[] parts = entry.split("=");
+			values.setProperty(parts[0], parts[1]);
+		}
+		return new PerfBaseline(values);
+	}
+
+	private static OperationStats stats(LoadOperation operation, double p50, double p99, double throughput,
+			long errors) {
+		return new OperationStats(operation, 1000, errors, throughput, p50, p50, p99, p99, p99);
+	}
+
+	private static Check check(PerfComparison comparison, String metric) {
+		return comparison.checks().stream().filter(check -> check.metric().equals(metric)).findFirst().orElseThrow();
+	}
+}
@@ -0,0 +1,111 @@
+package io.bharat.mongo.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of comparing a performance run with the stored baseline. {@link #write} produces the diff report and a
+ * candidate baseline holding this run's numbers, to be copied over the stored one when a change is accepted.
+ */
+public final class PerfComparison {
+
+	private final List<Check> checks;
+	private final Map<String, Double> tolerances;
+
+	PerfComparison(List<Check> checks, Map<String, Double> tolerances) {
+		this.checks = List.copyOf(checks);
+		this.tolerances = tolerances;
+	}
+
+	public List<Check> checks() {
+		return checks;
+	}
+
+	public List<Check> regressions() {
+		return checks.stream().filter(check -> check.verdict() == Verdict.REGRESSED).toList();
+	}
+
+	public long missingBaselines() {
+		return checks.stream().filter(check -> check.verdict() == Verdict.NO_BASELINE).count();
+	}
+
+	public String toTable() {
+		StringBuilder table = new StringBuilder(String.format("%-10s %-7s %-10s %10s %10s %10s %8s  %s%n",
+				"workload", "op", "metric", "baseline", "actual", "limit", "change", "verdict"));
+		for (Check check : checks) {
+			table.append(String.format(Locale.ROOT, "%-10s %-7s %-10s %10s %10s %10s %8s  %s%n",
+					check.workload(), check.operation().label(), check.metric(), format(check.baseline()),
+					format(check.actual()), format(check.limit()), check.changeDescription(), check.verdict()));
+		}
+		return table.toString();
+	}
+
+	/**
+	 * Writes {@code diff.csv} and {@code baseline-candidate.properties} into the directory.
+	 */
+	public void write(Path directory) throws IOException {
+		Files.createDirectories(directory);
+
+		List<String> diff = new ArrayList<>();
+		diff.add("workload,operation,metric,baseline,actual,limit,change,verdict");
+		for (Check check : checks) {
+			diff.add(String.join(",", check.workload(), check.operation().label(), check.metric(),
+					format(check.baseline()), format(check.actual()), format(check.limit()),
+					check.changeDescription(), check.verdict().name()));
+		}
+		Files.write(directory.resolve("diff.csv"), diff, StandardCharsets.UTF_8);
+
+		List<String> candidate = new ArrayList<>();
+		candidate.add("# Performance baseline: latencies in ms");
+		tolerances.forEach((name, value) -> candidate.add("tolerance." + name + "=" + value));
+		for (Check check : checks) {
+			if (!check.metric().equals(PerfBaseline.ERROR_RATE)) {
+				candidate.add(check.workload() + "." + check.operation().label() + "." + check.metric() + "="
+						+ format(check.actual()));
+			}
+		}
+		Files.write(directory.resolve("baseline-candidate.properties"), candidate, StandardCharsets.UTF_8);
+	}
+
+	private static String format(Double value) {
+		return value == null ? "-" : String.format(Locale.ROOT, "%.3f", value);
+	}
+
+	public enum Verdict {
+		OK,
+		REGRESSED,
+		NO_BASELINE
+	}
+
+	/**
+	 * One metric of one operation. {@code limit} is the highest value still accepted.
+	 */
+	public record Check(
+			String workload,
+			LoadOperation operation,
+			String metric,
+			Double baseline,
+			double actual,
+			Double limit,
+			Verdict verdict) {
+
+		static Check upperBound(String workload, LoadOperation operation, String metric, Double baseline,
+				double actual, Double limit) {
+			return new Check(workload, operation, metric, baseline, actual, limit,
+					limit == null ? Verdict.NO_BASELINE : actual > limit ? Verdict.REGRESSED : Verdict.OK);
+		}
+
+		String changeDescription() {
+			if (baseline == null || baseline == 0) {
+				return "-";
+			}
+			return String.format(Locale.ROOT, "%+.1f%%", (actual - baseline) / baseline * 100);
+		}
+	}
+}
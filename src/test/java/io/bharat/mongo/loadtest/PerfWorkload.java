@@ -0,0 +1,21 @@
+package io.bharat.mongo.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A fixed workload of the performance regression suite. Rates are part of the baseline: changing one means
+ * recording the baseline again.
+ */
+public record PerfWorkload(String name, OperationMix mix, double ratePerSecond) {
+
+	public static final List<PerfWorkload> FIXED = List.of(
+			new PerfWorkload("get-by-id", OperationMix.parse("get=1"), 200),
+			new PerfWorkload("list", OperationMix.parse("list=1"), 50),
+			new PerfWorkload("create", OperationMix.parse("create=1"), 50),
+			new PerfWorkload("mixed", OperationMix.parse("list=20,get=50,create=10,update=10,delete=5,login=5"), 100));
+
+	public LoadProfile profile(Duration warmup, Duration duration, int seedEmployees) {
+		return new LoadProfile(name, ratePerSecond, warmup, duration, mix, seedEmployees, 1000);
+	}
+}
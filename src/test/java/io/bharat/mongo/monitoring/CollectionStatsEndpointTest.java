@@ -0,0 +1,61 @@
+package io.bharat.mongo.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+
+import io.bharat.mongo.employee.model.Employee;
+import io.bharat.mongo.employee.model.EmployeeTombstone;
+import io.bharat.mongo.employee.model.ExportJob;
+
+class CollectionStatsEndpointTest {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void ownCollections_areReported() {
+		names();
+		MongoCollection<Document> collection = mock(MongoCollection.class);
+		AggregateIterable<Document> result = mock(AggregateIterable.class);
+		when(mongoTemplate.getCollection("employeeExports.files")).thenReturn(collection);
+		when(collection.aggregate(anyList())).thenReturn(result);
+		when(result.first()).thenReturn(new Document("storageStats", new Document("count", 3).append("size", 900)));
+
+		assertThat(new CollectionStatsEndpoint(mongoTemplate).collection("employeeExports.files"))
+				.containsEntry("collection", "employeeExports.files")
+				.containsEntry("count", 3)
+				.containsEntry("size", 900);
+	}
+
+	@Test
+	void otherCollections_areNotFound() {
+		names();
+		CollectionStatsEndpoint endpoint = new CollectionStatsEndpoint(mongoTemplate);
+
+		assertThat(endpoint.collection("users")).isNull();
+		assertThat(endpoint.collection("migrations")).isNull();
+		verify(mongoTemplate, never()).getCollection(anyString());
+	}
+
+	private void names() {
+		when(mongoTemplate.getCollectionName(any())).thenAnswer(invocation -> {
+			Class<?> type = invocation.getArgument(0);
+			return type == Employee.class ? "employees"
+					: type == EmployeeTombstone.class ? "employeeTombstones"
+					: type == ExportJob.class ? "employeeExports" : null;
+		});
+	}
+}
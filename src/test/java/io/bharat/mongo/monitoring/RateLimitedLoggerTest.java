@@ -0,0 +1,37 @@
+package io.bharat.mongo.monitoring;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+class RateLimitedLoggerTest {
+
+	@Test
+	void dropsMessagesOverTheLimit_andReportsThemLater() throws InterruptedException {
+		Logger delegate = mock(Logger.class);
+		when(delegate.isWarnEnabled()).thenReturn(true);
+		RateLimitedLogger logger = new RateLimitedLogger(delegate, 2, Duration.ofMillis(50));
+
+		for (int i = 0; i < 5; i++) {
+			logger.warn("not-found", "Resource not found: {}", i);
+		}
+		logger.warn("forbidden", "Access denied: {}", "x");
+
+		verify(delegate, times(2)).warn(anyString(), (Object) any(Integer.class));
+		verify(delegate).warn("Access denied: {}", (Object) "x");
+
+		Thread.sleep(60);
+		logger.warn("not-found", "Resource not found: {}", 99);
+
+		verify(delegate).warn("Suppressed {} similar messages key={}", 3L, "not-found");
+		verify(delegate).warn("Resource not found: {}", (Object) 99);
+	}
+}
@@ -0,0 +1,155 @@
+package io.bharat.mongo.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import io.bharat.mongo.monitoring.SlowCommandProfiler.Offender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SlowCommandProfilerTest {
+
+	private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+			new ServerId(new ClusterId(), new ServerAddress()));
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+	private final AtomicInteger requestIds = new AtomicInteger();
+	private final MongoDatabase database = mock(MongoDatabase.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private SlowCommandProfiler profiler;
+
+	@AfterEach
+	void tearDown() {
+		if (profiler != null) {
+			profiler.destroy();
+		}
+	}
+
+	@Test
+	void fastCommands_areNotTracked() {
+		profiler = profiler(1.0);
+
+		run("find", "{find: 'employees', filter: {email: 'a@example.com'}}", FAST);
+
+		assertThat(profiler.offenders(10)).isEmpty();
+		verify(database, never()).runCommand(any(BsonDocument.class), eq(BsonDocument.class));
+	}
+
+	@Test
+	void slowCommands_areGroupedByShape_withLiteralsRemoved() {
+		profiler = profiler(0.0);
+
+		run("find", "{find: 'employees', filter: {email: 'a@example.com', department: {$in: ['HR']}}, limit: 1,"
+				+ " lsid: {id: 1}}", SLOW);
+		run("find", "{find: 'employees', filter: {email: 'b@example.com', department: {$in: ['HR', 'Sales']}},"
+				+ " limit: 5}", SLOW);
+		run("insert", "{insert: 'employees', documents: [{email: 'c@example.com'}]}", SLOW);
+
+		List<Offender> offenders = profiler.offenders(10);
+		assertThat(offenders).hasSize(1);
+		Offender offender = offenders.get(0);
+		assertThat(offender.namespace()).isEqualTo("mydatabase.employees");
+		assertThat(offender.count()).isEqualTo(2);
+		assertThat(offender.shape()).isEqualTo("{\"find\": \"employees\", "
+				+ "\"filter\": {\"email\": \"?\", \"department\": {\"$in\": \"?\"}}, \"limit\": \"?\"}");
+		assertThat(meterRegistry.get("mongo.commands.slow").tag("command", "find").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void writesAndPipelines_keepTheirStructure() {
+		BsonDocument update = QueryShape.capture("update", BsonDocument.parse(
+				"{update: 'employees', updates: [{q: {$or: [{_id: 1}, {email: 'x'}]}, u: {$set: {salary: 5}},"
+						+ " multi: true}, {q: {_id: 2}, u: {}}]}"));
+		BsonDocument aggregate = QueryShape.capture("aggregate", BsonDocument.parse(
+				"{aggregate: 'employees', pipeline: [{$match: {department: 'HR'}}, {$sort: {salary: -1}},"
+						+ " {$limit: 10}, {$out: 'copy'}], cursor: {}}"));
+
+		assertThat(QueryShape.of(update)).isEqualTo("{\"update\": \"employees\", \"updates\": [{\"q\": {\"$or\": "
+				+ "[{\"_id\": \"?\"}, {\"email\": \"?\"}]}, \"multi\": true}]}");
+		assertThat(QueryShape.of(aggregate)).isEqualTo("{\"aggregate\": \"employees\", \"pipeline\": "
+				+ "[{\"$match\": {\"department\": \"?\"}}, {\"$sort\": {\"salary\": -1}}, {\"$limit\": \"?\"}]}");
+		assertThat(QueryShape.explain("aggregate", aggregate, 2000).getDocument("explain").getInt64("maxTimeMS")
+				.getValue()).isEqualTo(2000);
+	}
+
+	@Test
+	void slowCommand_isExplained_andCollectionScanFlagged() {
+		when(database.runCommand(any(BsonDocument.class), eq(BsonDocument.class))).thenReturn(BsonDocument.parse("""
+				{queryPlanner: {winningPlan: {stage: 'COLLSCAN'}, rejectedPlans: [{stage: 'IXSCAN'}]},
+				 executionStats: {nReturned: 1, totalDocsExamined: 20000, totalKeysExamined: 0}}"""));
+		profiler = profiler(1.0);
+
+		run("find", "{find: 'employees', filter: {jobTitle: 'Engineer'}}", SLOW);
+
+		await().atMost(Duration.ofSeconds(5))
+				.untilAsserted(() -> assertThat(profiler.offenders(10).get(0).explain()).isNotNull());
+		Offender offender = profiler.offenders(10).get(0);
+		assertThat(offender.explain().stages()).containsExactly("COLLSCAN");
+		assertThat(offender.collectionScan()).isTrue();
+		assertThat(offender.highExaminedRatio()).isTrue();
+		verify(database).runCommand(eq(BsonDocument.parse("{explain: {find: 'employees', "
+				+ "filter: {jobTitle: 'Engineer'}, maxTimeMS: {$numberLong: '2000'}}, verbosity: 'executionStats'}")),
+				eq(BsonDocument.class));
+		assertThat(meterRegistry.get("mongo.commands.explained").tag("finding", "collscan").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void newShapes_areNotTracked_onceTheTableIsFull() {
+		profiler = new SlowCommandProfiler(client(), true, Duration.ofMillis(100), 0.0, Duration.ofMinutes(5),
+				Duration.ofSeconds(2), 100, 1, meterRegistry);
+
+		run("find", "{find: 'employees', filter: {email: 'a'}}", SLOW);
+		run("find", "{find: 'employees', filter: {department: 'b'}}", SLOW);
+
+		assertThat(profiler.offenders(10)).hasSize(1);
+		assertThat(meterRegistry.get("mongo.commands.slow.untracked").counter().count()).isEqualTo(1);
+	}
+
+	private SlowCommandProfiler profiler(double explainSampleRate) {
+		return new SlowCommandProfiler(client(), true, Duration.ofMillis(100), explainSampleRate,
+				Duration.ofMinutes(5), Duration.ofSeconds(2), 100, 200, meterRegistry);
+	}
+
+	@SuppressWarnings("unchecked")
+	private ObjectProvider<MongoClient> client() {
+		MongoClient client = mock(MongoClient.class);
+		when(client.getDatabase("mydatabase")).thenReturn(database);
+		ObjectProvider<MongoClient> provider = mock(ObjectProvider.class);
+		when(provider.getObject()).thenReturn(client);
+		return provider;
+	}
+
+	private void run(String commandName, String command, long elapsedNanos) {
+		int requestId = requestIds.incrementAndGet();
+		profiler.commandStarted(new CommandStartedEvent(null, 1, requestId, CONNECTION, "mydatabase", commandName,
+				BsonDocument.parse(command)));
+		profiler.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "mydatabase",
+				commandName, new BsonDocument(), elapsedNanos));
+	}
+}
@@ -0,0 +1,89 @@
+package io.bharat.mongo.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConcurrencyLimitFilterTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+	@Test
+	void limitGrows_whileLatencyHolds_andShrinks_whenRequestsQueue() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5, 0.2, 100);
+
+		for (int i = 0; i < 50; i++) {
+			sample(limit, FAST, limit.limit());
+		}
+		int grown = limit.limit();
+		assertThat(grown).isGreaterThan(20);
+
+		for (int i = 0; i < 20; i++) {
+			sample(limit, SLOW, limit.limit());
+		}
+		assertThat(limit.limit()).isLessThan(grown / 2).isGreaterThanOrEqualTo(4);
+	}
+
+	@Test
+	void limitDoesNotGrow_whenTheServiceRunsFarBelowIt() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5, 0.2, 100);
+
+		for (int i = 0; i < 50; i++) {
+			sample(limit, FAST, 2);
+		}
+
+		assertThat(limit.limit()).isEqualTo(20);
+	}
+
+	@Test
+	void requestsOverTheLimit_areShedWith503() throws Exception {
+		ConcurrencyLimitFilter filter = filter();
+		AdaptiveConcurrencyLimit limit = filter.limit();
+		while (limit.tryAcquire()) {
+			// fill every slot, as concurrent requests would
+		}
+
+		MockHttpServletResponse shed = new MockHttpServletResponse();
+		MockFilterChain chain = new MockFilterChain();
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), shed, chain);
+
+		assertThat(shed.getStatus()).isEqualTo(503);
+		assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(shed.getContentAsString()).contains("\"status\":503");
+		assertThat(chain.getRequest()).isNull();
+
+		MockHttpServletResponse health = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, new MockFilterChain());
+		assertThat(health.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void completedRequests_giveBackTheirSlot() throws Exception {
+		ConcurrencyLimitFilter filter = filter();
+
+		for (int i = 0; i < 100; i++) {
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			filter.doFilter(new MockHttpServletRequest("GET", "/api/employees"), response, new MockFilterChain());
+			assertThat(response.getStatus()).isEqualTo(200);
+		}
+
+		assertThat(filter.limit().inFlight()).isZero();
+	}
+
+	private static void sample(AdaptiveConcurrencyLimit limit, long rttNanos, int inFlight) {
+		assertThat(limit.tryAcquire()).isTrue();
+		limit.onSample(rttNanos, inFlight);
+	}
+
+	private static ConcurrencyLimitFilter filter() {
+		return new ConcurrencyLimitFilter(true, 8, 8, 8, 1.5, 0.2, 600, new SimpleMeterRegistry());
+	}
+}
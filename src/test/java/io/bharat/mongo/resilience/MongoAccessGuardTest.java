@@ -0,0 +1,135 @@
+package io.bharat.mongo.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MongoAccessGuardTest {
+
+	interface Store {
+
+		String findById(String id);
+
+		void save(String value);
+
+		void insert(List<String> values);
+
+		void bulkUpdate(String change);
+	}
+
+	private final Store target = mock(Store.class);
+
+	@Test
+	void consecutiveTimeouts_openTheCircuit_andLaterCallsFailFast() {
+		MongoAccessGuard guard = guard(2, Duration.ofMinutes(1));
+		Store store = guarded(guard);
+		when(target.findById("a")).thenThrow(new DataAccessResourceFailureException("Timed out selecting a server"));
+
+		for (int i = 0; i < 2; i++) {
+			assertThatThrownBy(() -> store.findById("a")).isInstanceOf(DataAccessResourceFailureException.class);
+		}
+		assertThatThrownBy(() -> store.findById("a"))
+				.isInstanceOf(MongoUnavailableException.class)
+				.extracting(ex -> ((MongoUnavailableException) ex).getRetryAfter())
+				.matches(retryAfter -> retryAfter.compareTo(Duration.ZERO) > 0);
+
+		verify(target, times(2)).findById("a");
+		assertThat(new MongoCircuitHealthIndicator(guard).health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+	}
+
+	@Test
+	void probeAfterOpenDuration_closesTheCircuitOnSuccess() {
+		MongoAccessGuard guard = guard(1, Duration.ZERO);
+		Store store = guarded(guard);
+		when(target.findById("a")).thenThrow(new DataAccessResourceFailureException("down"),
+				new DataAccessResourceFailureException("still down")).thenReturn("ok");
+
+		assertThatThrownBy(() -> store.findById("a")).isInstanceOf(DataAccessResourceFailureException.class);
+		assertThatThrownBy(() -> store.findById("a")).isInstanceOf(DataAccessResourceFailureException.class);
+		assertThat(guard.circuitBreaker().state()).isEqualTo(MongoCircuitBreaker.State.OPEN);
+
+		assertThat(store.findById("a")).isEqualTo("ok");
+		assertThat(guard.circuitBreaker().state()).isEqualTo(MongoCircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void errorsFromTheServer_doNotCountAsTimeouts() {
+		MongoAccessGuard guard = guard(1, Duration.ofMinutes(1));
+		Store store = guarded(guard);
+		when(target.findById("a")).thenThrow(new DuplicateKeyException("E11000"));
+
+		for (int i = 0; i < 5; i++) {
+			assertThatThrownBy(() -> store.findById("a")).isInstanceOf(DuplicateKeyException.class);
+		}
+
+		assertThat(guard.circuitBreaker().state()).isEqualTo(MongoCircuitBreaker.State.CLOSED);
+		assertThat(new MongoCircuitHealthIndicator(guard).health().getStatus()).isEqualTo(Status.UP);
+	}
+
+	@Test
+	void fullBulkhead_rejectsOnlyItsOwnOperationClass() throws Exception {
+		Store store = guarded(guard(5, Duration.ofMinutes(1)));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return null;
+		}).when(target).bulkUpdate("raise");
+
+		CompletableFuture<Void> running = CompletableFuture.runAsync(() -> store.bulkUpdate("raise"));
+		started.await();
+		try {
+			assertThatThrownBy(() -> store.insert(List.of("x"))).isInstanceOf(MongoUnavailableException.class);
+			store.save("y");
+		} finally {
+			release.countDown();
+		}
+		running.join();
+
+		verify(target, never()).insert(List.of("x"));
+		verify(target).save("y");
+	}
+
+	@Test
+	void methodsAreClassifiedByName() throws Exception {
+		assertThat(MongoOperationClass.of(Store.class.getMethod("findById", String.class)))
+				.isEqualTo(MongoOperationClass.READ);
+		assertThat(MongoOperationClass.of(Store.class.getMethod("save", String.class)))
+				.isEqualTo(MongoOperationClass.WRITE);
+		assertThat(MongoOperationClass.of(Store.class.getMethod("insert", List.class)))
+				.isEqualTo(MongoOperationClass.BULK);
+	}
+
+	/**
+	 * One permit per operation class and no waiting, so a single running call fills its bulkhead.
+	 */
+	private static MongoAccessGuard guard(int failureThreshold, Duration openDuration) {
+		return new MongoAccessGuard(1, 1, 1, Duration.ZERO, failureThreshold, openDuration, new SimpleMeterRegistry());
+	}
+
+	private Store guarded(MongoAccessGuard guard) {
+		ProxyFactory factory = new ProxyFactory(target);
+		factory.addInterface(Store.class);
+		factory.addAdvice(guard);
+		return (Store) factory.getProxy();
+	}
+}
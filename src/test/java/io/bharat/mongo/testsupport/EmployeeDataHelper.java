@@ -25,7 +25,7 @@ public class EmployeeDataHelper {
 
 	private final RequestSpecification authSpec;
 	private final TestEnvironment env;
-	private final List<String> createdEmployeeIds = new ArrayList<>();
+	private final List<String> createdEmployeeIds = Collections.synchronizedList(new ArrayList<>());
 
 	public EmployeeDataHelper(RequestSpecification authSpec, TestEnvironment env) {
 		this.authSpec = authSpec;
@@ -47,7 +47,7 @@ public class EmployeeDataHelper {
 		return response;
 	}
 
-	public void delete(String id) {
+	public int delete(String id) {
 		Response response = given(authSpec)
 				.when()
 				.delete(env.employeesPath() + "/" + id);
@@ -60,10 +60,14 @@ public class EmployeeDataHelper {
 			log.warn("Unexpected status deleting employee id={} status={}", id, response.statusCode());
 		}
 		createdEmployeeIds.remove(id);
+		return response.statusCode();
 	}
 
 	public void cleanup() {
-		List<String> ids = new ArrayList<>(createdEmployeeIds);
+		List<String> ids;
+		synchronized (createdEmployeeIds) {
+			ids = new ArrayList<>(createdEmployeeIds);
+		}
 		Collections.reverse(ids);
 		for (String id : ids) {
 			try {